@@ -0,0 +1,187 @@
+package com.hrsupportcentresq014.async_config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+
+/**
+ * Bounded executors for work that should not run on the request thread.
+ * Each pool has a fixed size and queue so a burst of submissions is rejected
+ * instead of piling up threads or memory.
+ */
+@Configuration
+public class AsyncConfiguration {
+    @Value("${application.upload.async.pool-size}")
+    private int uploadPoolSize;
+    @Value("${application.upload.async.queue-capacity}")
+    private int uploadQueueCapacity;
+    @Value("${application.image.async.pool-size}")
+    private int imagePoolSize;
+    @Value("${application.image.async.queue-capacity}")
+    private int imageQueueCapacity;
+    @Value("${application.resume.async.pool-size}")
+    private int resumePoolSize;
+    @Value("${application.resume.async.queue-capacity}")
+    private int resumeQueueCapacity;
+    @Value("${application.password-reset.async.pool-size}")
+    private int passwordResetPoolSize;
+    @Value("${application.password-reset.async.queue-capacity}")
+    private int passwordResetQueueCapacity;
+    @Value("${application.leaderboard.stream-pool-size}")
+    private int leaderboardStreamPoolSize;
+    @Value("${application.leaderboard.stream-queue-capacity}")
+    private int leaderboardStreamQueueCapacity;
+    @Value("${application.resilience.blob-store.max-concurrent}")
+    private int blobStoreMaxConcurrent;
+    @Value("${application.resilience.mail.max-concurrent}")
+    private int mailMaxConcurrent;
+    @Value("${application.mongo-monitor.explain-queue-capacity}")
+    private int explainQueueCapacity;
+    @Value("${application.invalidation.collections}")
+    private List<String> invalidationCollections;
+
+    @Bean
+    public ThreadPoolTaskExecutor uploadTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(uploadPoolSize);
+        executor.setMaxPoolSize(uploadPoolSize);
+        executor.setQueueCapacity(uploadQueueCapacity);
+        executor.setThreadNamePrefix("upload-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor imageTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(imagePoolSize);
+        executor.setMaxPoolSize(imagePoolSize);
+        executor.setQueueCapacity(imageQueueCapacity);
+        executor.setThreadNamePrefix("image-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor resumeTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(resumePoolSize);
+        executor.setMaxPoolSize(resumePoolSize);
+        executor.setQueueCapacity(resumeQueueCapacity);
+        executor.setThreadNamePrefix("resume-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor orgTaskExecutor() {
+        return snapshotRebuildExecutor("org-graph-");
+    }
+
+    // Password reset requests are handled off the request thread, so known and unknown addresses answer alike.
+    @Bean
+    public ThreadPoolTaskExecutor passwordResetTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(passwordResetPoolSize);
+        executor.setMaxPoolSize(passwordResetPoolSize);
+        executor.setQueueCapacity(passwordResetQueueCapacity);
+        executor.setThreadNamePrefix("password-reset-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor staffIndexTaskExecutor() {
+        return snapshotRebuildExecutor("staff-index-");
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor searchIndexTaskExecutor() {
+        return snapshotRebuildExecutor("staff-search-");
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor leaderboardTaskExecutor() {
+        return snapshotRebuildExecutor("leaderboard-");
+    }
+
+    // Sends leaderboard rank changes to their subscribers. Each subscriber has at most one task queued or running,
+    // so several threads keep a stalled client from holding up the others without reordering anyone's events.
+    @Bean
+    public ThreadPoolTaskExecutor leaderboardStreamTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(leaderboardStreamPoolSize);
+        executor.setMaxPoolSize(leaderboardStreamPoolSize);
+        executor.setQueueCapacity(leaderboardStreamQueueCapacity);
+        executor.setThreadNamePrefix("leaderboard-stream-");
+        executor.initialize();
+        return executor;
+    }
+
+    // One long-running thread per watched collection for the cache invalidation bus.
+    @Bean
+    public ThreadPoolTaskExecutor changeStreamTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(invalidationCollections.size());
+        executor.setMaxPoolSize(invalidationCollections.size());
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("change-stream-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Bulkhead for uploads to the blob store (Cloudinary by default). DependencyGuard hands out one permit per
+    // thread, the queue only covers a thread that has finished a call but not yet picked up the next.
+    @Bean
+    public ThreadPoolTaskExecutor blobStoreTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(blobStoreMaxConcurrent);
+        executor.setMaxPoolSize(blobStoreMaxConcurrent);
+        executor.setQueueCapacity(blobStoreMaxConcurrent);
+        executor.setThreadNamePrefix("blob-store-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Bulkhead for SMTP sends, sized the same way as the blob store one.
+    @Bean
+    public ThreadPoolTaskExecutor mailTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(mailMaxConcurrent);
+        executor.setMaxPoolSize(mailMaxConcurrent);
+        executor.setQueueCapacity(mailMaxConcurrent);
+        executor.setThreadNamePrefix("mail-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Explains of slow queries for the SlowQueryLog; one at a time so diagnosing MongoDB does not add to its load.
+    @Bean
+    public ThreadPoolTaskExecutor explainTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(explainQueueCapacity);
+        executor.setThreadNamePrefix("explain-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Reloads of one SnapshotIndex. Only one reload can be useful at a time, so a single thread is enough.
+    private ThreadPoolTaskExecutor snapshotRebuildExecutor(String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,105 @@
+package com.hrsupportcentresq014.cache;
+
+import com.hrsupportcentresq014.dtos.response.AwardResponseDTO;
+import com.hrsupportcentresq014.entities.Award;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the awards-by-year pages. Awards are created a few times a year and read on
+ * every visit to the awards page, so a page is loaded once and served from memory until an award is
+ * created here or, through the InvalidationBus, on another node.
+ *
+ * Entries also age out after application.award-cache.ttl, which bounds how long another node's write
+ * goes unseen while the bus is off. At most application.award-cache.max-entries pages are held: when a new
+ * page needs room the expired ones are dropped first, then the page used least recently. A load that
+ * overlaps an eviction is not stored, so an award created during the load is never hidden by the older result.
+ */
+@Component
+public class AwardCache implements InvalidationSubscriber {
+    private final MongoTemplate mongoTemplate;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Map<YearPage, Entry> pages;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AwardCache(MongoTemplate mongoTemplate,
+                      @Value("${application.award-cache.ttl}") Duration ttl,
+                      @Value("${application.award-cache.max-entries}") int maxEntries) {
+        this.mongoTemplate = mongoTemplate;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<YearPage, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public Page<AwardResponseDTO> yearPage(int year, int page, int size, Supplier<Page<AwardResponseDTO>> loader) {
+        YearPage key = new YearPage(year, page, size);
+        Entry cached;
+        synchronized (this) {
+            cached = pages.get(key);
+        }
+        if (cached != null && System.nanoTime() - cached.expiresAt() < 0) {
+            hits.increment();
+            return cached.page();
+        }
+        misses.increment();
+        long loadedIn = generation.get();
+        Page<AwardResponseDTO> loaded = loader.get();
+        synchronized (this) {
+            if (generation.get() == loadedIn) {
+                if (pages.size() >= maxEntries && !pages.containsKey(key)) {
+                    long now = System.nanoTime();
+                    pages.values().removeIf(entry -> now - entry.expiresAt() >= 0);
+                }
+                pages.put(key, new Entry(loaded, System.nanoTime() + ttl.toNanos()));
+            }
+        }
+        return loaded;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public synchronized void evictAll() {
+        generation.incrementAndGet();
+        pages.clear();
+    }
+
+    @Override
+    public Set<String> collections() {
+        return Set.of(mongoTemplate.getCollectionName(Award.class));
+    }
+
+    @Override
+    public void invalidate(InvalidationEvent event) {
+        evictAll();
+    }
+
+    private record YearPage(int year, int page, int size) {
+    }
+
+    private record Entry(Page<AwardResponseDTO> page, long expiresAt) {
+    }
+}
@@ -0,0 +1,256 @@
+package com.hrsupportcentresq014.cache;
+
+import com.hrsupportcentresq014.dtos.response.LeaderboardEntry;
+import com.hrsupportcentresq014.dtos.response.RankChange;
+import com.hrsupportcentresq014.entities.Nominee;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory vote standings for every award, kept sorted so the top of a leaderboard is read without
+ * aggregating the nominee collection.
+ *
+ * Each nomination updates the board with the vote count MongoDB returned for it, so applying the same
+ * standing twice, or the echo of a local write from the InvalidationBus, changes nothing. Votes only
+ * grow, so a count lower than the one already held is a late arrival and is ignored. When a write moves
+ * anyone within, into or out of the top application.leaderboard.size places a LeaderboardChangedEvent is
+ * published. The boards are reloaded every application.leaderboard.max-age.
+ */
+@Component
+public class AwardLeaderboard extends SnapshotIndex<AwardLeaderboard.Snapshot, AwardLeaderboard.Standing> implements InvalidationSubscriber {
+    private static final Comparator<Standing> RANKING = Comparator.comparingLong(Standing::votes).reversed()
+            .thenComparing(Standing::nomineeName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(Standing::id);
+
+    private final MongoTemplate mongoTemplate;
+    private final int size;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AwardLeaderboard(MongoTemplate mongoTemplate,
+                            @Value("${application.leaderboard.max-age}") Duration maxAge,
+                            @Value("${application.leaderboard.size}") int size,
+                            @Qualifier("leaderboardTaskExecutor") ThreadPoolTaskExecutor leaderboardTaskExecutor,
+                            ApplicationEventPublisher eventPublisher) {
+        super("award leaderboards", maxAge, leaderboardTaskExecutor);
+        this.mongoTemplate = mongoTemplate;
+        this.size = size;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * The number of places a leaderboard shows and rank changes are reported for.
+     */
+    public int size() {
+        return size;
+    }
+
+    public void put(Nominee nominee) {
+        put(new Standing(nominee.getId(), nominee.getAwardId(), nominee.getNomineeId(),
+                nominee.getNomineeName(), nominee.getDepartment(), nominee.getVotes()));
+    }
+
+    public void remove(String id) {
+        put(new Standing(id, null, null, null, null, 0));
+    }
+
+    @Override
+    public Set<String> collections() {
+        return Set.of(mongoTemplate.getCollectionName(Nominee.class));
+    }
+
+    @Override
+    public boolean needsDocument() {
+        return true;
+    }
+
+    @Override
+    public void invalidate(InvalidationEvent event) {
+        switch (event.type()) {
+            case CHANGED -> {
+                if (event.document() != null) {
+                    put(standingOf(event.document()));
+                }
+            }
+            case DELETED -> remove(event.documentId());
+            case RESET -> load();
+        }
+    }
+
+    /**
+     * Returns the leading nominees of the award, best first, at most limit of them.
+     */
+    public List<LeaderboardEntry> top(String awardId, int limit) {
+        Board board = snapshot().boards.get(awardId);
+        return board == null ? List.of() : board.top(limit);
+    }
+
+    // Rank changes are only published for edits to the live boards, not when edits are replayed on a reload.
+    private void put(Standing standing) {
+        if (standing.id() == null) {
+            return;
+        }
+        Snapshot current = record(standing);
+        if (current == null) {
+            return;
+        }
+        Map.Entry<String, List<RankChange>> changed = current.put(standing, size);
+        if (changed != null && !changed.getValue().isEmpty()) {
+            eventPublisher.publishEvent(new LeaderboardChangedEvent(changed.getKey(), changed.getValue()));
+        }
+    }
+
+    @Override
+    protected Snapshot loadSnapshot() {
+        Snapshot loaded = new Snapshot();
+        Query query = new Query();
+        query.fields().include("awardId", "nomineeId", "nomineeName", "department", "votes");
+        try (Stream<Document> nominees = mongoTemplate.stream(query, Document.class,
+                mongoTemplate.getCollectionName(Nominee.class))) {
+            nominees.forEach(nominee -> loaded.put(standingOf(nominee), size));
+        }
+        return loaded;
+    }
+
+    @Override
+    protected void apply(Snapshot snapshot, Standing standing) {
+        snapshot.put(standing, size);
+    }
+
+    private static Standing standingOf(Document nominee) {
+        Number votes = nominee.get("votes", Number.class);
+        return new Standing(nominee.get("_id").toString(), nominee.getString("awardId"), nominee.getString("nomineeId"),
+                nominee.getString("nomineeName"), nominee.getString("department"), votes == null ? 0 : votes.longValue());
+    }
+
+    // A standing without an award removes the nominee.
+    record Standing(String id, String awardId, String nomineeId, String nomineeName, String department, long votes) {
+    }
+
+    static final class Snapshot {
+        private final Map<String, Board> boards = new ConcurrentHashMap<>();
+        private final Map<String, String> awardOf = new ConcurrentHashMap<>();
+
+        /**
+         * Applies the standing and returns the award it belongs to with the rank changes it caused, or null if it
+         * changed nothing.
+         */
+        Map.Entry<String, List<RankChange>> put(Standing standing, int size) {
+            String awardId = standing.awardId() != null ? standing.awardId() : awardOf.get(standing.id());
+            if (awardId == null) {
+                return null;
+            }
+            Board board = boards.computeIfAbsent(awardId, key -> new Board());
+            List<RankChange> changes;
+            if (standing.awardId() == null) {
+                awardOf.remove(standing.id());
+                changes = board.remove(standing.id(), size);
+            } else {
+                awardOf.put(standing.id(), awardId);
+                changes = board.put(standing, size);
+            }
+            return changes == null ? null : Map.entry(awardId, changes);
+        }
+    }
+
+    private static final class Board {
+        private final Map<String, Standing> byId = new HashMap<>();
+        private final TreeSet<Standing> ranked = new TreeSet<>(RANKING);
+
+        synchronized List<RankChange> put(Standing standing, int size) {
+            Standing previous = byId.get(standing.id());
+            if (previous != null && previous.votes() >= standing.votes()) {
+                return null;
+            }
+            List<Standing> before = head(size);
+            if (previous != null) {
+                ranked.remove(previous);
+            }
+            byId.put(standing.id(), standing);
+            ranked.add(standing);
+            return compare(before, head(size));
+        }
+
+        synchronized List<RankChange> remove(String id, int size) {
+            Standing previous = byId.remove(id);
+            if (previous == null) {
+                return null;
+            }
+            List<Standing> before = head(size);
+            ranked.remove(previous);
+            return compare(before, head(size));
+        }
+
+        synchronized List<LeaderboardEntry> top(int limit) {
+            List<LeaderboardEntry> entries = new ArrayList<>();
+            for (Standing standing : head(limit)) {
+                entries.add(LeaderboardEntry.builder()
+                        .rank(entries.size() + 1)
+                        .nomineeId(standing.nomineeId())
+                        .nomineeName(standing.nomineeName())
+                        .department(standing.department())
+                        .votes(standing.votes())
+                        .build());
+            }
+            return entries;
+        }
+
+        private List<Standing> head(int limit) {
+            List<Standing> head = new ArrayList<>(Math.min(limit, ranked.size()));
+            Iterator<Standing> iterator = ranked.iterator();
+            while (head.size() < limit && iterator.hasNext()) {
+                head.add(iterator.next());
+            }
+            return head;
+        }
+
+        private static List<RankChange> compare(List<Standing> before, List<Standing> after) {
+            Map<String, Integer> previousRanks = new HashMap<>();
+            for (int i = 0; i < before.size(); i++) {
+                previousRanks.put(before.get(i).id(), i + 1);
+            }
+            List<RankChange> changes = new ArrayList<>();
+            for (int i = 0; i < after.size(); i++) {
+                Standing standing = after.get(i);
+                Integer previousRank = previousRanks.remove(standing.id());
+                if (!Objects.equals(previousRank, i + 1)) {
+                    changes.add(rankChange(standing, previousRank, i + 1));
+                }
+            }
+            for (Standing standing : before) {
+                if (previousRanks.containsKey(standing.id())) {
+                    changes.add(rankChange(standing, previousRanks.get(standing.id()), null));
+                }
+            }
+            return changes;
+        }
+
+        private static RankChange rankChange(Standing standing, Integer previousRank, Integer rank) {
+            return RankChange.builder()
+                    .nomineeId(standing.nomineeId())
+                    .nomineeName(standing.nomineeName())
+                    .previousRank(previousRank)
+                    .rank(rank)
+                    .votes(standing.votes())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.hrsupportcentresq014.cache;
+
+import com.hrsupportcentresq014.entities.Employee;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the in-memory employee indexes in step with employee saves and deletes made on this node.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeeIndexListener extends AbstractMongoEventListener<Employee> {
+    private final OrgGraph orgGraph;
+    private final StaffFilterIndex staffFilterIndex;
+    private final StaffSearchIndex staffSearchIndex;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Employee> event) {
+        Employee employee = event.getSource();
+        orgGraph.setManager(employee.getId(), employee.getManagerId());
+        staffFilterIndex.put(employee);
+        staffSearchIndex.put(employee);
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Employee> event) {
+        Object id = event.getSource().get("_id");
+        if (id != null) {
+            orgGraph.remove(id.toString());
+            staffFilterIndex.remove(id.toString());
+            staffSearchIndex.remove(id.toString());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.hrsupportcentresq014.cache;
+
+import com.hrsupportcentresq014.entities.Award;
+import com.hrsupportcentresq014.entities.BaseEntity;
+import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.entities.Job;
+import com.hrsupportcentresq014.entities.Nominee;
+import com.hrsupportcentresq014.utils.ETags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the last entity tag seen for each employee profile and the version stamp of whole collections,
+ * so a conditional GET can be answered with 304 without querying MongoDB.
+ *
+ * Stamps are dropped when this node writes the entity, when the InvalidationBus reports a write from
+ * another node, and also age out after application.etag.stamp-ttl, which bounds how long such a write
+ * can go unseen while the bus is off.
+ */
+@Component
+public class EntityTagCache implements InvalidationSubscriber {
+    private final MongoTemplate mongoTemplate;
+    private final Duration ttl;
+    private final Map<String, Stamp> employeeTags = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Stamp> collectionStamps = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public EntityTagCache(MongoTemplate mongoTemplate, @Value("${application.etag.stamp-ttl}") Duration ttl) {
+        this.mongoTemplate = mongoTemplate;
+        this.ttl = ttl;
+    }
+
+    public String employeeTag(String email) {
+        Stamp stamp = employeeTags.get(email);
+        if (stamp == null || stamp.isExpired()) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return stamp.value();
+    }
+
+    public void rememberEmployee(Employee employee) {
+        rememberEmployee(employee.getEmail(), employee.getId(), employee.getVersion());
+    }
+
+    public void rememberEmployee(String email, String id, Long version) {
+        if (email != null && id != null && version != null) {
+            employeeTags.put(email, new Stamp(ETags.fromVersion(id, version), expiry()));
+        }
+    }
+
+    public void evictEmployee(String email) {
+        employeeTags.remove(email);
+    }
+
+    public void evictAllEmployees() {
+        employeeTags.clear();
+    }
+
+    /**
+     * Returns a stamp that changes whenever a document in the entity's collection is added or modified.
+     */
+    public String collectionStamp(Class<? extends BaseEntity> entityClass) {
+        Stamp stamp = collectionStamps.get(entityClass);
+        if (stamp == null || stamp.isExpired()) {
+            misses.increment();
+            stamp = new Stamp(loadCollectionStamp(entityClass), expiry());
+            collectionStamps.put(entityClass, stamp);
+        } else {
+            hits.increment();
+        }
+        return stamp.value();
+    }
+
+    public void evictCollection(Class<?> entityClass) {
+        collectionStamps.remove(entityClass);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public Set<String> collections() {
+        return Set.of(mongoTemplate.getCollectionName(Employee.class), mongoTemplate.getCollectionName(Job.class),
+                mongoTemplate.getCollectionName(Award.class), mongoTemplate.getCollectionName(Nominee.class));
+    }
+
+    @Override
+    public boolean needsDocument() {
+        return true;
+    }
+
+    @Override
+    public void invalidate(InvalidationEvent event) {
+        if (event.collection().equals(mongoTemplate.getCollectionName(Employee.class))) {
+            if (event.document() != null) {
+                evictEmployee(event.document().getString("email"));
+            } else {
+                evictAllEmployees();
+            }
+        } else if (event.collection().equals(mongoTemplate.getCollectionName(Job.class))) {
+            evictCollection(Job.class);
+        } else if (event.collection().equals(mongoTemplate.getCollectionName(Nominee.class))) {
+            evictCollection(Nominee.class);
+        } else {
+            evictCollection(Award.class);
+        }
+    }
+
+    private String loadCollectionStamp(Class<? extends BaseEntity> entityClass) {
+        long count = mongoTemplate.count(new Query(), entityClass);
+        Query latest = new Query().with(Sort.by(Sort.Direction.DESC, "updatedOn")).limit(1);
+        latest.fields().include("updatedOn");
+        BaseEntity newest = mongoTemplate.findOne(latest, entityClass);
+        String updatedOn = newest == null || newest.getUpdatedOn() == null ? "0" : newest.getUpdatedOn().toString();
+        return count + "-" + updatedOn;
+    }
+
+    private long expiry() {
+        return System.nanoTime() + ttl.toNanos();
+    }
+
+    private record Stamp(String value, long expiresAt) {
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
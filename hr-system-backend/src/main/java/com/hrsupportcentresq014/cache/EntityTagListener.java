@@ -0,0 +1,41 @@
+package com.hrsupportcentresq014.cache;
+
+import com.hrsupportcentresq014.entities.Award;
+import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.entities.Job;
+import com.hrsupportcentresq014.entities.Nominee;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the EntityTagCache in step with repository and template saves made on this node.
+ * Targeted updates do not raise these events, so code using them evicts the cache itself.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityTagListener extends AbstractMongoEventListener<Object> {
+    private final EntityTagCache entityTagCache;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        Object source = event.getSource();
+        if (source instanceof Employee employee) {
+            entityTagCache.rememberEmployee(employee);
+        } else if (source instanceof Job || source instanceof Award || source instanceof Nominee) {
+            entityTagCache.evictCollection(source.getClass());
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        Class<?> type = event.getType();
+        if (type == Employee.class) {
+            entityTagCache.evictAllEmployees();
+        } else if (type != null) {
+            entityTagCache.evictCollection(type);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.hrsupportcentresq014.cache;
+
+import com.hrsupportcentresq014.entities.ChangeStreamOffset;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tails MongoDB change streams and tells the local caches about writes made by any instance, so a cache
+ * on one node does not serve data another node has already changed.
+ *
+ * Each configured collection that some subscriber listens to gets its own stream and thread; the
+ * others are not watched at all. The resume token is stored per instance every
+ * application.invalidation.token-save-interval and when the bus stops, so a restart picks up about
+ * where the stream stopped. Events after the last save are delivered again, which subscribers absorb
+ * since an invalidation applied twice has the effect of one. If the token has fallen off the oplog the
+ * stream starts afresh and subscribers get a RESET. Change streams need a replica set; a single-node
+ * one is enough locally (see the makefile), and the bus stays off unless
+ * application.invalidation.enabled is set.
+ */
+@Component
+@Slf4j
+public class InvalidationBus {
+    // ChangeStreamHistoryLost and InvalidResumeToken: the stored token can no longer be resumed from.
+    private static final Set<Integer> LOST_POSITION_CODES = Set.of(286, 260);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final MongoTemplate mongoTemplate;
+    private final List<InvalidationSubscriber> subscribers;
+    private final ThreadPoolTaskExecutor changeStreamTaskExecutor;
+    private final boolean enabled;
+    private final String instanceId;
+    private final List<String> collections;
+    private final Duration tokenSaveInterval;
+    private volatile boolean running;
+
+    public InvalidationBus(MongoTemplate mongoTemplate,
+                           List<InvalidationSubscriber> subscribers,
+                           @Qualifier("changeStreamTaskExecutor") ThreadPoolTaskExecutor changeStreamTaskExecutor,
+                           @Value("${application.invalidation.enabled}") boolean enabled,
+                           @Value("${application.invalidation.instance-id}") String instanceId,
+                           @Value("${application.invalidation.collections}") List<String> collections,
+                           @Value("${application.invalidation.token-save-interval}") Duration tokenSaveInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.subscribers = subscribers;
+        this.changeStreamTaskExecutor = changeStreamTaskExecutor;
+        this.enabled = enabled;
+        this.instanceId = instanceId;
+        this.collections = collections;
+        this.tokenSaveInterval = tokenSaveInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Cache invalidation bus is disabled, caches rely on their own expiry");
+            return;
+        }
+        List<String> watched = collections.stream()
+                .filter(collection -> subscribers.stream().anyMatch(subscriber -> subscriber.collections().contains(collection)))
+                .toList();
+        if (watched.size() < collections.size()) {
+            log.info("Not watching {}, no cache listens to them", collections.stream().filter(c -> !watched.contains(c)).toList());
+        }
+        running = true;
+        for (String collection : watched) {
+            changeStreamTaskExecutor.execute(() -> tail(collection));
+        }
+        log.info("Watching {} for cache invalidation as {}", watched, instanceId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+    }
+
+    void publish(InvalidationEvent event) {
+        for (InvalidationSubscriber subscriber : subscribers) {
+            if (!subscriber.collections().contains(event.collection())) {
+                continue;
+            }
+            try {
+                subscriber.invalidate(event);
+            } catch (RuntimeException e) {
+                log.error("{} could not handle {}", subscriber.getClass().getName(), event, e);
+            }
+        }
+    }
+
+    static InvalidationEvent toEvent(String collection, ChangeStreamDocument<Document> change) {
+        OperationType operation = change.getOperationType();
+        BsonDocument key = change.getDocumentKey();
+        BsonValue id = key == null ? null : key.get("_id");
+        String documentId = id == null ? null
+                : id.isObjectId() ? id.asObjectId().getValue().toHexString()
+                : id.isString() ? id.asString().getValue()
+                : id.toString();
+        return switch (operation) {
+            case INSERT, UPDATE, REPLACE -> new InvalidationEvent(collection, documentId, InvalidationEvent.Type.CHANGED,
+                    change.getFullDocument());
+            case DELETE -> new InvalidationEvent(collection, documentId, InvalidationEvent.Type.DELETED, null);
+            default -> InvalidationEvent.reset(collection);
+        };
+    }
+
+    private void tail(String collection) {
+        boolean fullDocument = subscribers.stream()
+                .anyMatch(subscriber -> subscriber.collections().contains(collection) && subscriber.needsDocument());
+        long backoff = 1000;
+        while (running) {
+            BsonDocument token = loadToken(collection);
+            ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(collection).watch()
+                    .maxAwaitTime(1, TimeUnit.SECONDS);
+            if (fullDocument) {
+                stream = stream.fullDocument(FullDocument.UPDATE_LOOKUP);
+            }
+            if (token != null) {
+                stream = stream.resumeAfter(token);
+            }
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+                backoff = 1000;
+                long lastSaved = System.nanoTime();
+                while (running) {
+                    ChangeStreamDocument<Document> change = cursor.tryNext();
+                    if (change != null) {
+                        publish(toEvent(collection, change));
+                    }
+                    // The cursor's token also moves on while the collection is quiet, which keeps it on the oplog.
+                    if (System.nanoTime() - lastSaved > tokenSaveInterval.toNanos()) {
+                        saveToken(collection, cursor.getResumeToken());
+                        lastSaved = System.nanoTime();
+                    }
+                }
+                saveToken(collection, cursor.getResumeToken());
+            } catch (MongoCommandException e) {
+                if (token != null && LOST_POSITION_CODES.contains(e.getErrorCode())) {
+                    log.warn("Change stream on {} cannot resume, starting afresh", collection);
+                    mongoTemplate.remove(Query.query(Criteria.where("_id").is(offsetId(collection))), ChangeStreamOffset.class);
+                    publish(InvalidationEvent.reset(collection));
+                } else {
+                    backoff = pause(collection, e, backoff);
+                }
+            } catch (MongoException | IllegalStateException e) {
+                backoff = pause(collection, e, backoff);
+            }
+        }
+    }
+
+    private long pause(String collection, RuntimeException e, long backoff) {
+        log.error("Change stream on {} failed, retrying in {} ms", collection, backoff, e);
+        try {
+            Thread.sleep(backoff);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+        // Whatever changed while the stream was down is replayed from the stored token, or flushed by a RESET.
+        return Math.min(backoff * 2, MAX_BACKOFF.toMillis());
+    }
+
+    private BsonDocument loadToken(String collection) {
+        ChangeStreamOffset offset = mongoTemplate.findById(offsetId(collection), ChangeStreamOffset.class);
+        return offset == null || offset.getResumeToken() == null ? null : BsonDocument.parse(offset.getResumeToken());
+    }
+
+    private void saveToken(String collection, BsonDocument token) {
+        if (token == null) {
+            return;
+        }
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(offsetId(collection))),
+                new Update().set("resumeToken", token.toJson()).set("updatedOn", LocalDateTime.now()),
+                ChangeStreamOffset.class);
+    }
+
+    private String offsetId(String collection) {
+        return instanceId + "/" + collection;
+    }
+}
@@ -0,0 +1,26 @@
+package com.hrsupportcentresq014.cache;
+
+import org.bson.Document;
+
+/**
+ * A change to a watched collection, as published by the InvalidationBus.
+ *
+ * @param collection the collection that changed
+ * @param documentId the id of the changed document, null for a RESET
+ * @param type       what happened to the document
+ * @param document   the document after the change, when the collection is watched with full documents and it still exists
+ */
+public record InvalidationEvent(String collection, String documentId, Type type, Document document) {
+
+    public enum Type {
+        // The document was inserted, updated or replaced.
+        CHANGED,
+        DELETED,
+        // Changes may have been missed, for example after the stream could not resume; drop everything cached.
+        RESET
+    }
+
+    public static InvalidationEvent reset(String collection) {
+        return new InvalidationEvent(collection, null, Type.RESET, null);
+    }
+}
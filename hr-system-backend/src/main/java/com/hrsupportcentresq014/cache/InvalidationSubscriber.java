@@ -0,0 +1,24 @@
+package com.hrsupportcentresq014.cache;
+
+import java.util.Set;
+
+/**
+ * A local cache that wants to hear about writes made by any instance, through the InvalidationBus.
+ * Events for writes this instance made itself arrive as well, so handling an event must be idempotent.
+ */
+public interface InvalidationSubscriber {
+
+    /**
+     * The collections whose changes this cache depends on.
+     */
+    Set<String> collections();
+
+    /**
+     * Whether events should carry the changed document, which costs the stream one extra lookup per change.
+     */
+    default boolean needsDocument() {
+        return false;
+    }
+
+    void invalidate(InvalidationEvent event);
+}
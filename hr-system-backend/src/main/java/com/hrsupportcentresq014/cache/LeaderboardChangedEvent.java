@@ -0,0 +1,11 @@
+package com.hrsupportcentresq014.cache;
+
+import com.hrsupportcentresq014.dtos.response.RankChange;
+
+import java.util.List;
+
+/**
+ * Published by AwardLeaderboard whenever a vote reorders the top of an award's leaderboard.
+ */
+public record LeaderboardChangedEvent(String awardId, List<RankChange> changes) {
+}
@@ -0,0 +1,185 @@
+package com.hrsupportcentresq014.cache;
+
+import com.hrsupportcentresq014.entities.Employee;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory copy of the reporting lines, kept as employee id to manager id plus the reverse lists,
+ * so subtree and chain queries never touch MongoDB.
+ *
+ * The graph is kept current by EmployeeIndexListener and the manager assignment code, and reloaded every
+ * application.org-graph.max-age. While it loads, callers fall back to $graphLookup. Changes made on other
+ * nodes arrive through the InvalidationBus when it is enabled.
+ */
+@Component
+public class OrgGraph extends SnapshotIndex<OrgGraph.Snapshot, OrgGraph.Edit> implements InvalidationSubscriber {
+    private static final String NO_MANAGER = "";
+
+    private final MongoTemplate mongoTemplate;
+
+    public OrgGraph(MongoTemplate mongoTemplate,
+                    @Value("${application.org-graph.max-age}") Duration maxAge,
+                    @Qualifier("orgTaskExecutor") ThreadPoolTaskExecutor orgTaskExecutor) {
+        super("org graph", maxAge, orgTaskExecutor);
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public boolean contains(String employeeId) {
+        return snapshot().managers().containsKey(employeeId);
+    }
+
+    public void setManager(String employeeId, String managerId) {
+        if (employeeId == null) {
+            return;
+        }
+        edit(new Edit(employeeId, managerId == null ? NO_MANAGER : managerId));
+    }
+
+    public void remove(String employeeId) {
+        edit(new Edit(employeeId, null));
+    }
+
+    @Override
+    public Set<String> collections() {
+        return Set.of(mongoTemplate.getCollectionName(Employee.class));
+    }
+
+    @Override
+    public boolean needsDocument() {
+        return true;
+    }
+
+    @Override
+    public void invalidate(InvalidationEvent event) {
+        switch (event.type()) {
+            case CHANGED -> {
+                if (event.document() != null) {
+                    Object managerId = event.document().get("managerId");
+                    setManager(event.documentId(), managerId == null ? null : managerId.toString());
+                }
+            }
+            case DELETED -> remove(event.documentId());
+            case RESET -> load();
+        }
+    }
+
+    /**
+     * Returns the reports below the employee in breadth-first order, mapped to their depth (1 for a direct report).
+     */
+    public Map<String, Integer> reports(String employeeId, int maxDepth) {
+        Map<String, Set<String>> reports = snapshot().reports();
+        Map<String, Integer> depths = new LinkedHashMap<>();
+        Queue<String> queue = new ArrayDeque<>();
+        depths.put(employeeId, 0);
+        queue.add(employeeId);
+        while (!queue.isEmpty()) {
+            String current = queue.poll();
+            int depth = depths.get(current);
+            if (depth >= maxDepth) {
+                continue;
+            }
+            for (String report : reports.getOrDefault(current, Collections.emptySet())) {
+                if (depths.putIfAbsent(report, depth + 1) == null) {
+                    queue.add(report);
+                }
+            }
+        }
+        depths.remove(employeeId);
+        return depths;
+    }
+
+    /**
+     * Returns the employee's managers, nearest first.
+     */
+    public List<String> chain(String employeeId) {
+        Map<String, String> managers = snapshot().managers();
+        List<String> chain = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        seen.add(employeeId);
+        String manager = managers.get(employeeId);
+        while (manager != null && !NO_MANAGER.equals(manager) && seen.add(manager)) {
+            chain.add(manager);
+            manager = managers.get(manager);
+        }
+        return chain;
+    }
+
+    @Override
+    protected Snapshot loadSnapshot() {
+        Snapshot loaded = new Snapshot();
+        Query query = new Query();
+        query.fields().include("_id").include("managerId");
+        try (Stream<Document> employees = mongoTemplate.stream(query, Document.class,
+                mongoTemplate.getCollectionName(Employee.class))) {
+            employees.forEach(employee -> {
+                Object managerId = employee.get("managerId");
+                loaded.setManager(employee.get("_id").toString(), managerId == null ? NO_MANAGER : managerId.toString());
+            });
+        }
+        return loaded;
+    }
+
+    @Override
+    protected void apply(Snapshot snapshot, Edit edit) {
+        if (edit.managerId() == null) {
+            snapshot.remove(edit.employeeId());
+        } else {
+            snapshot.setManager(edit.employeeId(), edit.managerId());
+        }
+    }
+
+    // A null manager removes the employee; NO_MANAGER keeps them without one.
+    record Edit(String employeeId, String managerId) {
+    }
+
+    record Snapshot(Map<String, String> managers, Map<String, Set<String>> reports) {
+        Snapshot() {
+            this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+
+        void setManager(String employeeId, String managerId) {
+            String previous = managers.put(employeeId, managerId);
+            if (managerId.equals(previous)) {
+                return;
+            }
+            if (previous != null && !NO_MANAGER.equals(previous)) {
+                Set<String> siblings = reports.get(previous);
+                if (siblings != null) {
+                    siblings.remove(employeeId);
+                }
+            }
+            if (!NO_MANAGER.equals(managerId)) {
+                reports.computeIfAbsent(managerId, key -> ConcurrentHashMap.newKeySet()).add(employeeId);
+            }
+        }
+
+        void remove(String employeeId) {
+            String previous = managers.remove(employeeId);
+            if (previous != null && !NO_MANAGER.equals(previous)) {
+                Set<String> siblings = reports.get(previous);
+                if (siblings != null) {
+                    siblings.remove(employeeId);
+                }
+            }
+        }
+    }
+}
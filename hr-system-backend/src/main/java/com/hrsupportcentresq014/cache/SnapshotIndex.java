@@ -0,0 +1,121 @@
+package com.hrsupportcentresq014.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Base for the in-memory indexes that are loaded from MongoDB in the background and then kept current edit by edit.
+ * Subclasses only say how to load a snapshot and how to apply one edit to it.
+ *
+ * The snapshot is loaded once the application is ready and reloaded on its own executor once it is older than
+ * the given max age, which bounds how long a change that never reached this node goes unseen. Readers keep using
+ * the old snapshot while a new one loads and until the first load finishes isReady() is false, so callers can
+ * fall back to MongoDB. Edits made during a reload are applied to the old snapshot and logged, then replayed
+ * on the new one before and after it is swapped in, so none are lost.
+ *
+ * @param <S> the snapshot, which must be safe to edit while it is read
+ * @param <E> one edit, as applied to a snapshot
+ */
+@Slf4j
+public abstract class SnapshotIndex<S, E> {
+    private final String name;
+    private final Duration maxAge;
+    private final ThreadPoolTaskExecutor executor;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Queue<E> editsDuringRebuild = new ConcurrentLinkedQueue<>();
+    private volatile Loaded<S> loaded;
+
+    protected SnapshotIndex(String name, Duration maxAge, ThreadPoolTaskExecutor executor) {
+        this.name = name;
+        this.maxAge = maxAge;
+        this.executor = executor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::rebuild);
+        } catch (TaskRejectedException e) {
+            rebuilding.set(false);
+        }
+    }
+
+    public boolean isReady() {
+        Loaded<S> current = loaded;
+        if (current == null || System.nanoTime() - current.loadedAt() > maxAge.toNanos()) {
+            load();
+        }
+        return current != null;
+    }
+
+    /**
+     * Reads a complete snapshot from MongoDB. Runs on the index's executor.
+     */
+    protected abstract S loadSnapshot();
+
+    protected abstract void apply(S snapshot, E edit);
+
+    /**
+     * Returns the current snapshot, or null before the first load has finished.
+     */
+    protected S snapshot() {
+        Loaded<S> current = loaded;
+        return current == null ? null : current.snapshot();
+    }
+
+    protected void edit(E edit) {
+        S current = record(edit);
+        if (current != null) {
+            apply(current, edit);
+        }
+    }
+
+    /**
+     * Logs the edit for replay if a reload is running and returns the snapshot it should be applied to, for
+     * subclasses that need the result of applying it. The caller applies it.
+     */
+    protected S record(E edit) {
+        if (rebuilding.get()) {
+            editsDuringRebuild.add(edit);
+        }
+        return snapshot();
+    }
+
+    private void rebuild() {
+        try {
+            editsDuringRebuild.clear();
+            long startedAt = System.nanoTime();
+            S fresh = loadSnapshot();
+            replayEdits(fresh);
+            loaded = new Loaded<>(fresh, startedAt);
+            // Edits that arrived between the replay and the swap only reached the old snapshot.
+            replayEdits(fresh);
+            log.info("Loaded the {}", name);
+        } catch (RuntimeException e) {
+            log.error("Could not load the {}", name, e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private void replayEdits(S target) {
+        E edit;
+        while ((edit = editsDuringRebuild.poll()) != null) {
+            apply(target, edit);
+        }
+    }
+
+    private record Loaded<S>(S snapshot, long loadedAt) {
+    }
+}
@@ -0,0 +1,255 @@
+package com.hrsupportcentresq014.cache;
+
+import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.enums.StaffAttribute;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory bitmap index over the staff directory, one bitmap per value of each StaffAttribute, so any
+ * combination of directory filters is answered with a few bitwise operations instead of a MongoDB query.
+ *
+ * Every employee gets a position in the bitmaps when first seen, in load order, which is also the order
+ * pages are returned in. The load reads employees by _id, the order MongoDB pages the same filters in
+ * when the index is not ready, and employees created later have newer ids, so both return the same pages.
+ * Values within one attribute are OR-ed and attributes are AND-ed, matching is case-insensitive. The
+ * index is reloaded every application.staff-index.max-age.
+ */
+@Component
+public class StaffFilterIndex extends SnapshotIndex<StaffFilterIndex.Snapshot, StaffFilterIndex.Edit> implements InvalidationSubscriber {
+    private static final StaffAttribute[] ATTRIBUTES = StaffAttribute.values();
+
+    private final MongoTemplate mongoTemplate;
+
+    public StaffFilterIndex(MongoTemplate mongoTemplate,
+                            @Value("${application.staff-index.max-age}") Duration maxAge,
+                            @Qualifier("staffIndexTaskExecutor") ThreadPoolTaskExecutor staffIndexTaskExecutor) {
+        super("staff filter index", maxAge, staffIndexTaskExecutor);
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public void put(Employee employee) {
+        if (employee.getId() == null) {
+            return;
+        }
+        edit(new Edit(employee.getId(), valuesOf(employee)));
+    }
+
+    public void remove(String employeeId) {
+        edit(new Edit(employeeId, null));
+    }
+
+    @Override
+    public Set<String> collections() {
+        return Set.of(mongoTemplate.getCollectionName(Employee.class));
+    }
+
+    @Override
+    public boolean needsDocument() {
+        return true;
+    }
+
+    @Override
+    public void invalidate(InvalidationEvent event) {
+        switch (event.type()) {
+            case CHANGED -> {
+                if (event.document() != null) {
+                    put(mongoTemplate.getConverter().read(Employee.class, event.document()));
+                }
+            }
+            case DELETED -> remove(event.documentId());
+            case RESET -> load();
+        }
+    }
+
+    /**
+     * Returns the number of employees matching the filters.
+     */
+    public int count(Map<StaffAttribute, ? extends Collection<String>> filters) {
+        return snapshot().match(filters).cardinality();
+    }
+
+    /**
+     * Returns the ids of the matching employees on the requested page together with the total number of matches.
+     */
+    public Matches page(Map<StaffAttribute, ? extends Collection<String>> filters, long offset, int limit) {
+        return snapshot().page(filters, offset, limit);
+    }
+
+    public record Matches(List<String> ids, int total) {
+    }
+
+    @Override
+    protected Snapshot loadSnapshot() {
+        Snapshot loaded = new Snapshot();
+        Query query = new Query().with(Sort.by("_id"));
+        for (StaffAttribute attribute : ATTRIBUTES) {
+            query.fields().include(attribute.getField());
+        }
+        try (Stream<Employee> employees = mongoTemplate.stream(query, Employee.class)) {
+            employees.forEach(employee -> loaded.put(employee.getId(), valuesOf(employee)));
+        }
+        return loaded;
+    }
+
+    @Override
+    protected void apply(Snapshot snapshot, Edit edit) {
+        if (edit.values() == null) {
+            snapshot.remove(edit.employeeId());
+        } else {
+            snapshot.put(edit.employeeId(), edit.values());
+        }
+    }
+
+    // Null values remove the employee.
+    record Edit(String employeeId, String[] values) {
+    }
+
+    private static String[] valuesOf(Employee employee) {
+        String[] values = new String[ATTRIBUTES.length];
+        for (StaffAttribute attribute : ATTRIBUTES) {
+            values[attribute.ordinal()] = normalize(attribute.valueOf(employee));
+        }
+        return values;
+    }
+
+    /**
+     * The form values are indexed and looked up in; the MongoDB fallback in HrServiceImpl matches the same way.
+     */
+    public static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static final class Snapshot {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final List<String> ids = new ArrayList<>();
+        private final List<String[]> values = new ArrayList<>();
+        private final BitSet live = new BitSet();
+        private final Map<StaffAttribute, Map<String, BitSet>> bitmaps = new EnumMap<>(StaffAttribute.class);
+
+        Snapshot() {
+            for (StaffAttribute attribute : ATTRIBUTES) {
+                bitmaps.put(attribute, new HashMap<>());
+            }
+        }
+
+        void put(String employeeId, String[] newValues) {
+            lock.writeLock().lock();
+            try {
+                Integer ordinal = ordinals.get(employeeId);
+                if (ordinal == null) {
+                    ordinal = ids.size();
+                    ordinals.put(employeeId, ordinal);
+                    ids.add(employeeId);
+                    values.add(null);
+                }
+                String[] oldValues = values.get(ordinal);
+                for (StaffAttribute attribute : ATTRIBUTES) {
+                    int i = attribute.ordinal();
+                    if (oldValues != null && oldValues[i].equals(newValues[i])) {
+                        continue;
+                    }
+                    if (oldValues != null) {
+                        clear(attribute, oldValues[i], ordinal);
+                    }
+                    bitmaps.get(attribute).computeIfAbsent(newValues[i], key -> new BitSet()).set(ordinal);
+                }
+                values.set(ordinal, newValues);
+                live.set(ordinal);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // The position is not reused, it stays empty until the next rebuild compacts the index.
+        void remove(String employeeId) {
+            lock.writeLock().lock();
+            try {
+                Integer ordinal = ordinals.remove(employeeId);
+                if (ordinal == null) {
+                    return;
+                }
+                String[] oldValues = values.set(ordinal, null);
+                for (StaffAttribute attribute : ATTRIBUTES) {
+                    clear(attribute, oldValues[attribute.ordinal()], ordinal);
+                }
+                live.clear(ordinal);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        BitSet match(Map<StaffAttribute, ? extends Collection<String>> filters) {
+            lock.readLock().lock();
+            try {
+                BitSet result = (BitSet) live.clone();
+                filters.forEach((attribute, wanted) -> {
+                    if (wanted == null || wanted.isEmpty()) {
+                        return;
+                    }
+                    Map<String, BitSet> byValue = bitmaps.get(attribute);
+                    BitSet any = new BitSet();
+                    for (String value : wanted) {
+                        BitSet bitmap = byValue.get(normalize(value));
+                        if (bitmap != null) {
+                            any.or(bitmap);
+                        }
+                    }
+                    result.and(any);
+                });
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        Matches page(Map<StaffAttribute, ? extends Collection<String>> filters, long offset, int limit) {
+            BitSet matches = match(filters);
+            List<String> page = new ArrayList<>(Math.max(0, Math.min(limit, matches.cardinality())));
+            lock.readLock().lock();
+            try {
+                int ordinal = matches.nextSetBit(0);
+                for (long skipped = 0; ordinal >= 0 && skipped < offset; skipped++) {
+                    ordinal = matches.nextSetBit(ordinal + 1);
+                }
+                while (ordinal >= 0 && page.size() < limit) {
+                    page.add(ids.get(ordinal));
+                    ordinal = matches.nextSetBit(ordinal + 1);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            return new Matches(page, matches.cardinality());
+        }
+
+        private void clear(StaffAttribute attribute, String value, int ordinal) {
+            BitSet bitmap = bitmaps.get(attribute).get(value);
+            if (bitmap != null) {
+                bitmap.clear(ordinal);
+                if (bitmap.isEmpty()) {
+                    bitmaps.get(attribute).remove(value);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.hrsupportcentresq014.cache;
+
+import com.hrsupportcentresq014.dtos.response.StaffSuggestion;
+import com.hrsupportcentresq014.entities.Employee;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory typeahead index over staff names, nicknames, email addresses and positions.
+ *
+ * Every field is split into lower-case words kept in a sorted map, so a prefix is one range scan. Words of
+ * three or more letters that find too few prefix matches are also matched fuzzily: words sharing a letter
+ * pair with the typed word are compared to it by edit distance, which catches typos and swapped letters.
+ * Each word of a query must match, and any of them may be a prefix, since a typed name is often cut short
+ * in the middle as well as at the end. The word with the fewest matches is looked up first and the others
+ * are checked against the words of those employees, so the cap on matches per word only cuts a search short
+ * when every word of it is that common. The index holds everything a suggestion shows, so a search never
+ * reaches MongoDB. It is reloaded every application.staff-search.max-age.
+ */
+@Component
+public class StaffSearchIndex extends SnapshotIndex<StaffSearchIndex.Snapshot, StaffSearchIndex.Edit> implements InvalidationSubscriber {
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int FUZZY = 1;
+    private static final int MAX_TERMS = 4;
+    // Bound the work a one-letter query can cause on a large directory; a longer query narrows the matches again.
+    private static final int MAX_WORDS_PER_TERM = 2000;
+    private static final int MAX_MATCHES_PER_TERM = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    public StaffSearchIndex(MongoTemplate mongoTemplate,
+                            @Value("${application.staff-search.max-age}") Duration maxAge,
+                            @Qualifier("searchIndexTaskExecutor") ThreadPoolTaskExecutor searchIndexTaskExecutor) {
+        super("staff search index", maxAge, searchIndexTaskExecutor);
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public void put(Employee employee) {
+        if (employee.getId() == null) {
+            return;
+        }
+        edit(new Edit(employee.getId(), toSuggestion(employee)));
+    }
+
+    public void remove(String employeeId) {
+        edit(new Edit(employeeId, null));
+    }
+
+    @Override
+    public Set<String> collections() {
+        return Set.of(mongoTemplate.getCollectionName(Employee.class));
+    }
+
+    @Override
+    public boolean needsDocument() {
+        return true;
+    }
+
+    @Override
+    public void invalidate(InvalidationEvent event) {
+        switch (event.type()) {
+            case CHANGED -> {
+                if (event.document() != null) {
+                    put(mongoTemplate.getConverter().read(Employee.class, event.document()));
+                }
+            }
+            case DELETED -> remove(event.documentId());
+            case RESET -> load();
+        }
+    }
+
+    /**
+     * Returns up to limit employees matching every word of the query, best matches first.
+     */
+    public List<StaffSuggestion> search(String query, int limit) {
+        List<String> terms = queryTerms(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Snapshot current = snapshot();
+        Map<String, Integer> scores = null;
+        String narrowest = null;
+        for (String term : terms) {
+            Map<String, Integer> matches = current.match(term, limit);
+            if (matches.isEmpty()) {
+                return List.of();
+            }
+            if (scores == null || matches.size() < scores.size()) {
+                scores = matches;
+                narrowest = term;
+            }
+        }
+        for (String term : terms) {
+            if (term.equals(narrowest)) {
+                continue;
+            }
+            Iterator<Map.Entry<String, Integer>> candidates = scores.entrySet().iterator();
+            while (candidates.hasNext()) {
+                Map.Entry<String, Integer> candidate = candidates.next();
+                int score = current.score(candidate.getKey(), term);
+                if (score == 0) {
+                    candidates.remove();
+                } else {
+                    candidate.setValue(candidate.getValue() + score);
+                }
+            }
+        }
+        if (scores.isEmpty()) {
+            return List.of();
+        }
+        // Keeps only the best limit matches instead of sorting every employee a short prefix matches.
+        Comparator<Map.Entry<StaffSuggestion, Integer>> ranking = Map.Entry.<StaffSuggestion, Integer>comparingByValue().reversed()
+                .thenComparing(entry -> Objects.toString(entry.getKey().getLastName(), ""))
+                .thenComparing(entry -> Objects.toString(entry.getKey().getFirstName(), ""));
+        PriorityQueue<Map.Entry<StaffSuggestion, Integer>> best = new PriorityQueue<>(limit + 1, ranking.reversed());
+        scores.forEach((id, score) -> {
+            StaffSuggestion suggestion = current.suggestions.get(id);
+            if (suggestion == null) {
+                return;
+            }
+            Map.Entry<StaffSuggestion, Integer> candidate = Map.entry(suggestion, score);
+            if (best.size() < limit) {
+                best.add(candidate);
+            } else if (ranking.compare(candidate, best.peek()) < 0) {
+                best.poll();
+                best.add(candidate);
+            }
+        });
+        return best.stream().sorted(ranking).map(Map.Entry::getKey).toList();
+    }
+
+    @Override
+    protected Snapshot loadSnapshot() {
+        Snapshot loaded = new Snapshot();
+        Query query = new Query();
+        query.fields().include("firstName", "lastName", "nickName", "email", "position");
+        try (Stream<Employee> employees = mongoTemplate.stream(query, Employee.class)) {
+            employees.forEach(employee -> loaded.put(toSuggestion(employee)));
+        }
+        return loaded;
+    }
+
+    @Override
+    protected void apply(Snapshot snapshot, Edit edit) {
+        if (edit.suggestion() == null) {
+            snapshot.remove(edit.employeeId());
+        } else {
+            snapshot.put(edit.suggestion());
+        }
+    }
+
+    // A null suggestion removes the employee.
+    record Edit(String employeeId, StaffSuggestion suggestion) {
+    }
+
+    private static StaffSuggestion toSuggestion(Employee employee) {
+        return StaffSuggestion.builder()
+                .id(employee.getId())
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .nickName(employee.getNickName())
+                .email(employee.getEmail())
+                .position(employee.getPosition())
+                .build();
+    }
+
+    // Only the part of an email address before the @ is searchable, the domain is shared by everyone.
+    private static Set<String> words(StaffSuggestion suggestion) {
+        Set<String> words = new LinkedHashSet<>();
+        String email = suggestion.getEmail();
+        for (String field : Arrays.asList(suggestion.getFirstName(), suggestion.getLastName(), suggestion.getNickName(),
+                email == null ? null : email.split("@", 2)[0], suggestion.getPosition())) {
+            words.addAll(split(field));
+        }
+        return words;
+    }
+
+    private static List<String> queryTerms(String query) {
+        if (query == null) {
+            return List.of();
+        }
+        int at = query.indexOf('@');
+        return split(at >= 0 ? query.substring(0, at) : query).stream().distinct().limit(MAX_TERMS).toList();
+    }
+
+    private static List<String> split(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+    private static Set<String> pairs(String word) {
+        Set<String> pairs = new LinkedHashSet<>();
+        for (int i = 0; i + 2 <= word.length(); i++) {
+            pairs.add(word.substring(i, i + 2));
+        }
+        return pairs;
+    }
+
+    /**
+     * Edit distance between the typed term and the closest prefix of the word, counting an adjacent swap as one edit.
+     */
+    static int prefixDistance(String term, String word) {
+        int[][] d = new int[term.length() + 1][word.length() + 1];
+        for (int i = 0; i <= term.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= word.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= term.length(); i++) {
+            for (int j = 1; j <= word.length(); j++) {
+                int cost = term.charAt(i - 1) == word.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && term.charAt(i - 1) == word.charAt(j - 2) && term.charAt(i - 2) == word.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        int best = Integer.MAX_VALUE;
+        for (int j = 0; j <= word.length(); j++) {
+            best = Math.min(best, d[term.length()][j]);
+        }
+        return best;
+    }
+
+    private static int maxEdits(String term) {
+        return term.length() <= 5 ? 1 : 2;
+    }
+
+    static final class Snapshot {
+        private final Map<String, StaffSuggestion> suggestions = new ConcurrentHashMap<>();
+        private final Map<String, Set<String>> wordsById = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<String, Set<String>> idsByWord = new ConcurrentSkipListMap<>();
+        private final Map<String, Set<String>> wordsByPair = new ConcurrentHashMap<>();
+
+        synchronized void put(StaffSuggestion suggestion) {
+            remove(suggestion.getId());
+            Set<String> words = words(suggestion);
+            for (String word : words) {
+                idsByWord.computeIfAbsent(word, key -> {
+                    pairs(key).forEach(pair -> wordsByPair.computeIfAbsent(pair, p -> ConcurrentHashMap.newKeySet()).add(key));
+                    return ConcurrentHashMap.newKeySet();
+                }).add(suggestion.getId());
+            }
+            wordsById.put(suggestion.getId(), words);
+            suggestions.put(suggestion.getId(), suggestion);
+        }
+
+        synchronized void remove(String employeeId) {
+            suggestions.remove(employeeId);
+            Set<String> words = wordsById.remove(employeeId);
+            if (words == null) {
+                return;
+            }
+            for (String word : words) {
+                Set<String> ids = idsByWord.get(word);
+                if (ids != null && ids.remove(employeeId) && ids.isEmpty()) {
+                    idsByWord.remove(word);
+                    pairs(word).forEach(pair -> {
+                        Set<String> sharing = wordsByPair.get(pair);
+                        if (sharing != null) {
+                            sharing.remove(word);
+                        }
+                    });
+                }
+            }
+        }
+
+        // Reads run without the lock; a search racing a save may see the employee under old or new words.
+        Map<String, Integer> match(String term, int limit) {
+            Map<String, Integer> scores = new HashMap<>();
+            int scanned = 0;
+            for (Map.Entry<String, Set<String>> entry : idsByWord.subMap(term, true, term + Character.MAX_VALUE, true).entrySet()) {
+                int score = entry.getKey().equals(term) ? EXACT : PREFIX;
+                entry.getValue().forEach(id -> scores.merge(id, score, Math::max));
+                if (++scanned >= MAX_WORDS_PER_TERM || scores.size() >= MAX_MATCHES_PER_TERM) {
+                    return scores;
+                }
+            }
+            if (term.length() < 3 || scores.size() >= limit) {
+                return scores;
+            }
+            int maxEdits = maxEdits(term);
+            Set<String> candidates = new LinkedHashSet<>();
+            for (String pair : pairs(term)) {
+                candidates.addAll(wordsByPair.getOrDefault(pair, Collections.emptySet()));
+            }
+            candidates.stream()
+                    .filter(word -> word.length() >= term.length() - maxEdits)
+                    .limit(MAX_WORDS_PER_TERM)
+                    .filter(word -> prefixDistance(term, word) <= maxEdits)
+                    .takeWhile(word -> scores.size() < MAX_MATCHES_PER_TERM)
+                    .forEach(word -> idsByWord.getOrDefault(word, Collections.emptySet())
+                            .forEach(id -> scores.merge(id, FUZZY, Math::max)));
+            return scores;
+        }
+
+        /**
+         * Scores one employee against a term the way match() would, from the employee's own words, or 0 if none match.
+         */
+        int score(String employeeId, String term) {
+            Set<String> words = wordsById.get(employeeId);
+            if (words == null) {
+                return 0;
+            }
+            int best = 0;
+            for (String word : words) {
+                if (word.equals(term)) {
+                    return EXACT;
+                }
+                if (word.startsWith(term)) {
+                    best = PREFIX;
+                } else if (best == 0 && term.length() >= 3 && word.length() >= term.length() - maxEdits(term)
+                        && !Collections.disjoint(pairs(term), pairs(word)) && prefixDistance(term, word) <= maxEdits(term)) {
+                    best = FUZZY;
+                }
+            }
+            return best;
+        }
+    }
+}
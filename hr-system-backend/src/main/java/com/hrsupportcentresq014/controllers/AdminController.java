@@ -6,7 +6,11 @@ import com.hrsupportcentresq014.dtos.request.AddRoleRequest;
 import com.hrsupportcentresq014.dtos.request.AdminRequest;
 import com.hrsupportcentresq014.dtos.response.AdminResponse;
 import com.hrsupportcentresq014.dtos.response.CreateHrResponseDTO;
+import com.hrsupportcentresq014.dtos.response.DependencyStatus;
+import com.hrsupportcentresq014.dtos.response.SlowQueryResponse;
 import com.hrsupportcentresq014.exceptions.UserAlreadyExistsException;
+import com.hrsupportcentresq014.metrics.SlowQueryLog;
+import com.hrsupportcentresq014.resilience.DependencyGuard;
 import com.hrsupportcentresq014.services.EmployeeService;
 import com.hrsupportcentresq014.services.RoleService;
 import com.hrsupportcentresq014.services.UserService;
@@ -18,6 +22,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.access.prepost.PreAuthorize;
 
+import java.util.List;
+
 /**
  * This AdminController class manages administrative functionalities within the HR Support Centre system.
  * It handles requests related to user registration, role management, and permission assignment.
@@ -26,6 +32,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
  * - Allows registration of admin users and HR staff members.
  * - Supports adding roles and assigning permissions to roles.
  * - Utilizes Spring Security annotations for authorization checks.
+ * - Reports the circuit breaker state and call counters of each remote dependency.
+ * - Lists the slow MongoDB queries with their explain plans, and clears the list.
  *
  * If I were to solve this problem again:
  * - I would maintain the use of Spring Security for role-based access control, as it provides a robust framework for managing permissions.
@@ -45,6 +53,8 @@ public class AdminController {
     private final UserService userService;
     private final RoleService roleService;
     private final EmployeeService employeeService;
+    private final List<DependencyGuard> dependencyGuards;
+    private final SlowQueryLog slowQueryLog;
     @PostMapping(name = "RegisterAdmin", value = "/register")
     public ResponseEntity<AdminResponse> registerAdmin(@Valid @RequestBody AdminRequest adminRequest){
         log.info("Registering Admin with payload {}", adminRequest);
@@ -67,4 +77,23 @@ public class AdminController {
     public ResponseEntity<CreateHrResponseDTO> createHr(@RequestBody CreateHrResponseDTO hrDTO) throws UserAlreadyExistsException {
         return new ResponseEntity<>(employeeService.createHr(hrDTO), HttpStatus.CREATED);
     }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/dependencies")
+    public ResponseEntity<List<DependencyStatus>> dependencies() {
+        return ResponseEntity.ok(dependencyGuards.stream().map(DependencyGuard::status).toList());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/slow-queries")
+    public ResponseEntity<List<SlowQueryResponse>> slowQueries() {
+        return ResponseEntity.ok(slowQueryLog.list());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/slow-queries")
+    public ResponseEntity<Void> clearSlowQueries() {
+        slowQueryLog.clear();
+        return ResponseEntity.noContent().build();
+    }
 }
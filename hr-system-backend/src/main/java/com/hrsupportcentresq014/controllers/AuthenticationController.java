@@ -2,7 +2,9 @@ package com.hrsupportcentresq014.controllers;
 
 import com.hrsupportcentresq014.dtos.request.AuthenticationRequest;
 import com.hrsupportcentresq014.dtos.response.AuthenticationResponse;
+import com.hrsupportcentresq014.security_config.RateLimiter;
 import com.hrsupportcentresq014.services.TokenService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +17,8 @@ import org.springframework.web.bind.annotation.*;
  * Key Features:
  * - Provides an endpoint for user login, generating authentication tokens upon successful authentication.
  * - Utilizes Spring Security for handling authentication logic and generating tokens.
+ * - Returns a compact login payload; expand=profile adds the full profile to it.
+ * - Rate limits login attempts per client address and per email before any password is checked.
  *
  * If I were to solve this problem again:
  * - I would ensure proper validation and sanitization of user input to prevent security vulnerabilities such as SQL injection or XSS attacks.
@@ -31,9 +35,13 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api")
 public class AuthenticationController {
     private final TokenService tokenService;
+    private final RateLimiter rateLimiter;
 
     @PostMapping("/login")
-    public ResponseEntity<AuthenticationResponse> login(@NonNull @RequestBody AuthenticationRequest request){
-        return ResponseEntity.ok(tokenService.authenticateUser(request));
+    public ResponseEntity<AuthenticationResponse> login(@NonNull @RequestBody AuthenticationRequest request,
+                                                        @RequestParam(value = "expand", required = false) String expand,
+                                                        HttpServletRequest servletRequest){
+        rateLimiter.checkLogin(servletRequest.getRemoteAddr(), request.getEmail());
+        return ResponseEntity.ok(tokenService.authenticateUser(request, "profile".equalsIgnoreCase(expand)));
     }
 }
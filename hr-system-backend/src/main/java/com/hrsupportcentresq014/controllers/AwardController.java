@@ -1,20 +1,31 @@
 package com.hrsupportcentresq014.controllers;
 
+import com.hrsupportcentresq014.cache.EntityTagCache;
 import com.hrsupportcentresq014.dtos.request.AwardRequestDTO;
 import com.hrsupportcentresq014.dtos.response.AllAwardsResponseDTO;
 import com.hrsupportcentresq014.dtos.response.AwardResponseDTO;
+import com.hrsupportcentresq014.dtos.response.LeaderboardResponse;
+import com.hrsupportcentresq014.dtos.response.NomineeResponse;
+import com.hrsupportcentresq014.entities.Award;
+import com.hrsupportcentresq014.entities.Nominee;
 import com.hrsupportcentresq014.services.AwardService;
+import com.hrsupportcentresq014.services.LeaderboardService;
+import com.hrsupportcentresq014.utils.ETags;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.nio.file.AccessDeniedException;
 import java.util.Collection;
+import java.util.Objects;
 
 
 
@@ -24,7 +35,9 @@ import java.util.Collection;
  *
  * Key Features:
  * - Supports the creation of new awards by authorized users.
- * - Allows users to retrieve awards by a specific year and fetch all awards paginated.
+ * - Allows users to retrieve awards by a specific year and fetch all awards paginated, with nominee counts.
+ * - Pages through the nominees of an award, optionally only the approved or unapproved ones.
+ * - Shows the live leaderboard of an award and streams its rank changes as Server-Sent Events.
  * - Implements authorization checks to ensure only authorized users can perform certain actions.
  *
  * If I were to solve this problem again:
@@ -39,6 +52,8 @@ import java.util.Collection;
 @RequestMapping("/api/awards")
 public class AwardController {
     private final AwardService awardsService;
+    private final EntityTagCache entityTagCache;
+    private final LeaderboardService leaderboardService;
 
     @PostMapping("/register")
     public ResponseEntity<String> createAward(@RequestBody AwardRequestDTO awardRequestDTO) throws AccessDeniedException {
@@ -60,16 +75,52 @@ public class AwardController {
     @GetMapping("/{year}")
     public ResponseEntity<Page<AwardResponseDTO>> getAwardByYear(@PathVariable("year") String year,
                                                                  @RequestParam(value = "page", defaultValue = "0") int page,
-                                                                 @RequestParam(value = "size", defaultValue = "10") int size) {
+                                                                 @RequestParam(value = "size", defaultValue = "10") int size,
+                                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String eTag = ETags.fromStamp(entityTagCache.collectionStamp(Award.class), "year-" + Objects.hash(year, page, size));
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         var response = awardsService.getAwardByYear(year, page, size);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(eTag).body(response);
     }
 
     @GetMapping("/get-all-awards")
     public ResponseEntity<AllAwardsResponseDTO> allRewards(@RequestParam(defaultValue = "0") int pageNo
-            , @RequestParam(defaultValue="5") int pageSize){
+            , @RequestParam(defaultValue="5") int pageSize
+            , @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        // The summaries carry nominee counts, so a nomination changes the tag as well.
+        String stamp = entityTagCache.collectionStamp(Award.class) + "." + entityTagCache.collectionStamp(Nominee.class);
+        String eTag = ETags.fromStamp(stamp, "all-" + Objects.hash(pageNo, pageSize));
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(awardsService.getAllRewards(pageNo, pageSize));
+    }
+
+    @GetMapping("/{awardId}/nominees")
+    public ResponseEntity<Page<NomineeResponse>> nominees(@PathVariable String awardId,
+                                                          @RequestParam(value = "approved", required = false) Boolean approved,
+                                                          @RequestParam(value = "page", defaultValue = "0") int page,
+                                                          @RequestParam(value = "size", defaultValue = "20") int size,
+                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String eTag = ETags.fromStamp(entityTagCache.collectionStamp(Nominee.class),
+                "nominees-" + Objects.hash(awardId, approved, page, size));
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(awardsService.getNominees(awardId, approved, page, size));
+    }
+
+    @GetMapping("/{awardId}/leaderboard")
+    public ResponseEntity<LeaderboardResponse> leaderboard(@PathVariable String awardId,
+                                                           @RequestParam(value = "size", defaultValue = "10") int size) {
+        return ResponseEntity.ok(leaderboardService.getLeaderboard(awardId, size));
+    }
 
-        return ResponseEntity.ok(awardsService.getAllRewards(pageNo, pageSize));
+    @GetMapping(value = "/{awardId}/leaderboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter leaderboardStream(@PathVariable String awardId) {
+        return leaderboardService.streamRankChanges(awardId);
     }
 
 
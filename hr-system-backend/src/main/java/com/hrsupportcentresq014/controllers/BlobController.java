@@ -0,0 +1,59 @@
+package com.hrsupportcentresq014.controllers;
+
+import com.hrsupportcentresq014.entities.StoredBlob;
+import com.hrsupportcentresq014.repositories.StoredBlobRepository;
+import com.hrsupportcentresq014.services.serviceImpl.LocalBlobStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Serves files held by the LocalBlobStore. Keys are content hashes, so a response never changes and
+ * can be cached by the browser for as long as it likes.
+ *
+ * On Tomcat's NIO connector the file is handed over through the sendfile request attributes, and the
+ * connector writes it to the socket with FileChannel.transferTo once the handler returns, so the bytes
+ * never pass through the JVM. Other containers get a plain stream copy.
+ */
+
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/blobs")
+@ConditionalOnProperty(name = "application.blob-store.type", havingValue = "local")
+public class BlobController {
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalBlobStore localBlobStore;
+    private final StoredBlobRepository storedBlobRepository;
+
+    @GetMapping("/{key}")
+    public void download(@PathVariable String key, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = localBlobStore.locate(key);
+        long size = Files.size(file);
+        String contentType = storedBlobRepository.findById(key)
+                .map(StoredBlob::getContentType)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentType(contentType);
+        response.setContentLengthLong(size);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable");
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+        } else {
+            Files.copy(file, response.getOutputStream());
+        }
+    }
+}
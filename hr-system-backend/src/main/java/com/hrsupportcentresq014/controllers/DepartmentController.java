@@ -0,0 +1,34 @@
+package com.hrsupportcentresq014.controllers;
+
+import com.hrsupportcentresq014.dtos.response.DepartmentRosterResponse;
+import com.hrsupportcentresq014.dtos.response.TeamRosterResponse;
+import com.hrsupportcentresq014.services.DepartmentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * The DepartmentController class exposes department and team rosters.
+ *
+ * Key Features:
+ * - Returns a department with its lead, members and teams in one response.
+ * - Returns a team with its leader and members in one response.
+ */
+
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/departments")
+public class DepartmentController {
+    private final DepartmentService departmentService;
+
+    @GetMapping("/{departmentId}/roster")
+    public ResponseEntity<DepartmentRosterResponse> getDepartmentRoster(@PathVariable String departmentId) {
+        return ResponseEntity.ok(departmentService.getDepartmentRoster(departmentId));
+    }
+
+    @GetMapping("/teams/{teamId}/roster")
+    public ResponseEntity<TeamRosterResponse> getTeamRoster(@PathVariable String teamId) {
+        return ResponseEntity.ok(departmentService.getTeamRoster(teamId));
+    }
+}
@@ -1,22 +1,34 @@
 package com.hrsupportcentresq014.controllers;
 
+import com.hrsupportcentresq014.cache.EntityTagCache;
 import com.hrsupportcentresq014.dtos.request.ChangePasswordRequest;
 import com.hrsupportcentresq014.dtos.request.EmployeeProfileRequest;
+import com.hrsupportcentresq014.dtos.request.NominationApprovalRequest;
+import com.hrsupportcentresq014.dtos.request.NominationRequest;
 import com.hrsupportcentresq014.dtos.response.CreateHrResponseDTO;
 import com.hrsupportcentresq014.dtos.response.EmployeeProfileResponse;
 import com.hrsupportcentresq014.dtos.response.EmployeeViewProfileResponse;
+import com.hrsupportcentresq014.dtos.response.StaffSuggestion;
+import com.hrsupportcentresq014.dtos.response.UploadStatusResponse;
+import com.hrsupportcentresq014.exceptions.DuplicateProcessException;
 import com.hrsupportcentresq014.exceptions.UserAlreadyExistsException;
 import com.hrsupportcentresq014.services.EmployeeService;
+import com.hrsupportcentresq014.utils.ETags;
 import jakarta.validation.Valid;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 
 /**
  * The EmployeeController class manages employee-related functionalities within the HR Support Centre system.
@@ -26,13 +38,14 @@ import java.io.IOException;
  * - Supports updating employee profiles, including personal information and profile picture.
  * - Allows employees to upload their resumes and view their profiles.
  * - Facilitates password changes for authenticated users.
+ * - Offers typeahead search over colleagues' names, emails and positions.
+ * - Lets staff nominate colleagues for this year's awards and HR approve the nominations.
  *
  * If I were to solve this problem again:
  * - I would enhance security measures, such as implementing CSRF protection and ensuring secure password storage practices.
  * - I would optimize file upload mechanisms to handle large files efficiently and prevent resource exhaustion.
  * - I would consider implementing rate limiting or CAPTCHA verification for sensitive operations to prevent abuse.
-    * - I would explore integrating additional authentication mechanisms such as multi-factor authentication for enhanced security.
-    */
+ * - I would explore integrating additional authentication mechanisms such as multi-factor authentication for enhanced security.
  */
 
 
@@ -41,11 +54,16 @@ import java.io.IOException;
 @RequestMapping("/api/v1/staff")
 @Log4j2
 public class EmployeeController {
+    // A profile belongs to whoever is signed in, so only the browser may keep it and must revalidate each time.
+    private static final CacheControl PROFILE_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final EmployeeService employeeService;
+    private final EntityTagCache entityTagCache;
 
     @Autowired
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, EntityTagCache entityTagCache) {
         this.employeeService = employeeService;
+        this.entityTagCache = entityTagCache;
     }
 
     @PutMapping("/profile")
@@ -56,23 +74,89 @@ public class EmployeeController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PatchMapping("/profile")
+    public ResponseEntity<EmployeeViewProfileResponse> patchEmployeeProfile(@RequestBody Map<String, Object> changes,
+                                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        EmployeeViewProfileResponse response = employeeService.patchEmployeeProfile(changes, ETags.parseVersion(ifMatch));
+        return ResponseEntity.ok()
+                .cacheControl(PROFILE_CACHE_CONTROL)
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .eTag(ETags.fromVersion(response.getId(), response.getVersion()))
+                .body(response);
+    }
+
     @PostMapping("/add-pic")
     public ResponseEntity<String> uploadProfilePic(@RequestParam("image") MultipartFile multipartFile) throws IOException {
         String imageURL = employeeService.uploadImage(multipartFile);
         return ResponseEntity.ok(imageURL);
     }
 
+    @PostMapping("/add-pic/async")
+    public ResponseEntity<UploadStatusResponse> uploadProfilePicAsync(@RequestParam("image") MultipartFile multipartFile) {
+        return new ResponseEntity<>(employeeService.uploadImageAsync(multipartFile), HttpStatus.ACCEPTED);
+    }
+
     @PostMapping("/add-resume")
         public ResponseEntity<String> uploadResume(@RequestParam("resume") MultipartFile multipartFile){
         String resumeUrl = employeeService.uploadResume(multipartFile);
         return ResponseEntity.ok(resumeUrl);
         }
 
+    @PostMapping("/add-resume/async")
+    public ResponseEntity<UploadStatusResponse> uploadResumeAsync(@RequestParam("resume") MultipartFile multipartFile) {
+        return new ResponseEntity<>(employeeService.uploadResumeAsync(multipartFile), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<UploadStatusResponse> uploadStatus(@PathVariable String uploadId) {
+        return ResponseEntity.ok(employeeService.getUploadStatus(uploadId));
+    }
+
     @GetMapping("/viewProfile")
-    public ResponseEntity<EmployeeViewProfileResponse> viewProfile(){
+    public ResponseEntity<EmployeeViewProfileResponse> viewProfile(Authentication auth,
+                                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        String cachedTag = entityTagCache.employeeTag(auth.getName());
+        if (cachedTag != null && ETags.matches(ifNoneMatch, cachedTag)) {
+            return notModified(cachedTag);
+        }
         EmployeeViewProfileResponse employeeViewProfileResponse = employeeService.viewProfile();
-        return ResponseEntity.ok(employeeViewProfileResponse);
+        entityTagCache.rememberEmployee(auth.getName(), employeeViewProfileResponse.getId(), employeeViewProfileResponse.getVersion());
+        String eTag = ETags.fromVersion(employeeViewProfileResponse.getId(), employeeViewProfileResponse.getVersion());
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
+        return ResponseEntity.ok()
+                .cacheControl(PROFILE_CACHE_CONTROL)
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .eTag(eTag)
+                .body(employeeViewProfileResponse);
+    }
+
+    private ResponseEntity<EmployeeViewProfileResponse> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(PROFILE_CACHE_CONTROL)
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .eTag(eTag)
+                .build();
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<StaffSuggestion>> searchStaff(@RequestParam("q") String query,
+                                                             @RequestParam(value = "limit", defaultValue = "10", required = false) int limit) {
+        return ResponseEntity.ok(employeeService.searchStaff(query, limit));
     }
+
+    @PostMapping("/nominate")
+    public ResponseEntity<String> nominate(@Valid @RequestBody NominationRequest request) throws DuplicateProcessException {
+        return new ResponseEntity<>(employeeService.nominate(request), HttpStatus.CREATED);
+    }
+
+    @PreAuthorize("hasAnyRole('HR', 'ADMIN')")
+    @PutMapping("/nominate/approve")
+    public ResponseEntity<String> approveNomination(@Valid @RequestBody NominationApprovalRequest request) throws DuplicateProcessException {
+        return ResponseEntity.ok(employeeService.approveNomination(request));
+    }
+
     @PutMapping("/change-password")
     public ResponseEntity<String> changePassword(@Valid @RequestBody ChangePasswordRequest changerPassword, Authentication auth) {
         return new ResponseEntity<>(employeeService.changePassword(changerPassword, auth), HttpStatus.OK);
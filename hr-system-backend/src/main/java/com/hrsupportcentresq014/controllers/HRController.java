@@ -6,23 +6,32 @@ import com.hrsupportcentresq014.dtos.request.JobPostingRequest;
 import com.hrsupportcentresq014.dtos.request.JobUpdateRequest;
 import com.hrsupportcentresq014.dtos.response.CreateStaffResponse;
 import com.hrsupportcentresq014.dtos.response.JobPostingResponse;
+import com.hrsupportcentresq014.dtos.response.ResumeSearchResponse;
 import com.hrsupportcentresq014.dtos.response.ViewStaffResponse;
 import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.enums.StaffAttribute;
 import com.hrsupportcentresq014.exceptions.EmployeeNotFoundException;
 import com.hrsupportcentresq014.exceptions.UnauthorizedUserException;
 import com.hrsupportcentresq014.exceptions.UserAlreadyExistsException;
 import com.hrsupportcentresq014.repositories.EmployeeRepository;
 import com.hrsupportcentresq014.repositories.RoleRepository;
 import com.hrsupportcentresq014.services.HrService;
+import com.hrsupportcentresq014.services.ResumeIndexService;
 import com.hrsupportcentresq014.utils.PaginationConstants;
 import jakarta.mail.MessagingException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * The HRController class manages HR-specific functionalities within the HR Support Centre system.
  * It handles operations such as registering new staff, creating job postings, and updating job statuses.
@@ -30,6 +39,7 @@ import org.springframework.web.bind.annotation.*;
  * Key Features:
  * - Supports HR staff in registering new employees and creating job postings.
  * - Allows HR staff to view all staff members and update job statuses.
+ * - Filters the staff directory by any combination of department, contract type, work location, position and role.
  * - Implements authorization checks to ensure only authorized HR users can perform certain actions.
  *
  * If I were to solve this problem again:
@@ -51,6 +61,7 @@ public class HRController {
   private final HrService hrService;
   private RoleRepository roleRepository;
   private final EmployeeRepository employeeRepository;
+  private final ResumeIndexService resumeIndexService;
 
 
 
@@ -78,10 +89,52 @@ public class HRController {
 
 
 
+  @PreAuthorize("hasAnyRole('HR', 'ADMIN')")
+  @GetMapping("/staff")
+  public ViewStaffResponse filterStaff(@RequestParam(value = "department", required = false) List<String> department,
+                                       @RequestParam(value = "contractType", required = false) List<String> contractType,
+                                       @RequestParam(value = "workLocation", required = false) List<String> workLocation,
+                                       @RequestParam(value = "position", required = false) List<String> position,
+                                       @RequestParam(value = "role", required = false) List<String> role,
+                                       @RequestParam(value = "pageNo", defaultValue = PaginationConstants.DEFAULT_PAGE_NUMBER, required = false) int pageNo,
+                                       @RequestParam(value = "pageSize", defaultValue = PaginationConstants.DEFAULT_PAGE_SIZE, required = false) int pageSize) {
+    return hrService.filterStaff(staffFilters(department, contractType, workLocation, position, role), pageNo, pageSize);
+  }
+
+  @PreAuthorize("hasAnyRole('HR', 'ADMIN')")
+  @GetMapping("/staff/count")
+  public ResponseEntity<Long> countStaff(@RequestParam(value = "department", required = false) List<String> department,
+                                         @RequestParam(value = "contractType", required = false) List<String> contractType,
+                                         @RequestParam(value = "workLocation", required = false) List<String> workLocation,
+                                         @RequestParam(value = "position", required = false) List<String> position,
+                                         @RequestParam(value = "role", required = false) List<String> role) {
+    return ResponseEntity.ok(hrService.countStaff(staffFilters(department, contractType, workLocation, position, role)));
+  }
+
   @PutMapping("/jobs/update-job")
   public ResponseEntity<JobPostingResponse> changeJobStatus(@Valid @RequestBody JobUpdateRequest request) throws EmployeeNotFoundException {
     log.info("Changing job status");
     JobPostingResponse result = hrService.changeJobStatus(request);
     return new ResponseEntity<>(result, HttpStatus.OK);
   }
+
+  @PreAuthorize("hasAnyRole('HR', 'ADMIN')")
+  @GetMapping("/resumes/search")
+  public ResponseEntity<Page<ResumeSearchResponse>> searchResumes(@RequestParam("q") String query,
+                                                                  @RequestParam(value = "pageNo", defaultValue = PaginationConstants.DEFAULT_PAGE_NUMBER, required = false) int pageNo,
+                                                                  @RequestParam(value = "pageSize", defaultValue = PaginationConstants.DEFAULT_PAGE_SIZE, required = false) int pageSize) {
+    return ResponseEntity.ok(resumeIndexService.search(query, pageNo, pageSize));
+  }
+
+  private Map<StaffAttribute, List<String>> staffFilters(List<String> department, List<String> contractType,
+                                                         List<String> workLocation, List<String> position, List<String> role) {
+    Map<StaffAttribute, List<String>> filters = new EnumMap<>(StaffAttribute.class);
+    filters.put(StaffAttribute.DEPARTMENT, department);
+    filters.put(StaffAttribute.CONTRACT_TYPE, contractType);
+    filters.put(StaffAttribute.WORK_LOCATION, workLocation);
+    filters.put(StaffAttribute.POSITION, position);
+    filters.put(StaffAttribute.ROLE, role);
+    filters.values().removeIf(values -> values == null || values.isEmpty());
+    return filters;
+  }
 }
@@ -0,0 +1,80 @@
+package com.hrsupportcentresq014.controllers;
+
+import com.hrsupportcentresq014.dtos.response.HeadcountResponse;
+import com.hrsupportcentresq014.enums.HeadcountDimension;
+import com.hrsupportcentresq014.services.HeadcountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The HeadcountController class serves headcount figures for HR dashboards.
+ *
+ * Key Features:
+ * - Returns the current headcount grouped by any of department, contract type, work location and position.
+ * - Returns daily headcount snapshots over a date range for trend charts.
+ * - Both are read from the materialized headcount, never from the employee collection.
+ */
+
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/hr/headcount")
+@PreAuthorize("hasAnyRole('HR', 'ADMIN')")
+public class HeadcountController {
+    private final HeadcountService headcountService;
+
+    @GetMapping
+    public ResponseEntity<HeadcountResponse> getHeadcount(
+            @RequestParam(value = "groupBy", required = false) List<HeadcountDimension> groupBy,
+            @RequestParam(value = "department", required = false) String department,
+            @RequestParam(value = "contractType", required = false) String contractType,
+            @RequestParam(value = "workLocation", required = false) String workLocation,
+            @RequestParam(value = "position", required = false) String position) {
+        return ResponseEntity.ok(headcountService.getHeadcount(dimensions(groupBy),
+                filters(department, contractType, workLocation, position)));
+    }
+
+    @GetMapping("/trend")
+    public ResponseEntity<List<HeadcountResponse>> getTrend(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "groupBy", required = false) List<HeadcountDimension> groupBy,
+            @RequestParam(value = "department", required = false) String department,
+            @RequestParam(value = "contractType", required = false) String contractType,
+            @RequestParam(value = "workLocation", required = false) String workLocation,
+            @RequestParam(value = "position", required = false) String position) {
+        return ResponseEntity.ok(headcountService.getTrend(from, to, dimensions(groupBy),
+                filters(department, contractType, workLocation, position)));
+    }
+
+    private Set<HeadcountDimension> dimensions(List<HeadcountDimension> groupBy) {
+        return groupBy == null || groupBy.isEmpty() ? EnumSet.noneOf(HeadcountDimension.class) : EnumSet.copyOf(groupBy);
+    }
+
+    private Map<HeadcountDimension, String> filters(String department, String contractType, String workLocation, String position) {
+        Map<HeadcountDimension, String> filters = new EnumMap<>(HeadcountDimension.class);
+        if (department != null) {
+            filters.put(HeadcountDimension.DEPARTMENT, department);
+        }
+        if (contractType != null) {
+            filters.put(HeadcountDimension.CONTRACT_TYPE, contractType);
+        }
+        if (workLocation != null) {
+            filters.put(HeadcountDimension.WORK_LOCATION, workLocation);
+        }
+        if (position != null) {
+            filters.put(HeadcountDimension.POSITION, position);
+        }
+        return filters;
+    }
+}
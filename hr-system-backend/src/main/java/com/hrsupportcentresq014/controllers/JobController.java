@@ -1,19 +1,26 @@
 package com.hrsupportcentresq014.controllers;
 
+import com.hrsupportcentresq014.cache.EntityTagCache;
 import com.hrsupportcentresq014.dtos.response.JobSearchResponse;
+import com.hrsupportcentresq014.entities.Job;
 import com.hrsupportcentresq014.exceptions.NoJobsFoundException;
 import com.hrsupportcentresq014.services.JobService;
+import com.hrsupportcentresq014.utils.ETags;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.Objects;
 
-/*
- /**
+
+/**
  * The JobController class manages job-related operations within the HR Support Centre system.
  * It facilitates the filtering of job postings based on various criteria such as keywords, department, and sorting.
  *
@@ -29,8 +36,6 @@ import org.springframework.web.bind.annotation.*;
  * - I would explore integrating logging frameworks like Logback or Log4j for better monitoring and troubleshooting capabilities.
  */
 
- */
-
 
 @CrossOrigin(origins = "http://localhost:3000")
 @RestController
@@ -38,9 +43,11 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/v1/job")
 public class JobController {
     private JobService jobService;
+    private EntityTagCache entityTagCache;
     @Autowired
-    public JobController(JobService jobService) {
+    public JobController(JobService jobService, EntityTagCache entityTagCache) {
         this.jobService = jobService;
+        this.entityTagCache = entityTagCache;
     }
 
 
@@ -50,8 +57,15 @@ public class JobController {
             @RequestParam(name = "size", defaultValue = "6") Integer size,
             @RequestParam(value = "keywords", required = false) String keywords,
             @RequestParam(value = "filter", defaultValue = "newest") String filter,
-            @RequestParam(value = "department", required = false) String department) throws NoJobsFoundException {
+            @RequestParam(value = "department", required = false) String department,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws NoJobsFoundException {
+        // The "recent" filter is relative to today, so the date is part of the tag.
+        String eTag = ETags.fromStamp(entityTagCache.collectionStamp(Job.class),
+                Objects.hash(page, size, keywords, filter, department, LocalDate.now()) + "");
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         Pageable pageable = PageRequest.of(page, size);
-         return ResponseEntity.ok(jobService.filterJobs(keywords, filter, department, pageable));
+        return ResponseEntity.ok().eTag(eTag).body(jobService.filterJobs(keywords, filter, department, pageable));
     }
 }
@@ -0,0 +1,56 @@
+package com.hrsupportcentresq014.controllers;
+
+import com.hrsupportcentresq014.dtos.request.ManagerAssignmentRequest;
+import com.hrsupportcentresq014.dtos.response.OrgNodeResponse;
+import com.hrsupportcentresq014.dtos.response.SpanOfControlResponse;
+import com.hrsupportcentresq014.services.OrgTreeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * The OrgController class exposes the reporting lines of the organisation.
+ *
+ * Key Features:
+ * - Lists an employee's direct or indirect reports, paginated.
+ * - Returns an employee's reporting chain and span of control.
+ * - Allows HR and admins to change who an employee reports to.
+ */
+
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/org")
+public class OrgController {
+    private final OrgTreeService orgTreeService;
+
+    @GetMapping("/{employeeId}/reports")
+    public ResponseEntity<Page<OrgNodeResponse>> getReports(@PathVariable String employeeId,
+                                                            @RequestParam(value = "indirect", defaultValue = "false") boolean indirect,
+                                                            @RequestParam(value = "page", defaultValue = "0") int page,
+                                                            @RequestParam(value = "size", defaultValue = "50") int size) {
+        return ResponseEntity.ok(orgTreeService.getReports(employeeId, indirect, page, size));
+    }
+
+    @GetMapping("/{employeeId}/chain")
+    public ResponseEntity<List<OrgNodeResponse>> getReportingChain(@PathVariable String employeeId) {
+        return ResponseEntity.ok(orgTreeService.getReportingChain(employeeId));
+    }
+
+    @GetMapping("/{employeeId}/span")
+    public ResponseEntity<SpanOfControlResponse> getSpanOfControl(@PathVariable String employeeId) {
+        return ResponseEntity.ok(orgTreeService.getSpanOfControl(employeeId));
+    }
+
+    @PutMapping("/{employeeId}/manager")
+    @PreAuthorize("hasAnyRole('HR', 'ADMIN')")
+    public ResponseEntity<Void> assignManager(@PathVariable String employeeId,
+                                              @RequestBody ManagerAssignmentRequest request) {
+        orgTreeService.assignManager(employeeId, request.getManagerId());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,8 +1,9 @@
 package com.hrsupportcentresq014.controllers;
 
 import com.hrsupportcentresq014.dtos.request.PasswordResetRequest;
+import com.hrsupportcentresq014.security_config.RateLimiter;
 import com.hrsupportcentresq014.services.PasswordResetRequestService;
-import jakarta.mail.MessagingException;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
  * Key Features:
  * - Provides endpoints for initiating password reset requests and completing password reset actions.
  * - Utilizes email notifications to facilitate the password reset process.
+ * - Rate limits both endpoints per client address, and reset links per email, to protect the mail quota.
  *
  * If I were to solve this problem again:
  * - I would enhance security measures, such as implementing email verification for password reset requests to prevent misuse.
@@ -27,19 +29,25 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/password")
 public class PasswordResetRequestController {
     private final PasswordResetRequestService resetRequestService;
+    private final RateLimiter rateLimiter;
 
-    public PasswordResetRequestController(PasswordResetRequestService resetRequestService) {
+    public PasswordResetRequestController(PasswordResetRequestService resetRequestService, RateLimiter rateLimiter) {
         this.resetRequestService = resetRequestService;
+        this.rateLimiter = rateLimiter;
     }
 
     @PostMapping("/forgot-password/")
-    public ResponseEntity<String> resetPassword(@RequestBody PasswordResetRequest email) throws MessagingException {
+    public ResponseEntity<String> resetPassword(@RequestBody PasswordResetRequest email,
+                                                HttpServletRequest servletRequest) {
+        rateLimiter.checkPasswordReset(servletRequest.getRemoteAddr(), email.getEmail());
         return resetRequestService.resetPassword(email.getEmail());
     }
 
     @PostMapping("/password-reset-confirmation")
     public ResponseEntity<String> confirmPasswordReset(@RequestParam("resetToken") String resetToken,
-                                                       @RequestBody PasswordResetRequest newPassword){
+                                                       @RequestBody PasswordResetRequest newPassword,
+                                                       HttpServletRequest servletRequest){
+        rateLimiter.checkPasswordReset(servletRequest.getRemoteAddr(), null);
         return resetRequestService.completePasswordReset(resetToken, newPassword.getPassword());
     }
 }
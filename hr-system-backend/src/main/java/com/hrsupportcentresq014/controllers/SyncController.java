@@ -0,0 +1,56 @@
+package com.hrsupportcentresq014.controllers;
+
+import com.hrsupportcentresq014.dtos.response.AwardResponseDTO;
+import com.hrsupportcentresq014.dtos.response.JobPostingResponse;
+import com.hrsupportcentresq014.dtos.response.SyncResponse;
+import com.hrsupportcentresq014.dtos.response.ViewStaffResponseDTO;
+import com.hrsupportcentresq014.services.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * The SyncController class lets clients keep local copies of the staff, job and award lists current.
+ *
+ * Key Features:
+ * - Returns the records changed and the ids deleted since the watermark of the previous call, plus a new watermark.
+ * - Hands out a cursor with every full batch, so records sharing a timestamp are neither skipped nor repeated forever.
+ * - Without since it returns everything in batches, which is how a client starts or restarts syncing.
+ */
+
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/sync")
+public class SyncController {
+    private final SyncService syncService;
+
+    @PreAuthorize("hasAnyRole('HR', 'ADMIN')")
+    @GetMapping("/staff")
+    public ResponseEntity<SyncResponse<ViewStaffResponseDTO>> syncStaff(
+            @RequestParam(value = "since", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "500", required = false) int limit) {
+        return ResponseEntity.ok(syncService.staffChanges(since, after, limit));
+    }
+
+    @GetMapping("/jobs")
+    public ResponseEntity<SyncResponse<JobPostingResponse>> syncJobs(
+            @RequestParam(value = "since", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "500", required = false) int limit) {
+        return ResponseEntity.ok(syncService.jobChanges(since, after, limit));
+    }
+
+    @GetMapping("/awards")
+    public ResponseEntity<SyncResponse<AwardResponseDTO>> syncAwards(
+            @RequestParam(value = "since", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "500", required = false) int limit) {
+        return ResponseEntity.ok(syncService.awardChanges(since, after, limit));
+    }
+}
@@ -0,0 +1,69 @@
+package com.hrsupportcentresq014.data_seeder;
+
+import com.hrsupportcentresq014.entities.Department;
+import com.hrsupportcentresq014.entities.Team;
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+/**
+ * Departments and teams used to store their members and leads as DBRefs. They are now plain id
+ * references, so rewrite any DBRef left in those collections to the id it points at.
+ */
+@RequiredArgsConstructor
+@Configuration
+@Slf4j
+public class DepartmentReferenceBackfill implements CommandLineRunner {
+    private static final List<String> DEPARTMENT_REFERENCES = List.of("departmentLead", "listOfEmployee", "listOfTeam");
+    private static final List<String> TEAM_REFERENCES = List.of("teamLeader", "listOfEmployee");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(String... args) {
+        backfill(mongoTemplate.getCollection(mongoTemplate.getCollectionName(Department.class)), DEPARTMENT_REFERENCES);
+        backfill(mongoTemplate.getCollection(mongoTemplate.getCollectionName(Team.class)), TEAM_REFERENCES);
+    }
+
+    private void backfill(MongoCollection<Document> collection, List<String> fields) {
+        int updated = 0;
+        for (Document document : collection.find()) {
+            Document changes = new Document();
+            for (String field : fields) {
+                Object value = document.get(field);
+                if (isReference(value)) {
+                    changes.put(field, referencedId(value));
+                } else if (value instanceof List<?> list && list.stream().anyMatch(this::isReference)) {
+                    changes.put(field, list.stream().map(this::referencedId).toList());
+                }
+            }
+            if (!changes.isEmpty()) {
+                collection.updateOne(Filters.eq("_id", document.get("_id")), new Document("$set", changes));
+                updated++;
+            }
+        }
+        if (updated > 0) {
+            log.info("Replaced DBRefs with ids in {} {} documents", updated, collection.getNamespace().getCollectionName());
+        }
+    }
+
+    // Depending on the codec, a DBRef is read either as a DBRef or as a document with $ref and $id.
+    private boolean isReference(Object value) {
+        return value instanceof DBRef || value instanceof Document document && document.containsKey("$ref");
+    }
+
+    private Object referencedId(Object value) {
+        if (value instanceof DBRef ref) {
+            return ref.getId();
+        }
+        return value instanceof Document document && document.containsKey("$ref") ? document.get("$id") : value;
+    }
+}
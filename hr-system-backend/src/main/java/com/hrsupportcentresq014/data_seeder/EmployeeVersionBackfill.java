@@ -0,0 +1,33 @@
+package com.hrsupportcentresq014.data_seeder;
+
+import com.hrsupportcentresq014.entities.Employee;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Employee documents written before Employee.version existed have no version field, and Spring Data
+ * would treat them as new on the next save. Give them a starting version.
+ */
+@RequiredArgsConstructor
+@Configuration
+@Slf4j
+public class EmployeeVersionBackfill implements CommandLineRunner {
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(String... args) {
+        long updated = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("version").exists(false)),
+                new Update().set("version", 0L),
+                Employee.class).getModifiedCount();
+        if (updated > 0) {
+            log.info("Set initial version on {} employee documents", updated);
+        }
+    }
+}
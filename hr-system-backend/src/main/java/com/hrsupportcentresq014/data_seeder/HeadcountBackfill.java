@@ -0,0 +1,59 @@
+package com.hrsupportcentresq014.data_seeder;
+
+import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.entities.HeadcountBucket;
+import com.hrsupportcentresq014.services.HeadcountService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Counts employees that are not in the materialized headcount yet, such as those written before it existed.
+ * Each group is tagged with its bucket key first and the bucket is raised by the number actually tagged,
+ * so an employee is never counted twice.
+ */
+@RequiredArgsConstructor
+@Configuration
+@Slf4j
+public class HeadcountBackfill implements CommandLineRunner {
+    private final MongoTemplate mongoTemplate;
+    private final HeadcountService headcountService;
+
+    @Override
+    public void run(String... args) {
+        Criteria uncounted = Criteria.where("headcountKey").exists(false);
+        Aggregation groups = Aggregation.newAggregation(
+                Aggregation.match(uncounted),
+                Aggregation.group("department", "contractType", "workLocation", "position"));
+        long counted = 0;
+        for (Document group : mongoTemplate.aggregate(groups, Employee.class, Document.class)) {
+            Document fields = group.get("_id", Document.class);
+            String department = fields.getString("department");
+            String contractType = fields.getString("contractType");
+            String workLocation = fields.getString("workLocation");
+            String position = fields.getString("position");
+            Query members = Query.query(Criteria.where("headcountKey").exists(false)
+                    .and("department").is(department)
+                    .and("contractType").is(contractType)
+                    .and("workLocation").is(workLocation)
+                    .and("position").is(position));
+            long tagged = mongoTemplate.updateMulti(members,
+                    new Update().set("headcountKey", HeadcountBucket.keyOf(department, contractType, workLocation, position)),
+                    Employee.class).getModifiedCount();
+            if (tagged > 0) {
+                headcountService.add(department, contractType, workLocation, position, tagged);
+                counted += tagged;
+            }
+        }
+        if (counted > 0) {
+            log.info("Added {} existing employees to the headcount", counted);
+        }
+    }
+}
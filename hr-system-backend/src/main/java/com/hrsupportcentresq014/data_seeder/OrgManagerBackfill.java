@@ -0,0 +1,45 @@
+package com.hrsupportcentresq014.data_seeder;
+
+import com.hrsupportcentresq014.entities.Employee;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+/**
+ * Employees written before Employee.managerId existed only name their manager in the free-text reportTo
+ * field. Where that text is the email of an existing employee, record that employee's id as the manager.
+ */
+@RequiredArgsConstructor
+@Configuration
+@Slf4j
+public class OrgManagerBackfill implements CommandLineRunner {
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(String... args) {
+        Criteria unlinked = Criteria.where("managerId").exists(false).and("reportTo").nin(null, "");
+        List<String> reportTo = mongoTemplate.findDistinct(Query.query(unlinked), "reportTo", Employee.class, String.class);
+        if (reportTo.isEmpty()) {
+            return;
+        }
+        Query managersQuery = Query.query(Criteria.where("email").in(reportTo));
+        managersQuery.fields().include("email");
+        long updated = 0;
+        for (Employee manager : mongoTemplate.find(managersQuery, Employee.class)) {
+            updated += mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("managerId").exists(false).and("reportTo").is(manager.getEmail())),
+                    new Update().set("managerId", manager.getId()),
+                    Employee.class).getModifiedCount();
+        }
+        if (updated > 0) {
+            log.info("Linked {} employees to their manager from reportTo", updated);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.hrsupportcentresq014.dtos.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ManagerAssignmentRequest {
+    // Null removes the employee's manager.
+    private String managerId;
+}
@@ -1,6 +1,5 @@
 package com.hrsupportcentresq014.dtos.response;
 
-import com.hrsupportcentresq014.entities.Award;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,7 +12,7 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 public class AllAwardsResponseDTO {
-    private List<Award> awardList;
+    private List<AwardSummary> awardList;
     private Long totalElement;
     private int totalPage;
     private int currentPage;
@@ -0,0 +1,21 @@
+package com.hrsupportcentresq014.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthenticatedEmployee {
+    private String id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String role;
+    private String position;
+    private String department;
+    private String imageUrl;
+}
@@ -1,21 +1,23 @@
 package com.hrsupportcentresq014.dtos.response;
 
-import com.hrsupportcentresq014.entities.Employee;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.time.LocalDateTime;
 import java.util.Date;
 
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class AuthenticationResponse {
     private String token;
     private Date issuedAt;
     private Date expiredAt;
-    private Employee employee;
+    private AuthenticatedEmployee employee;
+    // Only filled when the login asks for it with expand=profile.
+    private EmployeeViewProfileResponse profile;
 }
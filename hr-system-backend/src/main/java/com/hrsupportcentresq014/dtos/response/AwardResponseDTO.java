@@ -16,6 +16,7 @@ import java.time.Year;
 public class AwardResponseDTO {
 
 
+    private String id;
     private String title;
     private String description;
     private int year;
@@ -0,0 +1,22 @@
+package com.hrsupportcentresq014.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AwardSummary {
+    private String id;
+    private String title;
+    private String description;
+    private int year;
+    private LocalDate date;
+    private long nomineeCount;
+    private long approvedNomineeCount;
+}
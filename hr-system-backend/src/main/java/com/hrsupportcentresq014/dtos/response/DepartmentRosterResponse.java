@@ -0,0 +1,23 @@
+package com.hrsupportcentresq014.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentRosterResponse {
+    private String id;
+    private String departmentName;
+    private RosterMember departmentLead;
+    @Builder.Default
+    private List<RosterMember> members = new ArrayList<>();
+    @Builder.Default
+    private List<TeamSummary> teams = new ArrayList<>();
+}
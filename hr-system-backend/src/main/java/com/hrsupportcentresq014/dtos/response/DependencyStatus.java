@@ -0,0 +1,26 @@
+package com.hrsupportcentresq014.dtos.response;
+
+import com.hrsupportcentresq014.enums.CircuitState;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DependencyStatus {
+    private String name;
+    private CircuitState state;
+    private double failureRate;
+    private int active;
+    private int maxConcurrent;
+    private long timeoutMillis;
+    private long calls;
+    private long successes;
+    private long failures;
+    private long timeouts;
+    private long rejected;
+    private long shortCircuited;
+}
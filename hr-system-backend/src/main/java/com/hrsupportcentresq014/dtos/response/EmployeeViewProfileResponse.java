@@ -4,6 +4,7 @@ package com.hrsupportcentresq014.dtos.response;
 import com.hrsupportcentresq014.entities.NextOfKin;
 import com.hrsupportcentresq014.entities.Role;
 import com.hrsupportcentresq014.utils.Social;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 import java.time.LocalDate;
@@ -31,9 +32,14 @@ public class EmployeeViewProfileResponse {
     private String maritalStatus;
     private String contractType;
     private String imageUrl;
+    private String originalImageUrl;
     private String workLocation;
     private Role role;
     private String department;
     private String nationality;
     private LocalDateTime createdOn;
+    @JsonIgnore
+    private String id;
+    @JsonIgnore
+    private Long version;
 }
@@ -0,0 +1,20 @@
+package com.hrsupportcentresq014.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeadcountResponse {
+    // Null for the live figures, the snapshot day for trend points.
+    private LocalDate date;
+    private long total;
+    private List<HeadcountRow> rows;
+}
@@ -0,0 +1,20 @@
+package com.hrsupportcentresq014.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class HeadcountRow {
+    private String department;
+    private String contractType;
+    private String workLocation;
+    private String position;
+    private long count;
+}
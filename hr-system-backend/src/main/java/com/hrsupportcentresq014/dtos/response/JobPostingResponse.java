@@ -12,6 +12,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class JobPostingResponse {
+    private String id;
     private String title;
     private String departmentName;
     private String closingDate;
@@ -0,0 +1,18 @@
+package com.hrsupportcentresq014.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntry {
+    private int rank;
+    private String nomineeId;
+    private String nomineeName;
+    private String department;
+    private long votes;
+}
@@ -0,0 +1,20 @@
+package com.hrsupportcentresq014.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NomineeResponse {
+    private String id;
+    private String nomineeId;
+    private String nomineeName;
+    private String nomineeEmail;
+    private String department;
+    private long votes;
+    private boolean approved;
+}
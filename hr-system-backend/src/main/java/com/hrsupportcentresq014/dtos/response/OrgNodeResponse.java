@@ -0,0 +1,22 @@
+package com.hrsupportcentresq014.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrgNodeResponse {
+    private String id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String position;
+    private String imageUrl;
+    private String managerId;
+    // Levels away from the employee the query started at, 1 for a direct report or manager.
+    private int depth;
+}
@@ -0,0 +1,22 @@
+package com.hrsupportcentresq014.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A nominee moving within, into or out of an award's leaderboard. A null previousRank means the nominee
+ * has just entered the leaderboard, a null rank that they have dropped out of it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankChange {
+    private String nomineeId;
+    private String nomineeName;
+    private Integer previousRank;
+    private Integer rank;
+    private long votes;
+}
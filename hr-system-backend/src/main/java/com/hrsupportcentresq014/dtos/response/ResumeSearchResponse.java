@@ -0,0 +1,19 @@
+package com.hrsupportcentresq014.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeSearchResponse {
+    private String employeeId;
+    private String fullName;
+    private String email;
+    private String position;
+    private String resumeUrl;
+    private Float score;
+}
@@ -0,0 +1,19 @@
+package com.hrsupportcentresq014.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RosterMember {
+    private String id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String position;
+    private String imageUrl;
+}
@@ -0,0 +1,33 @@
+package com.hrsupportcentresq014.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SlowQueryResponse {
+    private String database;
+    private String collection;
+    private String command;
+    private String shape;
+    private long count;
+    private double totalMillis;
+    private double maxMillis;
+    private double meanMillis;
+    private LocalDateTime lastSeen;
+    private String plan;
+    private Boolean collectionScan;
+    private Long docsExamined;
+    private Long keysExamined;
+    private Long returned;
+    private LocalDateTime explainedOn;
+    private String explainError;
+}
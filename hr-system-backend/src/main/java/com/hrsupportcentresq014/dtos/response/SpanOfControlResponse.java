@@ -0,0 +1,17 @@
+package com.hrsupportcentresq014.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpanOfControlResponse {
+    private String employeeId;
+    private int directReports;
+    private int totalReports;
+    private int levels;
+}
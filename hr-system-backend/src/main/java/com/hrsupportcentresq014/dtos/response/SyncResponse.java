@@ -0,0 +1,26 @@
+package com.hrsupportcentresq014.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse<T> {
+    @Builder.Default
+    private List<T> changed = new ArrayList<>();
+    @Builder.Default
+    private List<String> deleted = new ArrayList<>();
+    // Pass back as since on the next call. Records near the watermark may be sent twice, so apply them by id.
+    private LocalDateTime watermark;
+    // More changes are waiting; call again straight away with the new watermark and this cursor as after.
+    private boolean hasMore;
+    private String cursor;
+}
@@ -0,0 +1,21 @@
+package com.hrsupportcentresq014.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamRosterResponse {
+    private String id;
+    private String name;
+    private RosterMember teamLeader;
+    @Builder.Default
+    private List<RosterMember> members = new ArrayList<>();
+}
@@ -0,0 +1,17 @@
+package com.hrsupportcentresq014.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamSummary {
+    private String id;
+    private String name;
+    private String teamLeaderId;
+    private int memberCount;
+}
@@ -0,0 +1,27 @@
+package com.hrsupportcentresq014.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hrsupportcentresq014.enums.UploadStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UploadStatusResponse {
+    private String uploadId;
+    private UploadStatus status;
+    private String url;
+    private String message;
+    @JsonIgnore
+    private String owner;
+    private LocalDateTime submittedOn;
+    private LocalDateTime completedOn;
+}
@@ -5,12 +5,14 @@ import lombok.Data;
 import java.time.LocalDate;
 @Data
 public class ViewStaffResponseDTO {
+    private String id;
     private String fullName;
     private String position;
     private String email;
     private  String phoneNo;
     private String department;
     private String contractType;
+    private String imageUrl;
     private  String status = "Worker";
     private Long tenure;
 
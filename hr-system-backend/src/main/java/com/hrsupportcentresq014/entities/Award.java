@@ -5,17 +5,18 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(value = "awards")
 @Builder
+@CompoundIndex(name = "updatedOn_id", def = "{'updatedOn': 1, '_id': 1}")
+@CompoundIndex(name = "year_title", def = "{'year': 1, 'title': 1}", unique = true)
 public class Award extends BaseEntity {
 
     private String title;
@@ -26,13 +27,8 @@ public class Award extends BaseEntity {
 
     private LocalDate date;
 
-    @DBRef
-    private List<Nominee> unapprovedNominees = new ArrayList<>();
-
-    @DBRef
-    private List<Nominee> approvedNominees = new ArrayList<>();
-
-    @DBRef
+    // Nominations are kept in the nominee collection, keyed by awardId.
+    @DBRef(lazy = true)
     private Nominee recipient;
 
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.hrsupportcentresq014.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * The resume token of one instance's change stream on one collection, so a restart continues where it stopped.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(value = "change_stream_offsets")
+@Builder
+public class ChangeStreamOffset {
+    // The instance id and the collection name, joined by a slash.
+    @Id
+    private String id;
+    // The token as extended JSON.
+    private String resumeToken;
+    private LocalDateTime updatedOn;
+}
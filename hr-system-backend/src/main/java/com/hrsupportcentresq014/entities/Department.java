@@ -5,12 +5,16 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.mapping.DocumentReference;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * References are stored as plain ids and only resolved when read. Rosters are loaded with a single
+ * aggregation in DepartmentServiceImpl rather than by resolving these lists.
+ */
 @Document
 @Data
 @NoArgsConstructor
@@ -20,13 +24,13 @@ public class Department extends BaseEntity{
 
     private String departmentName;
 
-    @DBRef
+    @DocumentReference(lazy = true)
     private Employee departmentLead;
 
-    @DBRef
+    @DocumentReference(lazy = true)
     private List<Employee> listOfEmployee = new ArrayList<>();
 
-    @DBRef
+    @DocumentReference(lazy = true)
     private List<Team> listOfTeam = new ArrayList<>();
 
 }
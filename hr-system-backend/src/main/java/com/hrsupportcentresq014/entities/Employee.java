@@ -1,15 +1,21 @@
 package com.hrsupportcentresq014.entities;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.hrsupportcentresq014.entities.entityUtil.Socials;
 import com.hrsupportcentresq014.utils.Social;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -22,6 +28,7 @@ import java.util.Collection;
 @AllArgsConstructor
 @Document
 @Builder
+@CompoundIndex(name = "updatedOn_id", def = "{'updatedOn': 1, '_id': 1}")
 public class Employee extends BaseEntity implements UserDetails{
 
     private String firstName;
@@ -48,6 +55,8 @@ public class Employee extends BaseEntity implements UserDetails{
     private String contractType;
     private Social social;
     private String imageUrl;
+    private String imageThumbnailUrl;
+    private String imageMediumUrl;
     private String resumeUrl;
 
 
@@ -66,6 +75,19 @@ public class Employee extends BaseEntity implements UserDetails{
     private String reportTo;
     private boolean loggedIn;
     private String teamManager;
+    // Id of the employee this one reports to; reportTo and teamManager are display text only.
+    @Indexed
+    @Field(targetType = FieldType.OBJECT_ID)
+    private String managerId;
+    // The headcount bucket this employee is counted in, and the one it was counted in when loaded or last saved.
+    @JsonIgnore
+    private String headcountKey;
+    @JsonIgnore
+    @Transient
+    private String previousHeadcountKey;
+
+    @Version
+    private Long version;
 
     public Employee(String firstName,  String lastName,  String email, String position) {
         this.firstName = firstName;
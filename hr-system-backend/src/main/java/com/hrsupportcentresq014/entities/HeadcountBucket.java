@@ -0,0 +1,46 @@
+package com.hrsupportcentresq014.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The number of employees sharing one department, contract type, work location and position.
+ * Buckets are kept up to date as employees are written, so headcount reads never touch the employee collection.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(value = "headcount_buckets")
+@Builder
+public class HeadcountBucket {
+    // Joins the four values with the ASCII unit separator, which cannot appear in form input.
+    private static final String SEPARATOR = "\u001f";
+
+    @Id
+    private String key;
+    private String department;
+    private String contractType;
+    private String workLocation;
+    private String position;
+    private long count;
+    private LocalDateTime updatedOn;
+
+    public static String keyOf(Employee employee) {
+        return keyOf(employee.getDepartment(), employee.getContractType(), employee.getWorkLocation(), employee.getPosition());
+    }
+
+    public static String keyOf(String department, String contractType, String workLocation, String position) {
+        return Stream.of(department, contractType, workLocation, position)
+                .map(value -> Objects.toString(value, ""))
+                .collect(Collectors.joining(SEPARATOR));
+    }
+}
@@ -0,0 +1,30 @@
+package com.hrsupportcentresq014.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A copy of the headcount buckets as they stood at the start of a day, used for trend charts.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(value = "headcount_snapshots")
+@Builder
+public class HeadcountSnapshot {
+    @Id
+    private LocalDate date;
+    private long total;
+    @Builder.Default
+    private List<HeadcountBucket> buckets = new ArrayList<>();
+    private LocalDateTime takenOn;
+}
@@ -3,6 +3,7 @@ package com.hrsupportcentresq014.entities;
 
 import lombok.*;
 import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -15,6 +16,7 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Document
+@CompoundIndex(name = "updatedOn_id", def = "{'updatedOn': 1, '_id': 1}")
 public class Job extends BaseEntity{
 
     private String title;
@@ -0,0 +1,22 @@
+package com.hrsupportcentresq014.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NominationReason {
+
+    private String nominatorId;
+
+    private String reason;
+
+    private LocalDateTime nominatedOn;
+
+}
@@ -1,32 +1,53 @@
 package com.hrsupportcentresq014.entities;
 
-import com.fasterxml.jackson.annotation.JsonIncludeProperties;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.util.HashMap;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * One document per nominee per award. Votes are added with $addToSet on nominatorIds and counted
+ * with $inc on votes in the same update, so concurrent nominations never read and rewrite the document.
+ * Only the most recent reasons are kept, which keeps the document small however popular the nominee is.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Document
 @Builder
+@CompoundIndex(name = "award_nominee", def = "{'awardId': 1, 'nomineeId': 1}", unique = true)
+@CompoundIndex(name = "award_votes", def = "{'awardId': 1, 'votes': -1}")
+@CompoundIndex(name = "updatedOn_id", def = "{'updatedOn': 1, '_id': 1}")
 public class Nominee extends BaseEntity{
 
-    private HashMap<String , String> nominators;
+    private String awardId;
 
-    private boolean isApproved;
+    private String nomineeId;
 
-    @DBRef
-    @JsonIncludeProperties(value = {"id", "firstName", "lastName", "email", "department"})
-    private Employee nominee;
+    private String nomineeEmail;
 
-    @DBRef
-    private Award award;
+    private String nomineeName;
+
+    private String department;
+
+    @Builder.Default
+    private List<String> nominatorIds = new ArrayList<>();
+
+    @Builder.Default
+    private List<NominationReason> reasons = new ArrayList<>();
+
+    private long votes;
+
+    private boolean approved;
+
+    private String approvedBy;
+
+    private LocalDateTime approvedOn;
 
 }
@@ -5,10 +5,15 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
+/**
+ * An outstanding password reset, at most one per employee. Only the SHA-256 hash of the emailed token is
+ * stored, the request is removed when the token is used, and MongoDB deletes it once expirationDate passes.
+ */
 @Document
 @Data
 @AllArgsConstructor
@@ -17,8 +22,11 @@ import java.time.LocalDateTime;
 public class PasswordResetRequest {
     @Id
     private String id;
+    @Indexed(unique = true)
     private String email;
-    private String resetToken;
+    @Indexed(unique = true, sparse = true)
+    private String tokenHash;
+    @Indexed(expireAfter = "0s")
     private LocalDateTime expirationDate;
 
-}
\ No newline at end of file
+}
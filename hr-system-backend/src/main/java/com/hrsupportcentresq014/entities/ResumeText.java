@@ -0,0 +1,41 @@
+package com.hrsupportcentresq014.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
+
+import java.time.LocalDateTime;
+
+/**
+ * Text extracted from an uploaded resume. The text index over name, position and content lets
+ * recruiters search every resume without fetching any files.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(value = "resume_texts")
+@Builder
+public class ResumeText {
+    @Id
+    private String id;
+    @Indexed
+    private String employeeEmail;
+    @TextIndexed(weight = 3)
+    private String fullName;
+    @TextIndexed(weight = 2)
+    private String position;
+    private String resumeUrl;
+    @TextIndexed
+    private String content;
+    private LocalDateTime indexedOn;
+    // When the indexed file was uploaded; an extraction of an older upload never replaces a newer one.
+    private LocalDateTime uploadedOn;
+    @TextScore
+    private Float score;
+}
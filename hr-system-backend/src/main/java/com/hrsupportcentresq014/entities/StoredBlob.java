@@ -0,0 +1,27 @@
+package com.hrsupportcentresq014.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A file held by the configured BlobStore, keyed by the SHA-256 of its content.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(value = "blobs")
+@Builder
+public class StoredBlob {
+    @Id
+    private String hash;
+    private String url;
+    private String contentType;
+    private long size;
+    private LocalDateTime storedOn;
+}
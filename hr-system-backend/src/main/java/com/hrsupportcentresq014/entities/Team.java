@@ -4,7 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.mapping.DocumentReference;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.ArrayList;
@@ -19,9 +19,9 @@ public class Team extends BaseEntity{
 
 
     private String name;
-    @DBRef
+    @DocumentReference(lazy = true)
     private Employee teamLeader;
 
-    @DBRef
+    @DocumentReference(lazy = true)
     private List<Employee> listOfEmployee = new ArrayList<>();
 }
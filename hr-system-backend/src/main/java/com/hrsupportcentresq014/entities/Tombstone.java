@@ -0,0 +1,34 @@
+package com.hrsupportcentresq014.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Records that a synced document was deleted, so delta sync clients can drop their copy.
+ * Tombstones expire after RETENTION; a client that last synced before that has to sync in full.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(value = "tombstones")
+@CompoundIndex(name = "collection_deletedOn", def = "{'collection': 1, 'deletedOn': 1}")
+@Builder
+public class Tombstone {
+    public static final Duration RETENTION = Duration.ofDays(30);
+
+    @Id
+    private String id;
+    private String collection;
+    private String entityId;
+    @Indexed(expireAfter = "30d")
+    private LocalDateTime deletedOn;
+}
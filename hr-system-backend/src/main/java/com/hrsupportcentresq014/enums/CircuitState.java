@@ -0,0 +1,5 @@
+package com.hrsupportcentresq014.enums;
+
+public enum CircuitState {
+    CLOSED, OPEN, HALF_OPEN
+}
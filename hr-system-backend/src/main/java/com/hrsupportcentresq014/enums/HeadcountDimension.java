@@ -0,0 +1,22 @@
+package com.hrsupportcentresq014.enums;
+
+import com.hrsupportcentresq014.entities.HeadcountBucket;
+
+import java.util.function.Function;
+
+public enum HeadcountDimension {
+    DEPARTMENT(HeadcountBucket::getDepartment),
+    CONTRACT_TYPE(HeadcountBucket::getContractType),
+    WORK_LOCATION(HeadcountBucket::getWorkLocation),
+    POSITION(HeadcountBucket::getPosition);
+
+    private final Function<HeadcountBucket, String> value;
+
+    HeadcountDimension(Function<HeadcountBucket, String> value) {
+        this.value = value;
+    }
+
+    public String valueOf(HeadcountBucket bucket) {
+        return value.apply(bucket);
+    }
+}
@@ -0,0 +1,15 @@
+package com.hrsupportcentresq014.enums;
+
+public enum ImageVariant {
+    THUMBNAIL(96), MEDIUM(480);
+
+    private final int maxEdge;
+
+    ImageVariant(int maxEdge) {
+        this.maxEdge = maxEdge;
+    }
+
+    public int getMaxEdge() {
+        return maxEdge;
+    }
+}
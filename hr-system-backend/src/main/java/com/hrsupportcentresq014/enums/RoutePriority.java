@@ -0,0 +1,21 @@
+package com.hrsupportcentresq014.enums;
+
+/**
+ * How much of the adaptive concurrency limit requests on a route may take up. Lower classes are turned
+ * away while there is still room for higher ones, so bulk work is shed first under load.
+ */
+public enum RoutePriority {
+    CRITICAL(1.0),
+    NORMAL(0.9),
+    BULK(0.5);
+
+    private final double share;
+
+    RoutePriority(double share) {
+        this.share = share;
+    }
+
+    public double getShare() {
+        return share;
+    }
+}
@@ -0,0 +1,29 @@
+package com.hrsupportcentresq014.enums;
+
+import com.hrsupportcentresq014.entities.Employee;
+
+import java.util.function.Function;
+
+public enum StaffAttribute {
+    DEPARTMENT("department", Employee::getDepartment),
+    CONTRACT_TYPE("contractType", Employee::getContractType),
+    WORK_LOCATION("workLocation", Employee::getWorkLocation),
+    POSITION("position", Employee::getPosition),
+    ROLE("role.name", employee -> employee.getRole() == null ? null : employee.getRole().getName());
+
+    private final String field;
+    private final Function<Employee, String> value;
+
+    StaffAttribute(String field, Function<Employee, String> value) {
+        this.field = field;
+        this.value = value;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public String valueOf(Employee employee) {
+        return value.apply(employee);
+    }
+}
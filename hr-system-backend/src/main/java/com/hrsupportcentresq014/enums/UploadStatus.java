@@ -0,0 +1,5 @@
+package com.hrsupportcentresq014.enums;
+
+public enum UploadStatus {
+    PENDING, COMPLETED, FAILED
+}
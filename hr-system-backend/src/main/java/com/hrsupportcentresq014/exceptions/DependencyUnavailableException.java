@@ -0,0 +1,21 @@
+package com.hrsupportcentresq014.exceptions;
+
+import java.time.Duration;
+
+public class DependencyUnavailableException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public DependencyUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public DependencyUnavailableException(String message, Duration retryAfter, Throwable cause) {
+        super(message, cause);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
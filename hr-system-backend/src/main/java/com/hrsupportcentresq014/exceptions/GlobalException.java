@@ -5,6 +5,7 @@ import com.hrsupportcentresq014.dtos.request.ErrorDetails;
 import jakarta.mail.MessagingException;
 import jakarta.mail.SendFailedException;
 import jakarta.mail.internet.AddressException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Date;
 import java.util.HashMap;
@@ -122,4 +124,126 @@ public class GlobalException {
     }
 
 
+
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ExceptionHandler(value = ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ResourceNotFoundException ex){
+        ErrorResponse response = new ErrorResponse();
+        response.setErrorCode(HttpStatus.NOT_FOUND.value());
+        response.setTimestamp(LocalDate.now());
+        response.setResponse(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    }
+
+
+
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    @ExceptionHandler(value = StaleVersionException.class)
+    public ResponseEntity<ErrorResponse> handleStaleVersionException(StaleVersionException ex){
+        ErrorResponse response = new ErrorResponse();
+        response.setErrorCode(HttpStatus.PRECONDITION_FAILED.value());
+        response.setTimestamp(LocalDate.now());
+        response.setResponse(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.PRECONDITION_FAILED);
+    }
+
+
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(value = OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex){
+        ErrorResponse response = new ErrorResponse();
+        response.setErrorCode(HttpStatus.CONFLICT.value());
+        response.setTimestamp(LocalDate.now());
+        response.setResponse("Record was changed by another request, reload it and try again");
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(value = DuplicateProcessException.class)
+    public ResponseEntity<ErrorResponse> handleDuplicateProcessException(DuplicateProcessException ex){
+        ErrorResponse response = new ErrorResponse();
+        response.setErrorCode(HttpStatus.CONFLICT.value());
+        response.setTimestamp(LocalDate.now());
+        response.setResponse(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(value = ResourceAlreadyException.class)
+    public ResponseEntity<ErrorResponse> handleResourceAlreadyException(ResourceAlreadyException ex){
+        ErrorResponse response = new ErrorResponse();
+        response.setErrorCode(HttpStatus.CONFLICT.value());
+        response.setTimestamp(LocalDate.now());
+        response.setResponse(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+
+
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    @ExceptionHandler(value = RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceededException(RateLimitExceededException ex){
+        ErrorResponse response = new ErrorResponse();
+        response.setErrorCode(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setTimestamp(LocalDate.now());
+        response.setResponse(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+                .body(response);
+    }
+
+
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(value = DependencyUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleDependencyUnavailableException(DependencyUnavailableException ex){
+        ErrorResponse response = new ErrorResponse();
+        response.setErrorCode(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setTimestamp(LocalDate.now());
+        response.setResponse(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+                .body(response);
+    }
+
+
+
+    @ExceptionHandler(value = UploadFailedException.class)
+    public ResponseEntity<ErrorResponse> handleUploadFailedException(UploadFailedException ex){
+        // Only uploads turned away by a full upload pool carry a Retry-After; anything else failed on our side.
+        HttpStatus status = ex.getRetryAfter() != null ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.INTERNAL_SERVER_ERROR;
+        ErrorResponse response = new ErrorResponse();
+        response.setErrorCode(status.value());
+        response.setTimestamp(LocalDate.now());
+        response.setResponse(ex.getMessage());
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+        if (ex.getRetryAfter() != null) {
+            builder.header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()));
+        }
+        return builder.body(response);
+    }
+
+
+
+    @ResponseStatus(HttpStatus.GONE)
+    @ExceptionHandler(value = SyncExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleSyncExpiredException(SyncExpiredException ex){
+        ErrorResponse response = new ErrorResponse();
+        response.setErrorCode(HttpStatus.GONE.value());
+        response.setTimestamp(LocalDate.now());
+        response.setResponse(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.GONE);
+    }
+
+
+
+    // Retry-After is in whole seconds, rounded up so a client that obeys it does not come back too early.
+    private String retryAfterSeconds(Duration retryAfter) {
+        return String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
 }
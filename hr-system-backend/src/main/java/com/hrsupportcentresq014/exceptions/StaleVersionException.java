@@ -0,0 +1,7 @@
+package com.hrsupportcentresq014.exceptions;
+
+public class StaleVersionException extends RuntimeException {
+    public StaleVersionException(String message) {
+        super(message);
+    }
+}
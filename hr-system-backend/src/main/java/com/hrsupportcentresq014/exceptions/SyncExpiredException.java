@@ -0,0 +1,7 @@
+package com.hrsupportcentresq014.exceptions;
+
+public class SyncExpiredException extends RuntimeException {
+    public SyncExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,27 @@
+package com.hrsupportcentresq014.exceptions;
+
+import java.time.Duration;
+
+public class UploadFailedException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public UploadFailedException(String message) {
+        super(message);
+        this.retryAfter = null;
+    }
+
+    public UploadFailedException(String message, Throwable cause) {
+        super(message, cause);
+        this.retryAfter = null;
+    }
+
+    // For uploads turned away because the upload pool is full; the client may try again after retryAfter.
+    public UploadFailedException(String message, Duration retryAfter, Throwable cause) {
+        super(message, cause);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,116 @@
+package com.hrsupportcentresq014.load_shedding;
+
+import com.hrsupportcentresq014.enums.RoutePriority;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits how many requests run at once, with a limit that follows the latency the service is seeing.
+ *
+ * Two moving averages of request latency are kept: a short one that reacts within a few requests and a
+ * long one that stands for normal latency. While the short average stays within tolerance of the long one
+ * the limit moves towards itself plus its square root; once requests start queueing behind a busy database
+ * or remote service the short average rises and the target is cut in proportion, to at most half. Each
+ * update moves the limit a fifth of the way to its target, within min-limit and max-limit.
+ *
+ * The limit is not raised while fewer than half of the permits are in use, so a quiet period does not
+ * leave it far above what the service has shown it can handle.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+    private static final double SHORT_WEIGHT = 0.1;
+    private static final double LONG_WEIGHT = 0.002;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<RoutePriority, AtomicLong> rejected = new EnumMap<>(RoutePriority.class);
+    private volatile double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(@Value("${application.concurrency.initial-limit}") int initialLimit,
+                                      @Value("${application.concurrency.min-limit}") int minLimit,
+                                      @Value("${application.concurrency.max-limit}") int maxLimit,
+                                      @Value("${application.concurrency.tolerance}") double tolerance) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        for (RoutePriority priority : RoutePriority.values()) {
+            rejected.put(priority, new AtomicLong());
+        }
+    }
+
+    /**
+     * Takes a permit if requests of this priority still have room under the current limit.
+     */
+    public boolean tryAcquire(RoutePriority priority) {
+        int allowed = Math.max(1, (int) (limit * priority.getShare()));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejected.get(priority).incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns a permit. The latency is used to adjust the limit unless it is negative, as for requests that
+     * went asynchronous and whose time on the thread says nothing about the service's health.
+     */
+    public void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        if (rttNanos >= 0) {
+            update(rttNanos, current);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected(RoutePriority priority) {
+        return rejected.get(priority).get();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtRelease) {
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+        shortRtt += (rttNanos - shortRtt) * SHORT_WEIGHT;
+        longRtt += (rttNanos - longRtt) * LONG_WEIGHT;
+        // After a slow spell the long average drifts up; pull it back so recovery is not mistaken for headroom.
+        if (longRtt > shortRtt * 2) {
+            longRtt *= 0.95;
+        }
+
+        double current = limit;
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        if (gradient >= 1.0 && inFlightAtRelease * 2 < current) {
+            return;
+        }
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
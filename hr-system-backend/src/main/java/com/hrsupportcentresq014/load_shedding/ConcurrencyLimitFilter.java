@@ -0,0 +1,104 @@
+package com.hrsupportcentresq014.load_shedding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrsupportcentresq014.enums.RoutePriority;
+import com.hrsupportcentresq014.exceptions.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Admits each request through the AdaptiveConcurrencyLimiter before anything else runs, including the
+ * JWT check, and answers 503 straight away when its priority class has no room. Shedding early keeps the
+ * threads that are admitted fast instead of letting every request queue behind the slowest dependency.
+ *
+ * Routes matching application.concurrency.critical-paths, such as login and profile reads, may use the
+ * whole limit; application.concurrency.bulk-paths, such as sync and full staff exports, only half of it;
+ * everything else nine tenths.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final List<String> criticalPaths;
+    private final List<String> bulkPaths;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter,
+                                  ObjectMapper objectMapper,
+                                  @Value("${application.concurrency.enabled}") boolean enabled,
+                                  @Value("${application.concurrency.critical-paths}") List<String> criticalPaths,
+                                  @Value("${application.concurrency.bulk-paths}") List<String> bulkPaths) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.criticalPaths = criticalPaths;
+        this.bulkPaths = bulkPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (!limiter.tryAcquire(priorityOf(request.getRequestURI()))) {
+            reject(response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // A streaming response has only started here, its duration is no measure of load.
+            limiter.release(request.isAsyncStarted() ? -1 : System.nanoTime() - start);
+        }
+    }
+
+    RoutePriority priorityOf(String path) {
+        if (matchesAny(criticalPaths, path)) {
+            return RoutePriority.CRITICAL;
+        }
+        return matchesAny(bulkPaths, path) ? RoutePriority.BULK : RoutePriority.NORMAL;
+    }
+
+    private boolean matchesAny(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        ErrorResponse body = new ErrorResponse();
+        body.setErrorCode(HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.setTimestamp(LocalDate.now());
+        body.setResponse("Service is busy, try again shortly");
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,18 @@
+package com.hrsupportcentresq014.mappers;
+
+import com.hrsupportcentresq014.dtos.response.AwardResponseDTO;
+import com.hrsupportcentresq014.entities.Award;
+import org.mapstruct.Builder;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * The AwardMapper interface converts awards to their response form.
+ * The implementation is generated by MapStruct at compile time.
+ */
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE, builder = @Builder(disableBuilder = true))
+public interface AwardMapper {
+
+    AwardResponseDTO toResponse(Award award);
+}
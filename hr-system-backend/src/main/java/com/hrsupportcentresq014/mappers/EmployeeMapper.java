@@ -0,0 +1,61 @@
+package com.hrsupportcentresq014.mappers;
+
+import com.hrsupportcentresq014.dtos.request.CreateStaffRequest;
+import com.hrsupportcentresq014.dtos.request.EmployeeProfileRequest;
+import com.hrsupportcentresq014.dtos.response.AuthenticatedEmployee;
+import com.hrsupportcentresq014.dtos.response.CreateHrResponseDTO;
+import com.hrsupportcentresq014.dtos.response.EmployeeViewProfileResponse;
+import com.hrsupportcentresq014.dtos.response.OrgNodeResponse;
+import com.hrsupportcentresq014.dtos.response.ViewStaffResponseDTO;
+import com.hrsupportcentresq014.entities.Employee;
+import org.mapstruct.Builder;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * The EmployeeMapper interface converts between the Employee entity and the DTOs of the staff and profile endpoints.
+ *
+ * Key Features:
+ * - The implementation is generated at compile time by MapStruct as plain getter and setter calls, so no reflection runs per request.
+ * - Copies the same properties the previous BeanUtils and ModelMapper conversions copied, matched by name.
+ * - Picks the medium image variant for profile views and keeps the original image URL alongside it.
+ * - Builds the compact login summary from plain fields only, so the UserDetails getters are never called.
+ */
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE, builder = @Builder(disableBuilder = true))
+public interface EmployeeMapper {
+
+    Employee toEmployee(CreateStaffRequest request);
+
+    // The DTO carries the Role enum while the entity holds the Role document, so the role is set by the caller.
+    @Mapping(target = "role", ignore = true)
+    Employee toEmployee(CreateHrResponseDTO request);
+
+    @Mapping(target = "role", ignore = true)
+    CreateHrResponseDTO toCreateHrResponse(Employee employee);
+
+    void updateEmployee(EmployeeProfileRequest request, @MappingTarget Employee employee);
+
+    @Mapping(target = "originalImageUrl", source = "imageUrl")
+    @Mapping(target = "imageUrl",
+            expression = "java(employee.getImageMediumUrl() != null ? employee.getImageMediumUrl() : employee.getImageUrl())")
+    EmployeeViewProfileResponse toViewProfileResponse(Employee employee);
+
+    @Mapping(target = "role", source = "role.name")
+    @Mapping(target = "imageUrl",
+            expression = "java(employee.getImageThumbnailUrl() != null ? employee.getImageThumbnailUrl() : employee.getImageUrl())")
+    AuthenticatedEmployee toAuthenticatedEmployee(Employee employee);
+
+    @Mapping(target = "imageUrl",
+            expression = "java(employee.getImageThumbnailUrl() != null ? employee.getImageThumbnailUrl() : employee.getImageUrl())")
+    OrgNodeResponse toOrgNode(Employee employee, int depth);
+
+    @Mapping(target = "fullName", expression = "java(employee.getFirstName() + \" \" + employee.getLastName())")
+    @Mapping(target = "imageUrl",
+            expression = "java(employee.getImageThumbnailUrl() != null ? employee.getImageThumbnailUrl() : employee.getImageUrl())")
+    @Mapping(target = "status", constant = "Worker")
+    @Mapping(target = "tenure", constant = "23L")
+    ViewStaffResponseDTO toStaffRow(Employee employee);
+}
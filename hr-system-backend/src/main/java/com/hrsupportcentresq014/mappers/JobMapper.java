@@ -0,0 +1,23 @@
+package com.hrsupportcentresq014.mappers;
+
+import com.hrsupportcentresq014.dtos.request.JobPostingRequest;
+import com.hrsupportcentresq014.dtos.response.JobPostingResponse;
+import com.hrsupportcentresq014.entities.Job;
+import org.mapstruct.Builder;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * The JobMapper interface converts job postings between their request, entity and response forms.
+ * The implementation is generated by MapStruct at compile time.
+ */
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE, builder = @Builder(disableBuilder = true))
+public interface JobMapper {
+
+    Job toJob(JobPostingRequest request);
+
+    @Mapping(target = "active", source = "isActive")
+    JobPostingResponse toResponse(Job job);
+}
@@ -0,0 +1,41 @@
+package com.hrsupportcentresq014.metrics;
+
+import com.hrsupportcentresq014.cache.AwardCache;
+import com.hrsupportcentresq014.cache.EntityTagCache;
+import com.hrsupportcentresq014.enums.RoutePriority;
+import com.hrsupportcentresq014.load_shedding.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Publishes the counters that components keep for themselves: cache hits and misses as cache.gets, from
+ * which dashboards derive hit ratios, and the concurrency limit, requests in flight and requests shed.
+ */
+@Component
+public class ApplicationMetrics {
+
+    public ApplicationMetrics(MeterRegistry meterRegistry,
+                              AwardCache awardCache,
+                              EntityTagCache entityTagCache,
+                              AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        FunctionCounter.builder("cache.gets", awardCache, AwardCache::getHits)
+                .tags("cache", "awards", "result", "hit").register(meterRegistry);
+        FunctionCounter.builder("cache.gets", awardCache, AwardCache::getMisses)
+                .tags("cache", "awards", "result", "miss").register(meterRegistry);
+        FunctionCounter.builder("cache.gets", entityTagCache, EntityTagCache::getHits)
+                .tags("cache", "entity-tags", "result", "hit").register(meterRegistry);
+        FunctionCounter.builder("cache.gets", entityTagCache, EntityTagCache::getMisses)
+                .tags("cache", "entity-tags", "result", "miss").register(meterRegistry);
+
+        Gauge.builder("concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit).register(meterRegistry);
+        Gauge.builder("concurrency.in.flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight).register(meterRegistry);
+        for (RoutePriority priority : RoutePriority.values()) {
+            FunctionCounter.builder("concurrency.rejected", concurrencyLimiter, limiter -> limiter.getRejected(priority))
+                    .tags("priority", priority.name().toLowerCase(Locale.ROOT)).register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.hrsupportcentresq014.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Hooks the MongoCommandMonitor into the MongoDB driver, so slow queries reach the SlowQueryLog. Command timings
+ * and connection pool gauges come from Spring Boot's own Mongo metrics listeners, repository timings from its
+ * repository metrics, and all of them are scraped from /actuator/prometheus on the internal management port. The
+ * request, JWT, password encoder and dependency timers publish histogram buckets, so p95 and p99 can be computed.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandMonitorCustomizer(SlowQueryLog slowQueryLog,
+                                                                              @Value("${application.mongo-monitor.slow-threshold}") Duration slowThreshold) {
+        MongoCommandMonitor commandMonitor = new MongoCommandMonitor(slowQueryLog, slowThreshold);
+        return builder -> builder.addCommandListener(commandMonitor);
+    }
+}
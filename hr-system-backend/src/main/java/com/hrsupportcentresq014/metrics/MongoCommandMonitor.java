@@ -0,0 +1,117 @@
+package com.hrsupportcentresq014.metrics;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonValue;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.DecoderContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listens to every command the MongoDB driver sends and hands queries that take longer than
+ * application.mongo-monitor.slow-threshold to the SlowQueryLog with the filter they ran. Timing every command
+ * into mongodb.driver.commands is left to Spring Boot's MongoMetricsCommandListener.
+ *
+ * The driver only lends the command document for the duration of commandStarted, so the parts an explain needs
+ * are copied then, for the query and write commands that can be explained. getMore is never reported as slow,
+ * since change streams and cursors wait in it on purpose, and neither is the explain the SlowQueryLog runs itself.
+ */
+public class MongoCommandMonitor implements CommandListener {
+    private static final BsonDocumentCodec CODEC = new BsonDocumentCodec();
+    // The fields an explain of each command needs; session, cluster time and read concern fields are left out.
+    private static final Map<String, List<String>> EXPLAINABLE = Map.of(
+            "find", List.of("find", "filter", "sort", "projection", "hint", "skip", "limit", "collation"),
+            "aggregate", List.of("aggregate", "pipeline", "cursor", "hint", "collation"),
+            "count", List.of("count", "query", "hint", "skip", "limit", "collation"),
+            "distinct", List.of("distinct", "key", "query", "collation"),
+            "findAndModify", List.of("findAndModify", "query", "sort", "update", "remove", "new", "upsert", "fields", "collation"),
+            "update", List.of("update", "updates"),
+            "delete", List.of("delete", "deletes"));
+    private static final Set<String> BATCHES = Set.of("updates", "deletes");
+
+    private final SlowQueryLog slowQueryLog;
+    private final long slowThresholdNanos;
+    private final Map<Integer, Started> inFlight = new ConcurrentHashMap<>();
+
+    public MongoCommandMonitor(SlowQueryLog slowQueryLog, Duration slowThreshold) {
+        this.slowQueryLog = slowQueryLog;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        BsonDocument command = event.getCommand();
+        // getMore names its collection in a field of its own, its first field is the cursor id.
+        BsonValue target = command.get("getMore".equals(event.getCommandName()) ? "collection" : event.getCommandName());
+        String collection = target != null && target.isString() ? target.asString().getValue() : "";
+        inFlight.put(event.getRequestId(), new Started(event.getDatabaseName(), collection,
+                explainable(event.getCommandName(), command)));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        finish(event.getRequestId(), event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        finish(event.getRequestId(), event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void finish(int requestId, String commandName, long elapsedNanos) {
+        Started started = inFlight.remove(requestId);
+        if (started != null && started.command() != null && elapsedNanos >= slowThresholdNanos) {
+            slowQueryLog.record(started.database(), started.collection(), commandName, started.command(), elapsedNanos);
+        }
+    }
+
+    /**
+     * Returns a copy of the parts of the command an explain needs, or null if it is not worth explaining.
+     */
+    static BsonDocument explainable(String commandName, BsonDocument command) {
+        List<String> fields = EXPLAINABLE.get(commandName);
+        if (fields == null) {
+            return null;
+        }
+        BsonDocument picked = new BsonDocument();
+        for (String field : fields) {
+            BsonValue value = command.get(field);
+            if (value == null) {
+                continue;
+            }
+            // Only the first statement of a batched write, the rest share its shape.
+            if (BATCHES.contains(field) && value.isArray() && !value.asArray().isEmpty()) {
+                value = new BsonArray(List.of(value.asArray().get(0)));
+            }
+            picked.put(field, value);
+        }
+        if (isChangeStream(picked)) {
+            return null;
+        }
+        // Decoding through a reader copies every nested value out of the driver's buffers.
+        return CODEC.decode(new BsonDocumentReader(picked), DecoderContext.builder().build());
+    }
+
+    private static boolean isChangeStream(BsonDocument command) {
+        BsonValue pipeline = command.get("pipeline");
+        if (pipeline == null || !pipeline.isArray() || pipeline.asArray().isEmpty()) {
+            return false;
+        }
+        BsonValue first = pipeline.asArray().get(0);
+        return first.isDocument() && first.asDocument().containsKey("$changeStream");
+    }
+
+    private record Started(String database, String collection, BsonDocument command) {
+    }
+}
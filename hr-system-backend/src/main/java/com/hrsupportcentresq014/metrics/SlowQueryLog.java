@@ -0,0 +1,295 @@
+package com.hrsupportcentresq014.metrics;
+
+import com.hrsupportcentresq014.dtos.response.SlowQueryResponse;
+import com.mongodb.MongoCommandException;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The slow MongoDB queries reported by MongoCommandMonitor, grouped by shape: the command and collection with the
+ * filter's values replaced by "?", so every lookup of an employee by email is one entry however many emails
+ * were looked up. Each entry keeps how often it was slow and its total and worst time. The filter's values never
+ * leave record(): they can hold emails, token hashes or JWTs, so the command is only handed to the explain that
+ * runs in the background and is not kept or served, and a failed explain reports its error code, not the
+ * server's message, which may quote the filter.
+ *
+ * The first time a shape turns up, and again once its plan is older than application.mongo-monitor.explain-interval,
+ * the last command of that shape is explained with executionStats on a background thread. The plan, whether it
+ * scanned the whole collection and how many documents and index keys it examined for how many results are kept
+ * with the entry, which is usually enough to see the missing index. Explaining a write reports the plan without
+ * applying the write.
+ *
+ * At most application.mongo-monitor.max-queries shapes are kept; the one seen least recently makes room for a new one.
+ */
+@Component
+@Slf4j
+public class SlowQueryLog {
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+    private final ThreadPoolTaskExecutor explainTaskExecutor;
+    private final Duration explainInterval;
+    private final Map<String, SlowQuery> queries;
+
+    public SlowQueryLog(ObjectProvider<MongoTemplate> mongoTemplate,
+                        @Qualifier("explainTaskExecutor") ThreadPoolTaskExecutor explainTaskExecutor,
+                        @Value("${application.mongo-monitor.explain-interval}") Duration explainInterval,
+                        @Value("${application.mongo-monitor.max-queries}") int maxQueries) {
+        this.mongoTemplate = mongoTemplate;
+        this.explainTaskExecutor = explainTaskExecutor;
+        this.explainInterval = explainInterval;
+        this.queries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SlowQuery> eldest) {
+                return size() > maxQueries;
+            }
+        };
+    }
+
+    public void record(String database, String collection, String commandName, BsonDocument command, long elapsedNanos) {
+        BsonValue filter = filterOf(commandName, command);
+        String shape = filter == null ? "{}" : json(shapeOf(filter));
+        String key = database + "." + collection + " " + commandName + " " + shape;
+        SlowQuery query;
+        boolean explain;
+        synchronized (this) {
+            query = queries.computeIfAbsent(key, ignored -> new SlowQuery(database, collection, commandName, shape));
+            query.count++;
+            query.totalNanos += elapsedNanos;
+            query.maxNanos = Math.max(query.maxNanos, elapsedNanos);
+            query.lastSeen = LocalDateTime.now();
+            explain = !query.explaining && (query.explainedAt == 0 || System.nanoTime() - query.explainedAt > explainInterval.toNanos());
+            query.explaining = explain;
+        }
+        if (explain) {
+            try {
+                explainTaskExecutor.execute(() -> explain(query, command));
+            } catch (TaskRejectedException e) {
+                synchronized (this) {
+                    query.explaining = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the slow query shapes, the one that cost the most time in total first.
+     */
+    public synchronized List<SlowQueryResponse> list() {
+        List<SlowQueryResponse> responses = new ArrayList<>(queries.size());
+        for (SlowQuery query : queries.values()) {
+            responses.add(query.toResponse());
+        }
+        responses.sort(Comparator.comparingDouble(SlowQueryResponse::getTotalMillis).reversed());
+        return responses;
+    }
+
+    public synchronized void clear() {
+        queries.clear();
+    }
+
+    private void explain(SlowQuery query, BsonDocument command) {
+        Plan plan;
+        try {
+            Document result = mongoTemplate.getObject().getMongoDatabaseFactory().getMongoDatabase(query.database)
+                    .runCommand(new BsonDocument("explain", command).append("verbosity", new BsonString("executionStats")));
+            plan = planOf(result);
+        } catch (RuntimeException e) {
+            log.warn("Could not explain slow {} on {}: {}", query.command, query.collection, errorOf(e));
+            plan = new Plan(null, null, null, null, null, errorOf(e));
+        }
+        synchronized (this) {
+            query.plan = plan;
+            query.explainedAt = System.nanoTime();
+            query.explainedOn = LocalDateTime.now();
+            query.explaining = false;
+        }
+    }
+
+    static BsonValue filterOf(String commandName, BsonDocument command) {
+        return switch (commandName) {
+            case "find" -> command.get("filter");
+            case "aggregate" -> command.get("pipeline");
+            case "count", "distinct", "findAndModify" -> command.get("query");
+            case "update", "delete" -> {
+                BsonValue statements = command.get(commandName.equals("update") ? "updates" : "deletes");
+                yield statements != null && statements.isArray() && !statements.asArray().isEmpty()
+                        && statements.asArray().get(0).isDocument()
+                        ? statements.asArray().get(0).asDocument().get("q")
+                        : null;
+            }
+            default -> null;
+        };
+    }
+
+    /**
+     * Replaces every value in the filter with "?", keeping field names and operators. Lists of conditions, as under
+     * $or or in a pipeline, keep one entry per condition; lists of values become a single "?".
+     */
+    static BsonValue shapeOf(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument shape = new BsonDocument();
+            value.asDocument().forEach((key, field) -> shape.put(key, shapeOf(field)));
+            return shape;
+        }
+        if (value.isArray() && !value.asArray().isEmpty() && value.asArray().get(0).isDocument()) {
+            BsonArray shape = new BsonArray();
+            value.asArray().forEach(element -> shape.add(shapeOf(element)));
+            return shape;
+        }
+        return new BsonString("?");
+    }
+
+    /**
+     * Reads the winning plan and execution statistics out of an explain result. Finds report them at the top level,
+     * aggregations inside their first stage, so both are searched for.
+     */
+    static Plan planOf(Document explain) {
+        Document queryPlanner = find(explain, "queryPlanner");
+        Document stats = find(explain, "executionStats");
+        List<String> stages = new ArrayList<>();
+        if (queryPlanner != null) {
+            Object winning = queryPlanner.get("winningPlan");
+            if (winning instanceof Document winningPlan) {
+                // Plans run by the slot-based engine wrap the classic plan tree in queryPlan.
+                Object classic = winningPlan.get("queryPlan");
+                collectStages(classic instanceof Document classicPlan ? classicPlan : winningPlan, stages);
+            }
+        }
+        return new Plan(stages.isEmpty() ? null : String.join(" <- ", stages),
+                stages.isEmpty() ? null : stages.stream().anyMatch(stage -> stage.startsWith("COLLSCAN")),
+                stats == null ? null : longOf(stats.get("totalDocsExamined")),
+                stats == null ? null : longOf(stats.get("totalKeysExamined")),
+                stats == null ? null : longOf(stats.get("nReturned")),
+                null);
+    }
+
+    private static void collectStages(Document stage, List<String> stages) {
+        String name = stage.getString("stage");
+        if (name != null) {
+            String index = stage.getString("indexName");
+            stages.add(index == null ? name : name + "(" + index + ")");
+        }
+        Object input = stage.get("inputStage");
+        if (input instanceof Document inputStage) {
+            collectStages(inputStage, stages);
+        }
+        Object inputs = stage.get("inputStages");
+        if (inputs instanceof List<?> inputStages) {
+            for (Object each : inputStages) {
+                if (each instanceof Document inputStage) {
+                    collectStages(inputStage, stages);
+                }
+            }
+        }
+    }
+
+    private static Document find(Object value, String key) {
+        if (value instanceof Document document) {
+            Object direct = document.get(key);
+            if (direct instanceof Document found) {
+                return found;
+            }
+            for (Object child : document.values()) {
+                Document found = find(child, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else if (value instanceof List<?> list) {
+            for (Object child : list) {
+                Document found = find(child, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    // BsonArray has no JSON form of its own, pipelines are printed stage by stage.
+    private static String json(BsonValue value) {
+        if (value.isArray()) {
+            return value.asArray().stream().map(SlowQueryLog::json).collect(Collectors.joining(", ", "[", "]"));
+        }
+        return value.isDocument() ? value.asDocument().toJson() : value.toString();
+    }
+
+    private static String errorOf(RuntimeException e) {
+        return e instanceof MongoCommandException commandException
+                ? commandException.getErrorCodeName() + " (" + commandException.getErrorCode() + ")"
+                : e.getClass().getSimpleName();
+    }
+
+    private static Long longOf(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    record Plan(String summary, Boolean collectionScan, Long docsExamined, Long keysExamined, Long returned, String error) {
+    }
+
+    private static final class SlowQuery {
+        private final String database;
+        private final String collection;
+        private final String command;
+        private final String shape;
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private LocalDateTime lastSeen;
+        private boolean explaining;
+        private long explainedAt;
+        private LocalDateTime explainedOn;
+        private Plan plan;
+
+        SlowQuery(String database, String collection, String command, String shape) {
+            this.database = database;
+            this.collection = collection;
+            this.command = command;
+            this.shape = shape;
+        }
+
+        SlowQueryResponse toResponse() {
+            SlowQueryResponse.SlowQueryResponseBuilder response = SlowQueryResponse.builder()
+                    .database(database)
+                    .collection(collection)
+                    .command(command)
+                    .shape(shape)
+                    .count(count)
+                    .totalMillis(totalNanos / NANOS_PER_MILLI)
+                    .maxMillis(maxNanos / NANOS_PER_MILLI)
+                    .meanMillis(totalNanos / NANOS_PER_MILLI / count)
+                    .lastSeen(lastSeen)
+                    .explainedOn(explainedOn);
+            if (plan != null) {
+                response.plan(plan.summary())
+                        .collectionScan(plan.collectionScan())
+                        .docsExamined(plan.docsExamined())
+                        .keysExamined(plan.keysExamined())
+                        .returned(plan.returned())
+                        .explainError(plan.error());
+            }
+            return response.build();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.hrsupportcentresq014.repositories;
+
+import com.hrsupportcentresq014.entities.HeadcountBucket;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface HeadcountBucketRepository extends MongoRepository<HeadcountBucket, String> {
+    List<HeadcountBucket> findByCountGreaterThan(long count);
+}
@@ -0,0 +1,18 @@
+package com.hrsupportcentresq014.repositories;
+
+import com.hrsupportcentresq014.entities.HeadcountSnapshot;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface HeadcountSnapshotRepository extends MongoRepository<HeadcountSnapshot, LocalDate> {
+    @Query(value = "{ '_id': { $gte: ?0, $lte: ?1 } }", sort = "{ '_id': 1 }")
+    List<HeadcountSnapshot> findFromTo(LocalDate from, LocalDate to);
+
+    Optional<HeadcountSnapshot> findFirstByDateLessThanOrderByDateDesc(LocalDate date);
+}
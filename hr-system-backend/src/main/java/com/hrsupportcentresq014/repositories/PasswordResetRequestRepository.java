@@ -4,5 +4,4 @@ import com.hrsupportcentresq014.entities.PasswordResetRequest;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 public interface PasswordResetRequestRepository extends MongoRepository<PasswordResetRequest, String> {
-    PasswordResetRequest findPasswordResetRequestByResetToken(String resetToken);
-}
\ No newline at end of file
+}
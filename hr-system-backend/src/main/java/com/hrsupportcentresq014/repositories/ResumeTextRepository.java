@@ -0,0 +1,9 @@
+package com.hrsupportcentresq014.repositories;
+
+import com.hrsupportcentresq014.entities.ResumeText;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ResumeTextRepository extends MongoRepository<ResumeText, String> {
+}
@@ -0,0 +1,9 @@
+package com.hrsupportcentresq014.repositories;
+
+import com.hrsupportcentresq014.entities.StoredBlob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StoredBlobRepository extends MongoRepository<StoredBlob, String> {
+}
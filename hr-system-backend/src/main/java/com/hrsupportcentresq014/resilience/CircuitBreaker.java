@@ -0,0 +1,152 @@
+package com.hrsupportcentresq014.resilience;
+
+import com.hrsupportcentresq014.enums.CircuitState;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops calling a dependency that keeps failing, so requests fail at once instead of each waiting out a timeout.
+ *
+ * The outcomes of the last window-size calls are kept. Once at least minimum-calls of them are recorded and the
+ * share that failed reaches the failure-rate threshold the breaker opens and refuses every call. After
+ * open-duration it lets half-open-calls probes through: if all of them succeed it closes with a fresh window,
+ * if any fails it opens again for another open-duration.
+ *
+ * Calls to the dependencies it guards take tens of milliseconds at least, so a plain lock costs nothing noticeable.
+ */
+public class CircuitBreaker {
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+    private final boolean[] outcomes;
+    private int recorded;
+    private int next;
+    private int failures;
+    private CircuitState state = CircuitState.CLOSED;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration, int halfOpenCalls) {
+        this(windowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenCalls, System::nanoTime);
+    }
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration, int halfOpenCalls,
+                   LongSupplier clock) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+        this.outcomes = new boolean[windowSize];
+    }
+
+    /**
+     * Returns true if a call may go ahead. Every permitted call must be followed by onSuccess, onFailure or
+     * release, otherwise a half-open breaker waits for a probe that never reports back.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == CircuitState.OPEN) {
+            if (clock.getAsLong() - openedAt < openDurationNanos) {
+                return false;
+            }
+            state = CircuitState.HALF_OPEN;
+            probesStarted = 0;
+            probesSucceeded = 0;
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            if (probesStarted >= halfOpenCalls) {
+                return false;
+            }
+            probesStarted++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == CircuitState.HALF_OPEN) {
+            if (++probesSucceeded >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+        if (state == CircuitState.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == CircuitState.HALF_OPEN) {
+            open();
+            return;
+        }
+        if (state == CircuitState.CLOSED) {
+            record(true);
+        }
+    }
+
+    /**
+     * Gives back a permit whose call never reached the dependency, so it says nothing about its health.
+     */
+    public synchronized void release() {
+        if (state == CircuitState.HALF_OPEN && probesStarted > probesSucceeded) {
+            probesStarted--;
+        }
+    }
+
+    public synchronized CircuitState getState() {
+        return state;
+    }
+
+    /**
+     * The share of recorded calls in the window that failed, from 0 to 1.
+     */
+    public synchronized double getFailureRate() {
+        return recorded == 0 ? 0 : (double) failures / recorded;
+    }
+
+    /**
+     * How long an open breaker keeps refusing calls, zero when it is not open.
+     */
+    public synchronized Duration getRemainingOpen() {
+        if (state != CircuitState.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openDurationNanos - (clock.getAsLong() - openedAt)));
+    }
+
+    private void record(boolean failed) {
+        if (recorded == windowSize) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % windowSize;
+        if (recorded >= minimumCalls && getFailureRate() >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = CircuitState.OPEN;
+        openedAt = clock.getAsLong();
+    }
+
+    private void close() {
+        state = CircuitState.CLOSED;
+        recorded = 0;
+        next = 0;
+        failures = 0;
+    }
+}
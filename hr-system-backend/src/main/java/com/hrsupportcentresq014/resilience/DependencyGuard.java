@@ -0,0 +1,194 @@
+package com.hrsupportcentresq014.resilience;
+
+import com.hrsupportcentresq014.dtos.response.DependencyStatus;
+import com.hrsupportcentresq014.exceptions.DependencyUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs calls to one remote dependency behind a bulkhead, a timeout and a circuit breaker, so a slow or broken
+ * dependency costs the callers of that dependency a quick DependencyUnavailableException instead of tying up
+ * request threads across the whole application.
+ *
+ * Key Features:
+ * - The bulkhead is a permit per thread of the dependency's own pool: once every permit is taken further calls
+ *   are rejected at once rather than waiting. A permit is returned when the call really ends, not when the
+ *   caller stops waiting for it, or when the caller gives up on a call that is still queued and will now never run.
+ * - The caller waits at most the timeout. A call that overruns is interrupted, but a client that ignores the
+ *   interrupt keeps its thread until it returns, so a hung dependency fills its bulkhead and nothing else.
+ * - Exceptions, timeouts and overruns count as failures for the CircuitBreaker; rejected calls count for neither side.
+ * - Runtime exceptions thrown by the call reach the caller unchanged, checked ones are wrapped.
+ * - Call latency goes to dependency.calls by outcome, and the circuit state and turned-away calls are published
+ *   as metrics too.
+ */
+@Slf4j
+public class DependencyGuard {
+    private static final Duration BUSY_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final String name;
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration timeout;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore permits;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong shortCircuited = new AtomicLong();
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final Timer timeoutTimer;
+
+    public DependencyGuard(String name, ThreadPoolTaskExecutor executor, Duration timeout, CircuitBreaker circuitBreaker,
+                           MeterRegistry meterRegistry) {
+        this.name = name;
+        this.executor = executor;
+        this.timeout = timeout;
+        this.circuitBreaker = circuitBreaker;
+        this.permits = new Semaphore(executor.getMaxPoolSize());
+        this.successTimer = meterRegistry.timer("dependency.calls", "dependency", name, "outcome", "success");
+        this.failureTimer = meterRegistry.timer("dependency.calls", "dependency", name, "outcome", "failure");
+        this.timeoutTimer = meterRegistry.timer("dependency.calls", "dependency", name, "outcome", "timeout");
+        FunctionCounter.builder("dependency.rejected", rejected, AtomicLong::get)
+                .tags("dependency", name, "reason", "bulkhead-full").register(meterRegistry);
+        FunctionCounter.builder("dependency.rejected", shortCircuited, AtomicLong::get)
+                .tags("dependency", name, "reason", "circuit-open").register(meterRegistry);
+        Gauge.builder("dependency.active", active, AtomicInteger::get).tag("dependency", name).register(meterRegistry);
+        // 0 closed, 1 open, 2 half-open.
+        Gauge.builder("dependency.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .tag("dependency", name).register(meterRegistry);
+    }
+
+    public <T> T call(Callable<T> action) {
+        if (!circuitBreaker.tryAcquire()) {
+            shortCircuited.incrementAndGet();
+            throw new DependencyUnavailableException(name + " is unavailable, try again later",
+                    circuitBreaker.getRemainingOpen());
+        }
+        if (!permits.tryAcquire()) {
+            circuitBreaker.release();
+            rejected.incrementAndGet();
+            throw new DependencyUnavailableException(name + " is busy, try again later", BUSY_RETRY_AFTER);
+        }
+        BulkheadTask<T> future = new BulkheadTask<>(action);
+        try {
+            executor.execute(future);
+        } catch (TaskRejectedException e) {
+            permits.release();
+            circuitBreaker.release();
+            rejected.incrementAndGet();
+            throw new DependencyUnavailableException(name + " is busy, try again later", BUSY_RETRY_AFTER, e);
+        }
+        calls.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            T result = future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            circuitBreaker.onSuccess();
+            successes.incrementAndGet();
+            successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            circuitBreaker.onFailure();
+            timeouts.incrementAndGet();
+            timeoutTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.warn("Call to {} timed out after {}", name, timeout);
+            throw new DependencyUnavailableException(name + " did not respond in time", BUSY_RETRY_AFTER, e);
+        } catch (ExecutionException e) {
+            circuitBreaker.onFailure();
+            failures.incrementAndGet();
+            failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new DependencyUnavailableException(name + " call failed", BUSY_RETRY_AFTER, cause);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            circuitBreaker.release();
+            Thread.currentThread().interrupt();
+            throw new DependencyUnavailableException(name + " call was interrupted", BUSY_RETRY_AFTER, e);
+        }
+    }
+
+    /**
+     * Holds one bulkhead permit and returns it exactly once: when the call ends if a thread started it, or
+     * on cancellation if the caller gave up while it was still queued, in which case it never runs.
+     */
+    private final class BulkheadTask<T> extends FutureTask<T> {
+        private final AtomicBoolean claimed;
+
+        BulkheadTask(Callable<T> action) {
+            this(action, new AtomicBoolean());
+        }
+
+        private BulkheadTask(Callable<T> action, AtomicBoolean claimed) {
+            super(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return null;
+                }
+                active.incrementAndGet();
+                try {
+                    return action.call();
+                } finally {
+                    active.decrementAndGet();
+                    permits.release();
+                }
+            });
+            this.claimed = claimed;
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled() && claimed.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public DependencyStatus status() {
+        return DependencyStatus.builder()
+                .name(name)
+                .state(circuitBreaker.getState())
+                .failureRate(circuitBreaker.getFailureRate())
+                .active(active.get())
+                .maxConcurrent(executor.getMaxPoolSize())
+                .timeoutMillis(timeout.toMillis())
+                .calls(calls.get())
+                .successes(successes.get())
+                .failures(failures.get())
+                .timeouts(timeouts.get())
+                .rejected(rejected.get())
+                .shortCircuited(shortCircuited.get())
+                .build();
+    }
+}
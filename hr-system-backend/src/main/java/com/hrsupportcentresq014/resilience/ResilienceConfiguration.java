@@ -0,0 +1,47 @@
+package com.hrsupportcentresq014.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+
+/**
+ * One DependencyGuard per remote service: the blob store, which is Cloudinary unless configured otherwise, and
+ * SMTP. Each has its own bulkhead executor from AsyncConfiguration and its own timeout; the circuit breaker
+ * settings are shared.
+ */
+@Configuration
+public class ResilienceConfiguration {
+    @Value("${application.resilience.circuit-breaker.window-size}")
+    private int windowSize;
+    @Value("${application.resilience.circuit-breaker.minimum-calls}")
+    private int minimumCalls;
+    @Value("${application.resilience.circuit-breaker.failure-rate-threshold}")
+    private double failureRateThreshold;
+    @Value("${application.resilience.circuit-breaker.open-duration}")
+    private Duration openDuration;
+    @Value("${application.resilience.circuit-breaker.half-open-calls}")
+    private int halfOpenCalls;
+
+    @Bean
+    public DependencyGuard blobStoreGuard(@Qualifier("blobStoreTaskExecutor") ThreadPoolTaskExecutor blobStoreTaskExecutor,
+                                          @Value("${application.resilience.blob-store.timeout}") Duration timeout,
+                                          MeterRegistry meterRegistry) {
+        return new DependencyGuard("blob-store", blobStoreTaskExecutor, timeout, circuitBreaker(), meterRegistry);
+    }
+
+    @Bean
+    public DependencyGuard mailGuard(@Qualifier("mailTaskExecutor") ThreadPoolTaskExecutor mailTaskExecutor,
+                                     @Value("${application.resilience.mail.timeout}") Duration timeout,
+                                     MeterRegistry meterRegistry) {
+        return new DependencyGuard("mail", mailTaskExecutor, timeout, circuitBreaker(), meterRegistry);
+    }
+
+    private CircuitBreaker circuitBreaker() {
+        return new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenCalls);
+    }
+}
@@ -0,0 +1,22 @@
+package com.hrsupportcentresq014.scheduler;
+
+import com.hrsupportcentresq014.services.HeadcountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the materialized headcount honest: recounts the employee collection every
+ * application.headcount.reconcile-interval and takes the day's snapshot even on days nobody writes or reads.
+ */
+@Component
+@RequiredArgsConstructor
+public class HeadcountReconciliationScheduler {
+    private final HeadcountService headcountService;
+
+    @Scheduled(fixedDelayString = "${application.headcount.reconcile-interval}",
+            initialDelayString = "${application.headcount.reconcile-interval}")
+    public void reconcile() {
+        headcountService.reconcile();
+    }
+}
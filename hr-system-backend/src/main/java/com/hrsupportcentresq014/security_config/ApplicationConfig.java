@@ -2,6 +2,7 @@ package com.hrsupportcentresq014.security_config;
 
 import com.hrsupportcentresq014.repositories.EmployeeRepository;
 import com.hrsupportcentresq014.security_config.utils.SecurityUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -20,6 +21,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @RequiredArgsConstructor
 public class ApplicationConfig {
     private final EmployeeRepository employeeRepository;
+    private final MeterRegistry meterRegistry;
 
     @Bean
     public UserDetailsService userDetailsService(){
@@ -29,7 +31,7 @@ public class ApplicationConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
     @Bean
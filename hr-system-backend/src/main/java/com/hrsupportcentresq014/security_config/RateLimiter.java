@@ -0,0 +1,155 @@
+package com.hrsupportcentresq014.security_config;
+
+import com.hrsupportcentresq014.exceptions.RateLimitExceededException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token buckets in front of the unauthenticated endpoints that are expensive to serve: login
+ * runs BCrypt and a forgotten password sends an email. Each request takes one token from the bucket of
+ * the client address and one from the bucket of the email it targets, so neither one address nor many
+ * addresses aimed at one account can get through faster than the configured rate.
+ *
+ * A bucket holds up to its limit of tokens and refills at limit per window. Its state is swapped with a
+ * compare-and-set, so requests never wait on a lock. A bucket that has refilled completely is
+ * indistinguishable from a new one, so a sweep every application.rate-limit.sweep-interval drops it. Once
+ * application.rate-limit.max-keys buckets exist, new keys of a rule share one overflow bucket until a sweep
+ * makes room, which stops a flood of distinct keys from growing the map without bound.
+ */
+@Component
+public class RateLimiter {
+    private final Rule loginByAddress;
+    private final Rule loginByEmail;
+    private final Rule passwordResetByAddress;
+    private final Rule passwordResetByEmail;
+    private final long sweepIntervalNanos;
+    private final int maxKeys;
+    private final LongSupplier clock;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep;
+
+    @Autowired
+    public RateLimiter(@Value("${application.rate-limit.login.per-address}") int loginPerAddress,
+                       @Value("${application.rate-limit.login.per-email}") int loginPerEmail,
+                       @Value("${application.rate-limit.login.window}") Duration loginWindow,
+                       @Value("${application.rate-limit.password-reset.per-address}") int passwordResetPerAddress,
+                       @Value("${application.rate-limit.password-reset.per-email}") int passwordResetPerEmail,
+                       @Value("${application.rate-limit.password-reset.window}") Duration passwordResetWindow,
+                       @Value("${application.rate-limit.sweep-interval}") Duration sweepInterval,
+                       @Value("${application.rate-limit.max-keys}") int maxKeys) {
+        this(new Rule("login-address", loginPerAddress, loginWindow),
+                new Rule("login-email", loginPerEmail, loginWindow),
+                new Rule("reset-address", passwordResetPerAddress, passwordResetWindow),
+                new Rule("reset-email", passwordResetPerEmail, passwordResetWindow),
+                sweepInterval, maxKeys, System::nanoTime);
+    }
+
+    RateLimiter(Rule loginByAddress, Rule loginByEmail, Rule passwordResetByAddress, Rule passwordResetByEmail,
+                Duration sweepInterval, int maxKeys, LongSupplier clock) {
+        this.loginByAddress = loginByAddress;
+        this.loginByEmail = loginByEmail;
+        this.passwordResetByAddress = passwordResetByAddress;
+        this.passwordResetByEmail = passwordResetByEmail;
+        this.sweepIntervalNanos = sweepInterval.toNanos();
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+        this.lastSweep = new AtomicLong(clock.getAsLong());
+    }
+
+    public void checkLogin(String address, String email) {
+        acquire(loginByAddress, address);
+        acquire(loginByEmail, normalize(email));
+    }
+
+    /**
+     * Covers both asking for a reset link and using one, so reset tokens cannot be guessed at speed either.
+     */
+    public void checkPasswordReset(String address, String email) {
+        acquire(passwordResetByAddress, address);
+        acquire(passwordResetByEmail, normalize(email));
+    }
+
+    private void acquire(Rule rule, String key) {
+        if (key == null || key.isEmpty()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        sweepIfDue(now);
+        String bucketKey = rule.name() + ":" + key;
+        Bucket bucket = buckets.get(bucketKey);
+        if (bucket == null) {
+            String target = buckets.size() < maxKeys ? bucketKey : rule.name() + ":*";
+            bucket = buckets.computeIfAbsent(target, ignored -> new Bucket(rule, now));
+        }
+        long waitNanos = bucket.tryTake(now);
+        if (waitNanos > 0) {
+            throw new RateLimitExceededException("Too many requests, try again later", Duration.ofNanos(waitNanos));
+        }
+    }
+
+    private void sweepIfDue(long now) {
+        long previous = lastSweep.get();
+        if (now - previous < sweepIntervalNanos || !lastSweep.compareAndSet(previous, now)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.available(now) >= bucket.limit);
+    }
+
+    private static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    record Rule(String name, int limit, Duration window) {
+        double tokensPerNano() {
+            return (double) limit / window.toNanos();
+        }
+    }
+
+    private record State(double tokens, long updatedAt) {
+    }
+
+    private static final class Bucket {
+        private final int limit;
+        private final double tokensPerNano;
+        private final AtomicReference<State> state;
+
+        Bucket(Rule rule, long now) {
+            this.limit = rule.limit();
+            this.tokensPerNano = rule.tokensPerNano();
+            this.state = new AtomicReference<>(new State(rule.limit(), now));
+        }
+
+        double available(long now) {
+            return available(state.get(), now);
+        }
+
+        /**
+         * Takes a token and returns 0, or returns how many nanoseconds remain until one is available.
+         */
+        long tryTake(long now) {
+            while (true) {
+                State current = state.get();
+                double tokens = available(current, now);
+                if (tokens < 1) {
+                    return (long) Math.ceil((1 - tokens) / tokensPerNano);
+                }
+                if (state.compareAndSet(current, new State(tokens - 1, Math.max(now, current.updatedAt())))) {
+                    return 0;
+                }
+            }
+        }
+
+        private double available(State current, long now) {
+            return Math.min(limit, current.tokens() + Math.max(0, now - current.updatedAt()) * tokensPerNano);
+        }
+    }
+}
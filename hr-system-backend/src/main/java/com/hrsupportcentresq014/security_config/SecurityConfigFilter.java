@@ -36,7 +36,11 @@ public class SecurityConfigFilter {
             "/swagger-resources/**",
             "/configuration/ui",
             "/configuration/security",
-            "/password/**"
+            "/password/**",
+            "/api/v1/blobs/**",
+            // Only served on management.server.port, which is kept off the public network, so Prometheus can scrape without a token.
+            "/actuator/health",
+            "/actuator/prometheus"
     };
 
 
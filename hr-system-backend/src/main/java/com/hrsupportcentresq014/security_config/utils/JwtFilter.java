@@ -1,6 +1,8 @@
 package com.hrsupportcentresq014.security_config.utils;
 
 import com.hrsupportcentresq014.repositories.TokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,6 +27,7 @@ public class JwtFilter extends OncePerRequestFilter {
     private final JwtUtils jwtUtils;
     private final UserDetailsService userDetailsService;
     private final TokenRepository tokenRepository;
+    private final MeterRegistry meterRegistry;
     @Override
     protected void doFilterInternal(
            @NonNull HttpServletRequest request,
@@ -32,7 +35,6 @@ public class JwtFilter extends OncePerRequestFilter {
            @NonNull FilterChain filterChain) throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        final String userEmail;
         final String jwtToken;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")){
@@ -42,8 +44,17 @@ public class JwtFilter extends OncePerRequestFilter {
         }
 
         jwtToken = authHeader.substring(7);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            authenticate(request, jwtToken);
+        } finally {
+            sample.stop(meterRegistry.timer("security.jwt.filter"));
+        }
+        filterChain.doFilter(request, response);
+    }
 
-        userEmail = jwtUtils.extractUsername(jwtToken);
+    private void authenticate(HttpServletRequest request, String jwtToken) {
+        final String userEmail = jwtUtils.extractUsername(jwtToken);
         if(userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null){
             UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
             log.info("This is the email you have ==============>>>>>>" + userEmail);
@@ -66,6 +77,5 @@ public class JwtFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
-            filterChain.doFilter(request, response);
     }
 }
@@ -3,6 +3,7 @@ package com.hrsupportcentresq014.services;
 import com.hrsupportcentresq014.dtos.request.AwardRequestDTO;
 import com.hrsupportcentresq014.dtos.response.AllAwardsResponseDTO;
 import com.hrsupportcentresq014.dtos.response.AwardResponseDTO;
+import com.hrsupportcentresq014.dtos.response.NomineeResponse;
 import org.springframework.data.domain.Page;
 
 import java.nio.file.AccessDeniedException;
@@ -13,4 +14,6 @@ public interface AwardService {
     String createAward(AwardRequestDTO awardRequestDTO) throws AccessDeniedException;
 
     Page<AwardResponseDTO> getAwardByYear(String year, int page, int size);
+
+    Page<NomineeResponse> getNominees(String awardId, Boolean approved, int page, int size);
 }
@@ -0,0 +1,15 @@
+package com.hrsupportcentresq014.services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Storage backend for uploaded files. Keys are SHA-256 content hashes, so storing the same key twice
+ * always means storing the same bytes.
+ */
+public interface BlobStore {
+    /**
+     * Stores the file under the given key and returns the URL clients should use to fetch it.
+     */
+    String put(String key, Path file, String contentType) throws IOException;
+}
@@ -0,0 +1,10 @@
+package com.hrsupportcentresq014.services;
+
+import com.hrsupportcentresq014.dtos.response.DepartmentRosterResponse;
+import com.hrsupportcentresq014.dtos.response.TeamRosterResponse;
+
+public interface DepartmentService {
+    DepartmentRosterResponse getDepartmentRoster(String departmentId);
+
+    TeamRosterResponse getTeamRoster(String teamId);
+}
@@ -10,25 +10,38 @@ import com.hrsupportcentresq014.entities.Employee;
 import com.hrsupportcentresq014.exceptions.DuplicateProcessException;
 
 import com.hrsupportcentresq014.dtos.response.EmployeeViewProfileResponse;
+import com.hrsupportcentresq014.dtos.response.StaffSuggestion;
+import com.hrsupportcentresq014.dtos.response.UploadStatusResponse;
 import com.hrsupportcentresq014.exceptions.UserAlreadyExistsException;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+import java.util.Map;
+
 public interface EmployeeService {
     CreateHrResponseDTO createHr (CreateHrResponseDTO hrDTO) throws UserAlreadyExistsException;
 
     EmployeeProfileRequest updateEmployeeProfile(EmployeeProfileRequest employeeProfileRequest);
 
+    EmployeeViewProfileResponse patchEmployeeProfile(Map<String, Object> changes, Long expectedVersion);
+
     String uploadDocument(MultipartFile multipartFile);
 
     String uploadImage(MultipartFile multipartFile);
 
     String uploadResume(MultipartFile multipartFile);
 
+    UploadStatusResponse uploadImageAsync(MultipartFile multipartFile);
+
+    UploadStatusResponse uploadResumeAsync(MultipartFile multipartFile);
+
+    UploadStatusResponse getUploadStatus(String uploadId);
 
-//    String nominate(NominationRequest request) throws DuplicateProcessException;
-//
-//    String approveNomination(NominationApprovalRequest request) throws Exception;
+
+    String nominate(NominationRequest request) throws DuplicateProcessException;
+
+    String approveNomination(NominationApprovalRequest request) throws DuplicateProcessException;
 
     boolean verifyCurrentPassword(Employee employee, String enteredPassword);
 
@@ -37,4 +50,6 @@ public interface EmployeeService {
   
     EmployeeViewProfileResponse viewProfile();
 
+    List<StaffSuggestion> searchStaff(String query, int limit);
+
 }
@@ -0,0 +1,39 @@
+package com.hrsupportcentresq014.services;
+
+import com.hrsupportcentresq014.dtos.response.HeadcountResponse;
+import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.enums.HeadcountDimension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface HeadcountService {
+    /**
+     * Moves one employee from the bucket they were counted in, if any, to the bucket matching their current fields.
+     */
+    void recordSave(String previousKey, Employee employee);
+
+    void recordRemoval(String key);
+
+    /**
+     * Adds count employees to the bucket for the given fields. Used when existing employees are first counted.
+     */
+    void add(String department, String contractType, String workLocation, String position, long count);
+
+    /**
+     * Recounts the employee collection and corrects any bucket that has drifted from it, for instance because a
+     * bucket update failed after its employee was saved. Also takes the day's snapshot if no request has yet.
+     */
+    void reconcile();
+
+    HeadcountResponse getHeadcount(Set<HeadcountDimension> groupBy, Map<HeadcountDimension, String> filters);
+
+    /**
+     * Returns one headcount per day from from to to. Days without a snapshot of their own, because nothing was
+     * written or the application was down, carry the counts of the last snapshot before them.
+     */
+    List<HeadcountResponse> getTrend(LocalDate from, LocalDate to, Set<HeadcountDimension> groupBy,
+                                     Map<HeadcountDimension, String> filters);
+}
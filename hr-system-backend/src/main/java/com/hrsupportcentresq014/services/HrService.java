@@ -7,12 +7,16 @@ import com.hrsupportcentresq014.dtos.request.JobUpdateRequest;
 import com.hrsupportcentresq014.dtos.response.CreateStaffResponse;
 import com.hrsupportcentresq014.dtos.response.JobPostingResponse;
 import com.hrsupportcentresq014.dtos.response.ViewStaffResponse;
+import com.hrsupportcentresq014.enums.StaffAttribute;
 import com.hrsupportcentresq014.exceptions.EmployeeNotFoundException;
 import com.hrsupportcentresq014.exceptions.InvalidDateChoiceException;
 import com.hrsupportcentresq014.exceptions.UserAlreadyExistsException;
 import jakarta.mail.MessagingException;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+import java.util.Map;
+
 
 public interface HrService {
     ResponseEntity<CreateStaffResponse> registerStaff(CreateStaffRequest staff) throws UserAlreadyExistsException, MessagingException;
@@ -23,5 +27,9 @@ public interface HrService {
 
     ViewStaffResponse viewAllStaff(int pageNo, int pageSize, String sortBy, String sortDir);
 
+    ViewStaffResponse filterStaff(Map<StaffAttribute, List<String>> filters, int pageNo, int pageSize);
+
+    long countStaff(Map<StaffAttribute, List<String>> filters);
+
     JobPostingResponse changeJobStatus(JobUpdateRequest request) throws InvalidDateChoiceException, EmployeeNotFoundException;
 }
@@ -0,0 +1,11 @@
+package com.hrsupportcentresq014.services;
+
+import java.nio.file.Path;
+
+public interface ImageVariantService {
+    /**
+     * Queues resized variants of the given profile image. The source is copied before this returns,
+     * so the caller may delete it straight away.
+     */
+    void scheduleVariants(String employeeEmail, String originalUrl, Path source);
+}
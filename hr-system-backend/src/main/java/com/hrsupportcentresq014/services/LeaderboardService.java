@@ -0,0 +1,10 @@
+package com.hrsupportcentresq014.services;
+
+import com.hrsupportcentresq014.dtos.response.LeaderboardResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface LeaderboardService {
+    LeaderboardResponse getLeaderboard(String awardId, int size);
+
+    SseEmitter streamRankChanges(String awardId);
+}
@@ -0,0 +1,23 @@
+package com.hrsupportcentresq014.services;
+
+import com.hrsupportcentresq014.dtos.response.OrgNodeResponse;
+import com.hrsupportcentresq014.dtos.response.SpanOfControlResponse;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+public interface OrgTreeService {
+    /**
+     * Returns the employee's direct reports, or everyone below them when indirect is true, nearest levels first.
+     */
+    Page<OrgNodeResponse> getReports(String employeeId, boolean indirect, int page, int size);
+
+    /**
+     * Returns the employee's managers up to the top of the organisation, nearest first.
+     */
+    List<OrgNodeResponse> getReportingChain(String employeeId);
+
+    SpanOfControlResponse getSpanOfControl(String employeeId);
+
+    void assignManager(String employeeId, String managerId);
+}
@@ -1,9 +1,8 @@
 package com.hrsupportcentresq014.services;
 
-import jakarta.mail.MessagingException;
 import org.springframework.http.ResponseEntity;
 
 public interface PasswordResetRequestService {
-    ResponseEntity<String> resetPassword(String email) throws MessagingException;
+    ResponseEntity<String> resetPassword(String email);
     ResponseEntity<String> completePasswordReset(String resetToken, String newPassword);
 }
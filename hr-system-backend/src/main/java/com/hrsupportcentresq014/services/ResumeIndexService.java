@@ -0,0 +1,16 @@
+package com.hrsupportcentresq014.services;
+
+import com.hrsupportcentresq014.dtos.response.ResumeSearchResponse;
+import com.hrsupportcentresq014.entities.Employee;
+import org.springframework.data.domain.Page;
+
+import java.nio.file.Path;
+
+public interface ResumeIndexService {
+    /**
+     * Queues text extraction for an uploaded resume. The file is copied before this returns.
+     */
+    void scheduleIndexing(Employee employee, String resumeUrl, Path resume, String contentType);
+
+    Page<ResumeSearchResponse> search(String query, int page, int size);
+}
@@ -0,0 +1,16 @@
+package com.hrsupportcentresq014.services;
+
+import com.hrsupportcentresq014.dtos.response.AwardResponseDTO;
+import com.hrsupportcentresq014.dtos.response.JobPostingResponse;
+import com.hrsupportcentresq014.dtos.response.SyncResponse;
+import com.hrsupportcentresq014.dtos.response.ViewStaffResponseDTO;
+
+import java.time.LocalDateTime;
+
+public interface SyncService {
+    SyncResponse<ViewStaffResponseDTO> staffChanges(LocalDateTime since, String after, int limit);
+
+    SyncResponse<JobPostingResponse> jobChanges(LocalDateTime since, String after, int limit);
+
+    SyncResponse<AwardResponseDTO> awardChanges(LocalDateTime since, String after, int limit);
+}
@@ -6,5 +6,5 @@ import org.springframework.stereotype.Service;
 
 @Service
 public interface TokenService {
-    AuthenticationResponse authenticateUser(AuthenticationRequest request);
+    AuthenticationResponse authenticateUser(AuthenticationRequest request, boolean includeProfile);
 }
@@ -0,0 +1,23 @@
+package com.hrsupportcentresq014.services;
+
+import com.hrsupportcentresq014.dtos.response.UploadStatusResponse;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+import java.util.function.BiConsumer;
+
+public interface UploadService {
+    String upload(MultipartFile multipartFile);
+
+    /**
+     * Uploads the file and then hands onStored the URL together with the local copy, which is only
+     * valid until onStored returns.
+     */
+    String upload(MultipartFile multipartFile, BiConsumer<String, Path> onStored);
+
+    UploadStatusResponse uploadAsync(MultipartFile multipartFile, String owner, BiConsumer<String, Path> onComplete);
+
+    UploadStatusResponse getStatus(String uploadId, String owner);
+
+    String store(Path file, String contentType);
+}
@@ -1,21 +1,39 @@
 package com.hrsupportcentresq014.services.serviceImpl;
 
+import com.hrsupportcentresq014.cache.AwardCache;
 import com.hrsupportcentresq014.dtos.request.AwardRequestDTO;
 import com.hrsupportcentresq014.dtos.response.AllAwardsResponseDTO;
 import com.hrsupportcentresq014.dtos.response.AwardResponseDTO;
+import com.hrsupportcentresq014.dtos.response.AwardSummary;
+import com.hrsupportcentresq014.dtos.response.NomineeResponse;
 import com.hrsupportcentresq014.entities.Award;
 
+import com.hrsupportcentresq014.entities.Nominee;
 import com.hrsupportcentresq014.exceptions.AwardsNotFoundException;
+import com.hrsupportcentresq014.exceptions.ResourceAlreadyException;
+import com.hrsupportcentresq014.exceptions.ResourceNotFoundException;
+import com.hrsupportcentresq014.mappers.AwardMapper;
 import com.hrsupportcentresq014.repositories.AwardRepository;
 import com.hrsupportcentresq014.services.AwardService;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * The AwardsServiceImpl class implements the AwardService interface to handle award-related operations.
@@ -24,6 +42,8 @@ import java.util.List;
  * Key Features:
  * - Supports the creation of new awards with title, description, and year.
  * - Allows retrieval of awards by a specific year and fetching all awards paginated.
+ * - Serves the awards-by-year pages from the AwardCache and refuses a second award with the same title in a year.
+ * - Lists awards as summaries with nominee counts, and pages through an award's nominees separately.
  * - Implements error handling for cases where awards are not found or encountered exceptions.
  *
  * If I were to solve this problem again:
@@ -37,11 +57,22 @@ import java.util.List;
 @Service
 public class AwardsServiceImpl implements AwardService {
 
+    private static final String[] SUMMARY_FIELDS = {"title", "description", "year", "date"};
+    private static final String[] NOMINEE_FIELDS =
+            {"nomineeId", "nomineeName", "nomineeEmail", "department", "votes", "approved"};
+
     private final AwardRepository awardsRepository;
+    private final AwardMapper awardMapper;
+    private final MongoTemplate mongoTemplate;
+    private final AwardCache awardCache;
 
 
-    public AwardsServiceImpl(AwardRepository awardsRepository) {
+    public AwardsServiceImpl(AwardRepository awardsRepository, AwardMapper awardMapper, MongoTemplate mongoTemplate,
+                             AwardCache awardCache) {
         this.awardsRepository = awardsRepository;
+        this.awardMapper = awardMapper;
+        this.mongoTemplate = mongoTemplate;
+        this.awardCache = awardCache;
     }
 
 
@@ -55,29 +86,29 @@ public class AwardsServiceImpl implements AwardService {
         awards.setTitle(awardRequestDTO.getTitle());
         awards.setDescription(awardRequestDTO.getDescription());
         awards.setYear(LocalDate.now().getYear());
-        Award savedAward = awardsRepository.save(awards);
+        Award savedAward;
+        try {
+            savedAward = awardsRepository.save(awards);
+        } catch (DuplicateKeyException e) {
+            throw new ResourceAlreadyException("Award " + awards.getTitle() + " already exists for " + awards.getYear());
+        } finally {
+            awardCache.evictAll();
+        }
 
         return "Award created successfully: " + savedAward.getTitle();
     }
 
     @Override
     public Page<AwardResponseDTO> getAwardByYear(String year, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Award> awardsPage = awardsRepository.findAwardByYear(Integer.parseInt(year), pageable);
+        Pageable pageable = PageRequest.of(page, size, Sort.by("title"));
+        Page<AwardResponseDTO> awardsPage = awardCache.yearPage(Integer.parseInt(year), page, size,
+                () -> awardsRepository.findAwardByYear(Integer.parseInt(year), pageable).map(awardMapper::toResponse));
 
         if (awardsPage.isEmpty()) {
             throw new AwardsNotFoundException(String.format("Award not found for year %s", year));
         }
 
-        return awardsPage.map(this::toResponseDTO);
-    }
-
-    private AwardResponseDTO toResponseDTO(Award award) {
-        return AwardResponseDTO.builder()
-                .title(award.getTitle())
-                .description(award.getDescription())
-                .year(award.getYear())
-                .build();
+        return awardsPage;
     }
 
     @Override
@@ -85,11 +116,18 @@ public class AwardsServiceImpl implements AwardService {
 
         Sort sort = Sort.by(Sort.Direction.DESC,"year");
         PageRequest paging =  PageRequest.of(pageNo,pageSize,sort);
-        Page<Award> pageRewards = awardsRepository.findAll(paging);
-        List<Award> awardList = pageRewards.getContent();
+        Query query = new Query().with(paging);
+        query.fields().include(SUMMARY_FIELDS);
+        List<Award> awardList = mongoTemplate.find(query, Award.class);
+        long total = mongoTemplate.count(new Query(), Award.class);
+        Map<String, Document> counts = nomineeCounts(awardList.stream().map(Award::getId).toList());
+
+        Page<AwardSummary> pageRewards = new PageImpl<>(awardList.stream()
+                .map(award -> toSummary(award, counts.get(award.getId())))
+                .toList(), paging, total);
 
         var rewards = AllAwardsResponseDTO.builder()
-                .awardList(awardList)
+                .awardList(pageRewards.getContent())
                 .currentPage(pageRewards.getNumber())
                 .totalElement(pageRewards.getTotalElements())
                 .totalPage(pageRewards.getTotalPages())
@@ -97,5 +135,58 @@ public class AwardsServiceImpl implements AwardService {
 
         return rewards;
     }
-}
 
+    @Override
+    public Page<NomineeResponse> getNominees(String awardId, Boolean approved, int page, int size) {
+        if (!mongoTemplate.exists(Query.query(Criteria.where("_id").is(awardId)), Award.class)) {
+            throw new ResourceNotFoundException("Award " + awardId + " not found");
+        }
+        Criteria criteria = Criteria.where("awardId").is(awardId);
+        if (approved != null) {
+            criteria.and("approved").is(approved);
+        }
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "votes").and(Sort.by("_id")));
+        Query query = Query.query(criteria).with(pageable);
+        query.fields().include(NOMINEE_FIELDS);
+        List<NomineeResponse> nominees = mongoTemplate.find(query, Nominee.class).stream()
+                .map(nominee -> NomineeResponse.builder()
+                        .id(nominee.getId())
+                        .nomineeId(nominee.getNomineeId())
+                        .nomineeName(nominee.getNomineeName())
+                        .nomineeEmail(nominee.getNomineeEmail())
+                        .department(nominee.getDepartment())
+                        .votes(nominee.getVotes())
+                        .approved(nominee.isApproved())
+                        .build())
+                .toList();
+        return PageableExecutionUtils.getPage(nominees, pageable,
+                () -> mongoTemplate.count(Query.query(criteria), Nominee.class));
+    }
+
+    // One grouped query for the whole page, answered from the awardId prefix of the nominee indexes.
+    private Map<String, Document> nomineeCounts(List<String> awardIds) {
+        if (awardIds.isEmpty()) {
+            return Map.of();
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                context -> new Document("$match", new Document("awardId", new Document("$in", awardIds))),
+                context -> new Document("$group", new Document("_id", "$awardId")
+                        .append("nominees", new Document("$sum", 1))
+                        .append("approved", new Document("$sum", new Document("$cond", List.of("$approved", 1, 0))))));
+        return mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(Nominee.class), Document.class)
+                .getMappedResults().stream()
+                .collect(Collectors.toMap(count -> count.get("_id").toString(), Function.identity()));
+    }
+
+    private AwardSummary toSummary(Award award, Document counts) {
+        return AwardSummary.builder()
+                .id(award.getId())
+                .title(award.getTitle())
+                .description(award.getDescription())
+                .year(award.getYear())
+                .date(award.getDate())
+                .nomineeCount(counts == null ? 0 : counts.get("nominees", Number.class).longValue())
+                .approvedNomineeCount(counts == null ? 0 : counts.get("approved", Number.class).longValue())
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import com.cloudinary.Cloudinary;
+import com.hrsupportcentresq014.services.BlobStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "application.blob-store.type", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryBlobStore implements BlobStore {
+    private final Cloudinary cloudinary;
+
+    @Override
+    public String put(String key, Path file, String contentType) throws IOException {
+        return cloudinary.uploader()
+                .upload(file.toFile(), Map.of("public_id", key))
+                .get("url")
+                .toString();
+    }
+}
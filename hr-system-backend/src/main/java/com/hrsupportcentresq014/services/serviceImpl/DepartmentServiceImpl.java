@@ -0,0 +1,103 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import com.hrsupportcentresq014.dtos.response.DepartmentRosterResponse;
+import com.hrsupportcentresq014.dtos.response.TeamRosterResponse;
+import com.hrsupportcentresq014.entities.Department;
+import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.entities.Team;
+import com.hrsupportcentresq014.exceptions.ResourceNotFoundException;
+import com.hrsupportcentresq014.services.DepartmentService;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * The DepartmentServiceImpl class builds department and team rosters.
+ *
+ * Key Features:
+ * - Loads a roster with one aggregation that joins the members, leads and teams with $lookup, so the
+ *   number of round trips does not grow with the size of the department.
+ * - Projects each member down to the fields a roster shows before it leaves the database.
+ * - Uses the concise $lookup form with localField and a pipeline, which needs MongoDB 5.0 or later.
+ */
+
+@Service
+@RequiredArgsConstructor
+public class DepartmentServiceImpl implements DepartmentService {
+    private static final Document MEMBER_FIELDS = new Document("firstName", 1)
+            .append("lastName", 1)
+            .append("email", 1)
+            .append("position", 1)
+            .append("imageUrl", new Document("$ifNull", List.of("$imageThumbnailUrl", "$imageUrl")));
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public DepartmentRosterResponse getDepartmentRoster(String departmentId) {
+        Document teamFields = new Document("name", 1)
+                .append("teamLeaderId", "$teamLeader")
+                .append("memberCount", new Document("$size", new Document("$ifNull", List.of("$listOfEmployee", List.of()))));
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                matchId(departmentId),
+                lookup(mongoTemplate.getCollectionName(Employee.class), "departmentLead", MEMBER_FIELDS, "departmentLead"),
+                lookup(mongoTemplate.getCollectionName(Employee.class), "listOfEmployee", MEMBER_FIELDS, "members"),
+                lookup(mongoTemplate.getCollectionName(Team.class), "listOfTeam", teamFields, "teams"),
+                project(new Document("departmentName", 1)
+                        .append("departmentLead", firstElement("$departmentLead"))
+                        .append("members", 1)
+                        .append("teams", 1)));
+
+        DepartmentRosterResponse roster = mongoTemplate.aggregate(aggregation,
+                mongoTemplate.getCollectionName(Department.class), DepartmentRosterResponse.class).getUniqueMappedResult();
+        if (roster == null) {
+            throw new ResourceNotFoundException("Department " + departmentId + " not found");
+        }
+        return roster;
+    }
+
+    @Override
+    public TeamRosterResponse getTeamRoster(String teamId) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                matchId(teamId),
+                lookup(mongoTemplate.getCollectionName(Employee.class), "teamLeader", MEMBER_FIELDS, "teamLeader"),
+                lookup(mongoTemplate.getCollectionName(Employee.class), "listOfEmployee", MEMBER_FIELDS, "members"),
+                project(new Document("name", 1)
+                        .append("teamLeader", firstElement("$teamLeader"))
+                        .append("members", 1)));
+
+        TeamRosterResponse roster = mongoTemplate.aggregate(aggregation,
+                mongoTemplate.getCollectionName(Team.class), TeamRosterResponse.class).getUniqueMappedResult();
+        if (roster == null) {
+            throw new ResourceNotFoundException("Team " + teamId + " not found");
+        }
+        return roster;
+    }
+
+    private AggregationOperation matchId(String id) {
+        Object key = ObjectId.isValid(id) ? new ObjectId(id) : id;
+        return context -> new Document("$match", new Document("_id", key));
+    }
+
+    private AggregationOperation lookup(String from, String localField, Document fields, String as) {
+        return context -> new Document("$lookup", new Document("from", from)
+                .append("localField", localField)
+                .append("foreignField", "_id")
+                .append("pipeline", List.of(new Document("$project", fields)))
+                .append("as", as));
+    }
+
+    private AggregationOperation project(Document fields) {
+        return context -> new Document("$project", fields);
+    }
+
+    private Document firstElement(String arrayField) {
+        return new Document("$arrayElemAt", List.of(arrayField, 0));
+    }
+}
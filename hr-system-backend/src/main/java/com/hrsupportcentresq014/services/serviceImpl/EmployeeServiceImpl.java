@@ -1,24 +1,42 @@
 package com.hrsupportcentresq014.services.serviceImpl;
 
-import com.cloudinary.Cloudinary;
+import com.hrsupportcentresq014.cache.AwardLeaderboard;
+import com.hrsupportcentresq014.cache.EntityTagCache;
+import com.hrsupportcentresq014.cache.StaffSearchIndex;
 import com.hrsupportcentresq014.dtos.request.ChangePasswordRequest;
 import com.hrsupportcentresq014.dtos.request.EmployeeProfileRequest;
 import com.hrsupportcentresq014.dtos.request.NominationApprovalRequest;
 import com.hrsupportcentresq014.dtos.request.NominationRequest;
 import com.hrsupportcentresq014.dtos.response.CreateHrResponseDTO;
 import com.hrsupportcentresq014.dtos.response.EmployeeViewProfileResponse;
+import com.hrsupportcentresq014.dtos.response.StaffSuggestion;
+import com.hrsupportcentresq014.dtos.response.UploadStatusResponse;
+import com.hrsupportcentresq014.entities.Award;
 import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.entities.NominationReason;
 import com.hrsupportcentresq014.entities.Nominee;
 import com.hrsupportcentresq014.exceptions.*;
+import com.hrsupportcentresq014.mappers.EmployeeMapper;
 import com.hrsupportcentresq014.repositories.AwardRepository;
 import com.hrsupportcentresq014.repositories.EmployeeRepository;
 import com.hrsupportcentresq014.repositories.NomineeRepository;
 import com.hrsupportcentresq014.repositories.RoleRepository;
 import com.hrsupportcentresq014.security_config.utils.SecurityUtils;
 import com.hrsupportcentresq014.services.EmployeeService;
+import com.hrsupportcentresq014.services.ImageVariantService;
+import com.hrsupportcentresq014.services.ResumeIndexService;
+import com.hrsupportcentresq014.services.UploadService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrsupportcentresq014.entities.NextOfKin;
+import com.hrsupportcentresq014.utils.Social;
+import com.mongodb.client.result.UpdateResult;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.BeanUtils;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -26,12 +44,14 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 /**
  * The EmployeeServiceImpl class implements the business logic for managing employees in the HR Support Centre system.
@@ -43,6 +63,8 @@ import java.util.UUID;
  * - Allows uploading profile pictures and resumes for employees.
  * - Enables employees to view their profiles with relevant information.
  * - Implements password change functionality with verification of the current password.
+ * - Suggests colleagues as a name, email or position is typed, from the in-memory StaffSearchIndex.
+ * - Records award nominations and approvals as single conditional updates on the nominee document.
  *
  * If I were to solve this problem again:
  * - I would enhance security measures, such as implementing two-factor authentication for sensitive operations.
@@ -58,15 +80,43 @@ import java.util.UUID;
 
 public class EmployeeServiceImpl implements EmployeeService {
 
+    // Fields an employee may change on their own profile, with the type each value must convert to.
+    private static final Map<String, Class<?>> PATCHABLE_FIELDS = Map.of(
+            "firstName", String.class,
+            "lastName", String.class,
+            "nickName", String.class,
+            "phoneNo", String.class,
+            "birthday", LocalDate.class,
+            "address", String.class,
+            "nextOfKin", NextOfKin.class,
+            "nationality", String.class,
+            "maritalStatus", String.class,
+            "social", Social.class
+    );
+
+    // Patchable fields every profile must keep, so a PATCH may change them but not remove or blank them.
+    private static final Set<String> REQUIRED_FIELDS = Set.of("firstName", "lastName");
+
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final List<String> SEARCH_FIELDS = List.of("firstName", "lastName", "nickName", "email", "position");
+    private static final int MAX_NOMINATION_REASONS = 50;
+
     private final RoleRepository roleRepository;
     private final EmployeeRepository employeeRepository;
     private final SecurityUtils securityUtils;
-    private final Cloudinary cloudinary;
-    private final ModelMapper modelMapper;
+    private final UploadService uploadService;
+    private final ImageVariantService imageVariantService;
+    private final ResumeIndexService resumeIndexService;
+    private final EmployeeMapper employeeMapper;
     private final MailServiceImpl mailService;
     private final PasswordEncoder passwordEncoder;
     private final AwardRepository awardRepository;
     private final NomineeRepository nomineeRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final EntityTagCache entityTagCache;
+    private final StaffSearchIndex staffSearchIndex;
+    private final AwardLeaderboard awardLeaderboard;
 
 
     @Override
@@ -80,8 +130,7 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new EmployeeExistsException("User already exists");
         }
 
-        Employee newEmployee1 = new Employee();
-        BeanUtils.copyProperties(hrDTO, newEmployee1);
+        Employee newEmployee1 = employeeMapper.toEmployee(hrDTO);
         newEmployee1.setRole(roleRepository.findRoleById("hr").get());
         newEmployee1.setPassword(passwordEncoder.encode(password));
 //
@@ -90,12 +139,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         String message = "   Welcome to Decagon!: " + hrDTO.getFirstName() + "Your password is : " + password + "  click here for a password Reset";
 //        mailService.sendAccountActivation(hrDTO.getEmail(), message);
         System.out.println(hrDTO.getEmail() + message);
-       Employee employee2 = employeeRepository.save(newEmployee1);
-
-
-        return modelMapper.map(employeeRepository.save(newEmployee1), CreateHrResponseDTO.class);
-//         CreateHrResponseDTO n = BeanUtils.copyProperties(employee2, CreateHrResponseDTO.class);
-//        return newEmployee1;
+        return employeeMapper.toCreateHrResponse(employeeRepository.save(newEmployee1));
 
     }
 
@@ -105,27 +149,69 @@ public class EmployeeServiceImpl implements EmployeeService {
         Optional<Employee> existingEmployee = employeeRepository.findByEmail(userEmail);
         if (existingEmployee.isPresent()) {
             Employee employee = existingEmployee.get();
-            BeanUtils.copyProperties(employeeProfileRequest, employee);
+            employeeMapper.updateEmployee(employeeProfileRequest, employee);
             return mapToEmployeeProfileRequest(employeeRepository.save(employee));
         }
         return null;
     }
 
     @Override
-    public String uploadDocument(MultipartFile multipartFile) {
-        try {
-            long fileSize = multipartFile.getSize();
-            if (fileSize > 1000 * 1024) {
-                throw new IllegalArgumentException("File size cannot be more than 1MB");
+    public EmployeeViewProfileResponse patchEmployeeProfile(Map<String, Object> changes, Long expectedVersion) {
+        String userEmail = securityUtils.getCurrentUserDetails().getUsername();
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+        Update update = new Update();
+        changes.forEach((field, value) -> {
+            Class<?> type = PATCHABLE_FIELDS.get(field);
+            if (type == null) {
+                throw new IllegalArgumentException("Field " + field + " cannot be updated");
             }
-            return cloudinary.uploader()
-                    .upload(multipartFile.getBytes(),
-                            Map.of("public_id", UUID.randomUUID().toString()))
-                    .get("url")
-                    .toString();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+            if (value == null) {
+                if (REQUIRED_FIELDS.contains(field)) {
+                    throw new IllegalArgumentException(field + " cannot be removed");
+                }
+                update.unset(field);
+            } else {
+                update.set(field, convertPatchValue(field, value, type));
+            }
+        });
+        update.set("updatedOn", LocalDateTime.now()).inc("version", 1);
+
+        Criteria criteria = Criteria.where("email").is(userEmail);
+        if (expectedVersion != null) {
+            criteria.and("version").is(expectedVersion);
         }
+        Employee updated = mongoTemplate.findAndModify(Query.query(criteria), update,
+                FindAndModifyOptions.options().returnNew(true), Employee.class);
+        if (updated == null) {
+            getEmployee(userEmail);
+            throw new StaleVersionException("Profile was changed by another request, reload it and try again");
+        }
+        entityTagCache.rememberEmployee(updated);
+        staffSearchIndex.put(updated);
+        return employeeMapper.toViewProfileResponse(updated);
+    }
+
+    private Object convertPatchValue(String field, Object value, Class<?> type) {
+        Object converted;
+        try {
+            converted = objectMapper.convertValue(value, type);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value for " + field);
+        }
+        if (converted instanceof String text && text.isBlank() && REQUIRED_FIELDS.contains(field)) {
+            throw new IllegalArgumentException(field + " cannot be blank");
+        }
+        if (converted instanceof LocalDate date && !date.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Birthday must be in the past");
+        }
+        return converted;
+    }
+
+    @Override
+    public String uploadDocument(MultipartFile multipartFile) {
+        return uploadService.upload(multipartFile);
     }
 
     public Employee getEmployee(String email) {
@@ -137,42 +223,200 @@ public class EmployeeServiceImpl implements EmployeeService {
     public String uploadImage(MultipartFile multipartFile) {
         String userEmail = securityUtils.getCurrentUserDetails().getUsername();
         Employee existingEmployee = getEmployee(userEmail);
-        String imageUrl = uploadDocument(multipartFile);
-        existingEmployee.setImageUrl(imageUrl);
-        existingEmployee.setUpdatedOn(LocalDateTime.now());
-        employeeRepository.save(existingEmployee);
-        return imageUrl;
+        return uploadService.upload(multipartFile, (imageUrl, image) -> {
+            saveImageUrl(existingEmployee, imageUrl);
+            imageVariantService.scheduleVariants(userEmail, imageUrl, image);
+        });
+    }
+
+    @Override
+    public UploadStatusResponse uploadImageAsync(MultipartFile multipartFile) {
+        String userEmail = securityUtils.getCurrentUserDetails().getUsername();
+        getEmployee(userEmail);
+        return uploadService.uploadAsync(multipartFile, userEmail, (imageUrl, image) -> {
+            saveImageUrl(getEmployee(userEmail), imageUrl);
+            imageVariantService.scheduleVariants(userEmail, imageUrl, image);
+        });
+    }
+
+    // Variants of the previous image no longer apply; they are filled in again once the new ones are made.
+    private void saveImageUrl(Employee employee, String imageUrl) {
+        employee.setImageUrl(imageUrl);
+        employee.setImageThumbnailUrl(null);
+        employee.setImageMediumUrl(null);
+        employee.setUpdatedOn(LocalDateTime.now());
+        employeeRepository.save(employee);
     }
 
     @Override
     public String uploadResume(MultipartFile multipartFile) {
         String userEmail = securityUtils.getCurrentUserDetails().getUsername();
         Employee existingEmployee = getEmployee(userEmail);
+        String contentType = validateResumeType(multipartFile);
+        return uploadService.upload(multipartFile, (resumeUrl, resume) -> {
+            saveResumeUrl(existingEmployee, resumeUrl);
+            resumeIndexService.scheduleIndexing(existingEmployee, resumeUrl, resume, contentType);
+        });
+    }
+
+    @Override
+    public UploadStatusResponse uploadResumeAsync(MultipartFile multipartFile) {
+        String userEmail = securityUtils.getCurrentUserDetails().getUsername();
+        getEmployee(userEmail);
+        String contentType = validateResumeType(multipartFile);
+        return uploadService.uploadAsync(multipartFile, userEmail, (resumeUrl, resume) -> {
+            Employee employee = getEmployee(userEmail);
+            saveResumeUrl(employee, resumeUrl);
+            resumeIndexService.scheduleIndexing(employee, resumeUrl, resume, contentType);
+        });
+    }
+
+    private void saveResumeUrl(Employee employee, String resumeUrl) {
+        employee.setResumeUrl(resumeUrl);
+        employee.setUpdatedOn(LocalDateTime.now());
+        employeeRepository.save(employee);
+    }
+
+    @Override
+    public UploadStatusResponse getUploadStatus(String uploadId) {
+        String userEmail = securityUtils.getCurrentUserDetails().getUsername();
+        return uploadService.getStatus(uploadId, userEmail);
+    }
+
+    private String validateResumeType(MultipartFile multipartFile) {
         String fileType = multipartFile.getContentType();
         if (
-                !fileType.equals("application/pdf")
+                fileType == null
+                        || !fileType.equals("application/pdf")
                         && !fileType.equals("application/vnd.openxmlformats-officedocument.wordprocessingml.document")
                         && !fileType.equals("application/msword")
         ) {
             throw new IllegalArgumentException("Unsupported file type");
         }
-        String resumeUrl = uploadDocument(multipartFile);
-        existingEmployee.setResumeUrl(resumeUrl);
-        existingEmployee.setUpdatedOn(LocalDateTime.now());
-        employeeRepository.save(existingEmployee);
-        return resumeUrl;
+        return fileType;
     }
 
     @Override
     public EmployeeViewProfileResponse viewProfile() {
         String email = securityUtils.getCurrentUserDetails().getUsername();
-        Employee employee = getEmployee(email);
+        return employeeMapper.toViewProfileResponse(getEmployee(email));
+    }
 
-        EmployeeViewProfileResponse employeeViewProfileResponse = new EmployeeViewProfileResponse();
-        BeanUtils.copyProperties(employee, employeeViewProfileResponse);
-        return employeeViewProfileResponse;
+    @Override
+    public List<StaffSuggestion> searchStaff(String query, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        if (staffSearchIndex.isReady()) {
+            return staffSearchIndex.search(query, size);
+        }
+
+        // Prefix match on the whole query only, until the index has loaded.
+        Pattern prefix = Pattern.compile("^" + Pattern.quote(query.trim()), Pattern.CASE_INSENSITIVE);
+        Query search = Query.query(new Criteria().orOperator(SEARCH_FIELDS.stream()
+                .map(field -> Criteria.where(field).regex(prefix))
+                .toList())).limit(size);
+        search.fields().include(SEARCH_FIELDS.toArray(String[]::new));
+        return mongoTemplate.find(search, Employee.class).stream()
+                .map(employee -> StaffSuggestion.builder()
+                        .id(employee.getId())
+                        .firstName(employee.getFirstName())
+                        .lastName(employee.getLastName())
+                        .nickName(employee.getNickName())
+                        .email(employee.getEmail())
+                        .position(employee.getPosition())
+                        .build())
+                .toList();
     }
 
+    @Override
+    public String nominate(NominationRequest request) throws DuplicateProcessException {
+        Employee nominator = findEmployeeByEmail(securityUtils.getCurrentUserDetails().getUsername());
+        Employee nominee = findEmployeeByEmail(request.getNomineeEmail());
+        if (nominee.getId().equals(nominator.getId())) {
+            throw new IllegalArgumentException("You cannot nominate yourself");
+        }
+        Award award = findCurrentAward(request.getAwardTitle());
+
+        // Matches only while this nominator has not voted, so $addToSet and $inc always move together.
+        Query notYetVoted = Query.query(Criteria.where("awardId").is(award.getId())
+                .and("nomineeId").is(nominee.getId())
+                .and("nominatorIds").ne(nominator.getId()));
+        LocalDateTime now = LocalDateTime.now();
+        Update vote = new Update()
+                .addToSet("nominatorIds", nominator.getId())
+                .inc("votes", 1)
+                .set("updatedOn", now)
+                .setOnInsert("nomineeEmail", nominee.getEmail())
+                .setOnInsert("nomineeName", nominee.getFirstName() + " " + nominee.getLastName())
+                .setOnInsert("department", nominee.getDepartment())
+                .setOnInsert("approved", false)
+                .setOnInsert("createdOn", now);
+        vote.push("reasons").slice(-MAX_NOMINATION_REASONS).each(NominationReason.builder()
+                .nominatorId(nominator.getId())
+                .reason(request.getReason())
+                .nominatedOn(now)
+                .build());
+
+        notYetVoted.fields().exclude("nominatorIds", "reasons");
+        Nominee recorded;
+        try {
+            recorded = mongoTemplate.findAndModify(notYetVoted, vote,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), Nominee.class);
+        } catch (DuplicateKeyException e) {
+            // Either this nominator already voted, or another first vote created the document a moment ago.
+            recorded = mongoTemplate.findAndModify(notYetVoted, vote,
+                    FindAndModifyOptions.options().returnNew(true), Nominee.class);
+        }
+        if (recorded == null) {
+            throw new DuplicateProcessException("You have already nominated " + nominee.getEmail() + " for " + award.getTitle());
+        }
+        awardLeaderboard.put(recorded);
+        entityTagCache.evictCollection(Nominee.class);
+        return "Nomination for " + nominee.getEmail() + " recorded";
+    }
+
+    @Override
+    public String approveNomination(NominationApprovalRequest request) throws DuplicateProcessException {
+        String approver = securityUtils.getCurrentUserDetails().getUsername();
+        Employee nominee = findEmployeeByEmail(request.getNomineeEmail());
+        Award award = findCurrentAward(request.getAwardTitle());
+
+        Query nomination = Query.query(Criteria.where("awardId").is(award.getId()).and("nomineeId").is(nominee.getId()));
+        LocalDateTime now = LocalDateTime.now();
+        UpdateResult result = mongoTemplate.updateFirst(Query.of(nomination).addCriteria(Criteria.where("approved").is(false)),
+                new Update().set("approved", true)
+                        .set("approvedBy", approver)
+                        .set("approvedOn", now)
+                        .set("updatedOn", now),
+                Nominee.class);
+        if (result.getMatchedCount() == 0) {
+            if (mongoTemplate.exists(nomination, Nominee.class)) {
+                throw new DuplicateProcessException("Nomination of " + nominee.getEmail() + " is already approved");
+            }
+            throw new ResourceNotFoundException(nominee.getEmail() + " has not been nominated for " + award.getTitle());
+        }
+        entityTagCache.evictCollection(Nominee.class);
+        return "Nomination of " + nominee.getEmail() + " approved";
+    }
+
+    private Employee findEmployeeByEmail(String email) {
+        Query query = Query.query(Criteria.where("email").is(email));
+        query.fields().include("firstName", "lastName", "email", "department");
+        Employee employee = mongoTemplate.findOne(query, Employee.class);
+        if (employee == null) {
+            throw new ResourceNotFoundException("User with email: " + email + " not found");
+        }
+        return employee;
+    }
+
+    private Award findCurrentAward(String title) {
+        return awardRepository.findAwardByTitleAndYear(title, LocalDate.now().getYear())
+                .orElseThrow(() -> new ResourceNotFoundException("Award " + title + " not found for this year"));
+    }
+
+
 
         public EmployeeProfileRequest mapToEmployeeProfileRequest (Employee employee){
             return EmployeeProfileRequest.builder()
@@ -0,0 +1,72 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.entities.HeadcountBucket;
+import com.hrsupportcentresq014.services.HeadcountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeDeleteEvent;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Feeds employee saves and deletes into the materialized headcount.
+ *
+ * Each employee records the bucket it is counted in, so a save only needs the old and new keys to move
+ * it. The old key is the one the entity was loaded or last saved with, so a save that fails and is
+ * retried with the same object still moves the employee. Deletes only carry a filter, so the keys of
+ * the matching employees are read before the delete and released after it.
+ */
+@Component
+@RequiredArgsConstructor
+public class HeadcountListener extends AbstractMongoEventListener<Employee> {
+    private final HeadcountService headcountService;
+    private final MongoTemplate mongoTemplate;
+    private final ThreadLocal<List<String>> keysBeingDeleted = new ThreadLocal<>();
+
+    @Override
+    public void onAfterConvert(AfterConvertEvent<Employee> event) {
+        Employee employee = event.getSource();
+        employee.setPreviousHeadcountKey(employee.getHeadcountKey());
+    }
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<Employee> event) {
+        Employee employee = event.getSource();
+        employee.setHeadcountKey(HeadcountBucket.keyOf(employee));
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Employee> event) {
+        Employee employee = event.getSource();
+        headcountService.recordSave(employee.getPreviousHeadcountKey(), employee);
+        employee.setPreviousHeadcountKey(employee.getHeadcountKey());
+    }
+
+    @Override
+    public void onBeforeDelete(BeforeDeleteEvent<Employee> event) {
+        Query query = new BasicQuery(event.getSource());
+        query.fields().include("headcountKey");
+        keysBeingDeleted.set(mongoTemplate.find(query, Employee.class).stream()
+                .map(Employee::getHeadcountKey)
+                .filter(key -> key != null)
+                .toList());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Employee> event) {
+        List<String> keys = keysBeingDeleted.get();
+        keysBeingDeleted.remove();
+        if (keys != null) {
+            keys.forEach(headcountService::recordRemoval);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import com.hrsupportcentresq014.dtos.response.HeadcountResponse;
+import com.hrsupportcentresq014.dtos.response.HeadcountRow;
+import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.entities.HeadcountBucket;
+import com.hrsupportcentresq014.entities.HeadcountSnapshot;
+import com.hrsupportcentresq014.enums.HeadcountDimension;
+import com.hrsupportcentresq014.repositories.HeadcountBucketRepository;
+import com.hrsupportcentresq014.repositories.HeadcountSnapshotRepository;
+import com.hrsupportcentresq014.services.HeadcountService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The HeadcountServiceImpl class keeps and serves the materialized headcount.
+ *
+ * Key Features:
+ * - Moves an employee between headcount buckets with two $inc updates when their department, contract type,
+ *   work location or position changes, instead of recounting the employee collection.
+ * - Answers headcount questions from the bucket collection alone, grouped by any of the four fields.
+ * - Copies the buckets into a daily snapshot before the first change of each day, which feeds the trend charts.
+ * - Periodically recounts the employee collection and corrects drifted buckets, since a bucket update can fail
+ *   after the employee save it belongs to.
+ * - Fills days without a snapshot in the trend with the last snapshot before them.
+ */
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class HeadcountServiceImpl implements HeadcountService {
+    private static final long MAX_TREND_DAYS = 366;
+
+    private final HeadcountBucketRepository bucketRepository;
+    private final HeadcountSnapshotRepository snapshotRepository;
+    private final MongoTemplate mongoTemplate;
+    private volatile LocalDate lastSnapshot;
+
+    @Override
+    public void recordSave(String previousKey, Employee employee) {
+        String key = HeadcountBucket.keyOf(employee);
+        if (key.equals(previousKey)) {
+            return;
+        }
+        snapshotIfNewDay();
+        if (previousKey != null) {
+            decrement(previousKey);
+        }
+        add(employee.getDepartment(), employee.getContractType(), employee.getWorkLocation(), employee.getPosition(), 1);
+    }
+
+    @Override
+    public void recordRemoval(String key) {
+        snapshotIfNewDay();
+        decrement(key);
+    }
+
+    @Override
+    public void add(String department, String contractType, String workLocation, String position, long count) {
+        String key = HeadcountBucket.keyOf(department, contractType, workLocation, position);
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(key)),
+                new Update().inc("count", count)
+                        .set("updatedOn", LocalDateTime.now())
+                        .setOnInsert("department", department)
+                        .setOnInsert("contractType", contractType)
+                        .setOnInsert("workLocation", workLocation)
+                        .setOnInsert("position", position),
+                HeadcountBucket.class);
+    }
+
+    @Override
+    public void reconcile() {
+        snapshotIfNewDay();
+        // Buckets are read before the employees are counted, and a correction only applies if the bucket still holds
+        // the count read here. A bucket that moved in between is left for the next run rather than overwritten.
+        Map<String, Long> recorded = new HashMap<>();
+        for (HeadcountBucket bucket : bucketRepository.findAll()) {
+            recorded.put(bucket.getKey(), bucket.getCount());
+        }
+        Aggregation groups = Aggregation.newAggregation(
+                Aggregation.group("department", "contractType", "workLocation", "position").count().as("count"));
+        int corrected = 0;
+        for (Document group : mongoTemplate.aggregate(groups, Employee.class, Document.class)) {
+            Document fields = group.get("_id", Document.class);
+            String department = fields.getString("department");
+            String contractType = fields.getString("contractType");
+            String workLocation = fields.getString("workLocation");
+            String position = fields.getString("position");
+            String key = HeadcountBucket.keyOf(department, contractType, workLocation, position);
+            long actual = ((Number) group.get("count")).longValue();
+            Long count = recorded.remove(key);
+            if (count == null) {
+                try {
+                    mongoTemplate.insert(HeadcountBucket.builder()
+                            .key(key)
+                            .department(department)
+                            .contractType(contractType)
+                            .workLocation(workLocation)
+                            .position(position)
+                            .count(actual)
+                            .updatedOn(LocalDateTime.now())
+                            .build());
+                    corrected++;
+                } catch (DuplicateKeyException e) {
+                    log.debug("Headcount bucket {} was created while reconciling", key);
+                }
+            } else if (count != actual && correct(key, count, actual)) {
+                corrected++;
+            }
+        }
+        for (Map.Entry<String, Long> empty : recorded.entrySet()) {
+            if (empty.getValue() != 0 && correct(empty.getKey(), empty.getValue(), 0)) {
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            log.warn("Corrected {} headcount buckets that had drifted from the employee collection", corrected);
+        }
+    }
+
+    private boolean correct(String key, long expected, long actual) {
+        return mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(key).and("count").is(expected)),
+                new Update().set("count", actual).set("updatedOn", LocalDateTime.now()),
+                HeadcountBucket.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public HeadcountResponse getHeadcount(Set<HeadcountDimension> groupBy, Map<HeadcountDimension, String> filters) {
+        snapshotIfNewDay();
+        return summarize(null, bucketRepository.findByCountGreaterThan(0), groupBy, filters);
+    }
+
+    @Override
+    public List<HeadcountResponse> getTrend(LocalDate from, LocalDate to, Set<HeadcountDimension> groupBy,
+                                            Map<HeadcountDimension, String> filters) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_TREND_DAYS) {
+            throw new IllegalArgumentException("Trend range cannot be longer than " + MAX_TREND_DAYS + " days");
+        }
+        snapshotIfNewDay();
+        LocalDate last = to.isAfter(LocalDate.now()) ? LocalDate.now() : to;
+        Iterator<HeadcountSnapshot> snapshots = snapshotRepository.findFromTo(from, last).iterator();
+        HeadcountSnapshot next = snapshots.hasNext() ? snapshots.next() : null;
+        HeadcountSnapshot current = snapshotRepository.findFirstByDateLessThanOrderByDateDesc(from).orElse(null);
+        List<HeadcountResponse> trend = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(last); date = date.plusDays(1)) {
+            if (next != null && next.getDate().equals(date)) {
+                current = next;
+                next = snapshots.hasNext() ? snapshots.next() : null;
+            }
+            // Days before the first snapshot have no headcount to report.
+            if (current != null) {
+                trend.add(summarize(date, current.getBuckets(), groupBy, filters));
+            }
+        }
+        return trend;
+    }
+
+    private HeadcountResponse summarize(LocalDate date, List<HeadcountBucket> buckets, Set<HeadcountDimension> groupBy,
+                                        Map<HeadcountDimension, String> filters) {
+        Map<List<String>, Long> counts = new LinkedHashMap<>();
+        long total = 0;
+        for (HeadcountBucket bucket : buckets) {
+            boolean matches = filters.entrySet().stream()
+                    .allMatch(filter -> filter.getValue().equalsIgnoreCase(Objects.toString(filter.getKey().valueOf(bucket), "")));
+            if (!matches || bucket.getCount() <= 0) {
+                continue;
+            }
+            List<String> group = groupBy.stream()
+                    .map(dimension -> Objects.toString(dimension.valueOf(bucket), ""))
+                    .toList();
+            counts.merge(group, bucket.getCount(), Long::sum);
+            total += bucket.getCount();
+        }
+        List<HeadcountDimension> dimensions = List.copyOf(groupBy);
+        List<HeadcountRow> rows = counts.entrySet().stream()
+                .map(entry -> toRow(dimensions, entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong(HeadcountRow::getCount).reversed())
+                .collect(Collectors.toList());
+        return HeadcountResponse.builder()
+                .date(date)
+                .total(total)
+                .rows(rows)
+                .build();
+    }
+
+    private HeadcountRow toRow(List<HeadcountDimension> dimensions, List<String> values, long count) {
+        HeadcountRow row = HeadcountRow.builder().count(count).build();
+        for (int i = 0; i < dimensions.size(); i++) {
+            String value = values.get(i);
+            switch (dimensions.get(i)) {
+                case DEPARTMENT -> row.setDepartment(value);
+                case CONTRACT_TYPE -> row.setContractType(value);
+                case WORK_LOCATION -> row.setWorkLocation(value);
+                case POSITION -> row.setPosition(value);
+            }
+        }
+        return row;
+    }
+
+    private void decrement(String key) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(key)),
+                new Update().inc("count", -1).set("updatedOn", LocalDateTime.now()),
+                HeadcountBucket.class);
+    }
+
+    // Runs at most once per day per node; the insert races safely with other nodes through the date key.
+    private void snapshotIfNewDay() {
+        LocalDate today = LocalDate.now();
+        if (today.equals(lastSnapshot)) {
+            return;
+        }
+        if (!snapshotRepository.existsById(today)) {
+            List<HeadcountBucket> buckets = bucketRepository.findByCountGreaterThan(0);
+            try {
+                mongoTemplate.insert(HeadcountSnapshot.builder()
+                        .date(today)
+                        .total(buckets.stream().mapToLong(HeadcountBucket::getCount).sum())
+                        .buckets(buckets)
+                        .takenOn(LocalDateTime.now())
+                        .build());
+                log.info("Took headcount snapshot for {}", today);
+            } catch (DuplicateKeyException e) {
+                log.debug("Headcount snapshot for {} was taken by another node", today);
+            }
+        }
+        lastSnapshot = today;
+    }
+}
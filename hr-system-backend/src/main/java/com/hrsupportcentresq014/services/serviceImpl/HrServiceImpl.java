@@ -1,6 +1,7 @@
 package com.hrsupportcentresq014.services.serviceImpl;
 
 
+import com.hrsupportcentresq014.cache.StaffFilterIndex;
 import com.hrsupportcentresq014.dtos.request.CreateStaffRequest;
 import com.hrsupportcentresq014.dtos.request.JobPostingRequest;
 import com.hrsupportcentresq014.dtos.request.JobUpdateRequest;
@@ -12,7 +13,10 @@ import com.hrsupportcentresq014.entities.Employee;
 import com.hrsupportcentresq014.entities.Job;
 import com.hrsupportcentresq014.entities.Role;
 import com.hrsupportcentresq014.enums.JobStatus;
+import com.hrsupportcentresq014.enums.StaffAttribute;
 import com.hrsupportcentresq014.exceptions.*;
+import com.hrsupportcentresq014.mappers.EmployeeMapper;
+import com.hrsupportcentresq014.mappers.JobMapper;
 import com.hrsupportcentresq014.repositories.EmployeeRepository;
 import com.hrsupportcentresq014.repositories.JobRepository;
 import com.hrsupportcentresq014.repositories.RoleRepository;
@@ -21,11 +25,13 @@ import com.hrsupportcentresq014.services.MailService;
 import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -36,9 +42,13 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 
@@ -53,6 +63,7 @@ import static java.lang.String.valueOf;
  * - Registers new staff members with unique email addresses and generates temporary passwords for them.
  * - Posts job vacancies with specified details such as title, description, requirements, and closing date.
  * - Allows HR users to view details of all staff members, including their names, positions, email addresses, and departments.
+ * - Filters the staff directory through the in-memory StaffFilterIndex and loads only the page it selects.
  * - Enables HR users to change the status of job postings, such as activating or deactivating them.
  *
  * If I were to solve this problem again:
@@ -71,9 +82,12 @@ public class HrServiceImpl implements HrService {
     private final EmployeeRepository repository;
     private final MailService mailService;
     private final PasswordEncoder passwordEncoder;
-    private final Mapper mapper;
+    private final JobMapper jobMapper;
+    private final EmployeeMapper employeeMapper;
     private  final RoleRepository roleRepository;
     private final JobRepository jobRepository;
+    private final StaffFilterIndex staffFilterIndex;
+    private final MongoTemplate mongoTemplate;
 
 
     @Override
@@ -88,8 +102,7 @@ public class HrServiceImpl implements HrService {
         String password = "12345";
 //        mailService.sendMailTest(staffRequest.getEmail(), "Employee account password", "Welcome, " + staffRequest.getFirstname() + " you have been onboarded. Here is your password: " + password);
         System.out.println(staffRequest.getEmail()+ "Employee account password Welcome, " + staffRequest.getFirstName() + " you have been onboarded. Here is your password: " + password);
-        Employee employee = new Employee();
-        BeanUtils.copyProperties(staffRequest, employee);
+        Employee employee = employeeMapper.toEmployee(staffRequest);
 
         Role role = roleRepository.findRoleById("staff").get();
         System.out.println(role);
@@ -110,11 +123,11 @@ public class HrServiceImpl implements HrService {
             if (!validateClosingDate(request.getClosingDate())) {
                 throw new InvalidDateChoiceException("closing date cannot be in the past");
             }
-            Job jobToSave = mapper.requestToJob(request);
+            Job jobToSave = jobMapper.toJob(request);
             jobToSave.setIsActive(true);
             Job job = jobRepository.save(jobToSave);
             log.info("Job Posting created with payload {}", job);
-            return mapper.jobToResponse(job);
+            return jobMapper.toResponse(job);
         }
         else {
             throw new UnauthorizedUserException("User is not authorized to access this resource");
@@ -129,7 +142,7 @@ public class HrServiceImpl implements HrService {
 
         Page<Employee> staffs = repository.findAllByRole(role, pageable);
         List<Employee> content = staffs.getContent();
-        List<ViewStaffResponseDTO> contentDto = content.stream().map(cont -> mapToDto(cont)).collect(Collectors.toList());
+        List<ViewStaffResponseDTO> contentDto = content.stream().map(employeeMapper::toStaffRow).collect(Collectors.toList());
 
         ViewStaffResponse viewStaff = new ViewStaffResponse();
         viewStaff.setContent(contentDto);
@@ -142,22 +155,64 @@ public class HrServiceImpl implements HrService {
         return viewStaff;
     }
 
-    private ViewStaffResponseDTO mapToDto(Employee cont) {
-        ViewStaffResponseDTO viewStaffDto = new ViewStaffResponseDTO();
-        viewStaffDto.setFullName(cont.getFirstName() + " " + cont.getLastName());
-        viewStaffDto.setPosition(cont.getPosition());
-        viewStaffDto.setEmail(cont.getEmail());
-        viewStaffDto.setPhoneNo(cont.getPhoneNo());
-        viewStaffDto.setDepartment(cont.getDepartment());
-        viewStaffDto.setContractType(cont.getContractType());
-        viewStaffDto.setStatus("Worker");
-        viewStaffDto.setTenure(23L);
-
-        return viewStaffDto;
-    }
+    @Override
+    public ViewStaffResponse filterStaff(Map<StaffAttribute, List<String>> filters, int pageNo, int pageSize) {
+        Pageable pageable = PageRequest.of(pageNo, pageSize);
+        List<String> ids;
+        long total;
+        if (staffFilterIndex.isReady()) {
+            StaffFilterIndex.Matches matches = staffFilterIndex.page(filters, pageable.getOffset(), pageable.getPageSize());
+            ids = matches.ids();
+            total = matches.total();
+        } else {
+            Query query = staffQuery(filters);
+            total = mongoTemplate.count(query, Employee.class);
+            // The index loads employees by _id, so both paths return the same pages.
+            query.with(pageable).with(Sort.by("_id"));
+            query.fields().include("_id");
+            ids = mongoTemplate.find(query, Employee.class).stream().map(Employee::getId).toList();
+        }
 
+        Map<String, Employee> employees = ids.isEmpty() ? Map.of() : mongoTemplate.find(
+                        Query.query(Criteria.where("_id").in(ids)), Employee.class).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        List<ViewStaffResponseDTO> content = ids.stream()
+                .filter(employees::containsKey)
+                .map(id -> employeeMapper.toStaffRow(employees.get(id)))
+                .collect(Collectors.toList());
 
+        int totalPages = pageSize == 0 ? 0 : (int) Math.ceil((double) total / pageSize);
+        return new ViewStaffResponse(content, pageNo, pageSize, total, totalPages, pageNo >= totalPages - 1);
+    }
 
+    @Override
+    public long countStaff(Map<StaffAttribute, List<String>> filters) {
+        if (staffFilterIndex.isReady()) {
+            return staffFilterIndex.count(filters);
+        }
+        return mongoTemplate.count(staffQuery(filters), Employee.class);
+    }
+
+    // Same matching rules as the index, which trims and lower-cases stored values and files a missing value under "":
+    // values of one attribute are alternatives, matched case-insensitively ignoring surrounding whitespace, and a
+    // blank value also matches employees without the attribute.
+    private Query staffQuery(Map<StaffAttribute, List<String>> filters) {
+        Query query = new Query();
+        filters.forEach((attribute, values) -> {
+            if (values != null && !values.isEmpty()) {
+                List<Object> alternatives = new ArrayList<>();
+                for (String value : values) {
+                    String normalized = StaffFilterIndex.normalize(value);
+                    alternatives.add(Pattern.compile("^\\s*" + Pattern.quote(normalized) + "\\s*$", Pattern.CASE_INSENSITIVE));
+                    if (normalized.isEmpty()) {
+                        alternatives.add(null);
+                    }
+                }
+                query.addCriteria(Criteria.where(attribute.getField()).in(alternatives));
+            }
+        });
+        return query;
+    }
 
     @Override
     public JobPostingResponse changeJobStatus(JobUpdateRequest request) throws InvalidDateChoiceException, EmployeeNotFoundException {
@@ -165,12 +220,12 @@ public class HrServiceImpl implements HrService {
             Job job = jobRepository.findById(request.getId()).orElseThrow(() -> new JobPostingNotFoundException("Job posting not found"));
             if (request.getJobStatus().equals(valueOf(JobStatus.ACTIVATE))) {
                 Job updatedJob = updateJobPost(job.getId(), request);
-                return mapper.jobToResponse(updatedJob);
+                return jobMapper.toResponse(updatedJob);
             }
             job.setIsActive(false);
             job.setClosingDate(LocalDate.now().toString());
             Job savedJob = jobRepository.save(job);
-            return mapper.jobToResponse(savedJob);
+            return jobMapper.toResponse(savedJob);
         }
         else {
             throw new UnauthorizedUserException("User is not authorized to access the resources");
@@ -0,0 +1,188 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import com.hrsupportcentresq014.cache.EntityTagCache;
+import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.enums.ImageVariant;
+import com.hrsupportcentresq014.services.ImageVariantService;
+import com.hrsupportcentresq014.services.UploadService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * The ImageVariantServiceImpl class produces smaller copies of profile pictures after they are uploaded.
+ *
+ * Key Features:
+ * - Resizes each image to every ImageVariant and recompresses it as JPEG on the bounded image pool.
+ * - Stores the variants through the UploadService, so they are content-addressed like any other upload.
+ * - Only records the variants if the employee still has the image they were made from.
+ * - Skips images whose header declares more than application.image.max-pixels, before decoding them.
+ */
+
+@Service
+@Slf4j
+public class ImageVariantServiceImpl implements ImageVariantService {
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private final UploadService uploadService;
+    private final MongoTemplate mongoTemplate;
+    private final ThreadPoolTaskExecutor imageTaskExecutor;
+    private final EntityTagCache entityTagCache;
+    private final long maxPixels;
+
+    public ImageVariantServiceImpl(UploadService uploadService,
+                                   MongoTemplate mongoTemplate,
+                                   @Qualifier("imageTaskExecutor") ThreadPoolTaskExecutor imageTaskExecutor,
+                                   EntityTagCache entityTagCache,
+                                   @Value("${application.image.max-pixels}") long maxPixels) {
+        this.uploadService = uploadService;
+        this.mongoTemplate = mongoTemplate;
+        this.imageTaskExecutor = imageTaskExecutor;
+        this.entityTagCache = entityTagCache;
+        this.maxPixels = maxPixels;
+    }
+
+    @Override
+    public void scheduleVariants(String employeeEmail, String originalUrl, Path source) {
+        Path copy;
+        try {
+            copy = Files.createTempFile("hr-image-", ".tmp");
+            Files.copy(source, copy, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Could not queue image variants for {}", employeeEmail, e);
+            return;
+        }
+        try {
+            imageTaskExecutor.execute(() -> generateVariants(employeeEmail, originalUrl, copy));
+        } catch (TaskRejectedException e) {
+            log.warn("Image pool is full, serving the original image for {}", employeeEmail);
+            deleteQuietly(copy);
+        }
+    }
+
+    private void generateVariants(String employeeEmail, String originalUrl, Path source) {
+        try {
+            BufferedImage original = decode(source, employeeEmail);
+            if (original == null) {
+                return;
+            }
+            Map<ImageVariant, String> urls = new EnumMap<>(ImageVariant.class);
+            for (ImageVariant variant : ImageVariant.values()) {
+                Path resized = Files.createTempFile("hr-variant-", ".jpg");
+                try {
+                    writeJpeg(resize(original, variant.getMaxEdge()), resized);
+                    urls.put(variant, uploadService.store(resized, "image/jpeg"));
+                } finally {
+                    deleteQuietly(resized);
+                }
+            }
+            Query query = Query.query(Criteria.where("email").is(employeeEmail).and("imageUrl").is(originalUrl));
+            Update update = new Update()
+                    .set("imageThumbnailUrl", urls.get(ImageVariant.THUMBNAIL))
+                    .set("imageMediumUrl", urls.get(ImageVariant.MEDIUM))
+                    .set("updatedOn", LocalDateTime.now())
+                    .inc("version", 1);
+            if (mongoTemplate.updateFirst(query, update, Employee.class).getModifiedCount() == 0) {
+                log.info("Image for {} changed while its variants were made, discarding them", employeeEmail);
+            }
+            entityTagCache.evictEmployee(employeeEmail);
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not make image variants for {}", employeeEmail, e);
+        } finally {
+            deleteQuietly(source);
+        }
+    }
+
+    /**
+     * Reads the image's dimensions from its header and only decodes it if it is within application.image.max-pixels,
+     * since a small compressed file can declare a picture far too large to hold in memory. Returns null, after
+     * logging why, for anything that is not a readable image or is too large.
+     */
+    BufferedImage decode(Path source, String employeeEmail) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = in == null ? Collections.emptyIterator() : ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                log.warn("Upload for {} is not a readable image, no variants made", employeeEmail);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.warn("Image for {} is {}x{}, over the {} pixel limit, no variants made",
+                            employeeEmail, reader.getWidth(0), reader.getHeight(0), maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage original, int maxEdge) {
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(original.getWidth(), original.getHeight()));
+        int width = Math.max(1, (int) Math.round(original.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(original.getHeight() * scale));
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(original, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary image {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import com.hrsupportcentresq014.cache.AwardLeaderboard;
+import com.hrsupportcentresq014.cache.LeaderboardChangedEvent;
+import com.hrsupportcentresq014.dtos.response.LeaderboardEntry;
+import com.hrsupportcentresq014.dtos.response.LeaderboardResponse;
+import com.hrsupportcentresq014.entities.Award;
+import com.hrsupportcentresq014.entities.Nominee;
+import com.hrsupportcentresq014.exceptions.ResourceNotFoundException;
+import com.hrsupportcentresq014.services.LeaderboardService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * The LeaderboardServiceImpl class serves the live award leaderboards.
+ *
+ * Key Features:
+ * - Reads the leading nominees from the in-memory AwardLeaderboard, and from the awardId+votes index only
+ *   while the leaderboard is loading.
+ * - Streams rank changes to subscribers as Server-Sent Events, starting with the current standings, and forgets
+ *   an award once its last subscriber has gone.
+ * - Gives every subscriber its own queue of application.leaderboard.subscriber-queue-capacity events, drained by
+ *   at most one leaderboardStreamTaskExecutor thread at a time, so each subscriber sees changes in order.
+ * - Drops a subscriber whose queue is full. A stalled browser blocks only the pool thread writing to it, until the
+ *   connector's write timeout, and cannot hold up rank changes for everyone else or the nomination that caused them.
+ */
+
+@Service
+@Slf4j
+public class LeaderboardServiceImpl implements LeaderboardService {
+    private final AwardLeaderboard awardLeaderboard;
+    private final MongoTemplate mongoTemplate;
+    private final ThreadPoolTaskExecutor leaderboardStreamTaskExecutor;
+    private final Duration streamTimeout;
+    private final int subscriberQueueCapacity;
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    public LeaderboardServiceImpl(AwardLeaderboard awardLeaderboard,
+                                  MongoTemplate mongoTemplate,
+                                  @Qualifier("leaderboardStreamTaskExecutor") ThreadPoolTaskExecutor leaderboardStreamTaskExecutor,
+                                  @Value("${application.leaderboard.stream-timeout}") Duration streamTimeout,
+                                  @Value("${application.leaderboard.subscriber-queue-capacity}") int subscriberQueueCapacity) {
+        this.awardLeaderboard = awardLeaderboard;
+        this.mongoTemplate = mongoTemplate;
+        this.leaderboardStreamTaskExecutor = leaderboardStreamTaskExecutor;
+        this.streamTimeout = streamTimeout;
+        this.subscriberQueueCapacity = subscriberQueueCapacity;
+    }
+
+    @Override
+    public LeaderboardResponse getLeaderboard(String awardId, int size) {
+        requireAward(awardId);
+        return LeaderboardResponse.builder()
+                .awardId(awardId)
+                .entries(top(awardId, Math.max(1, Math.min(size, awardLeaderboard.size()))))
+                .build();
+    }
+
+    @Override
+    public SseEmitter streamRankChanges(String awardId) {
+        requireAward(awardId);
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(awardId, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unsubscribe(subscriber));
+        // Subscribed before the standings are read, so no change falls between them. The standings are read when
+        // they are sent, so they already include any change queued behind them.
+        subscribers.compute(awardId, (key, awardSubscribers) -> {
+            Set<Subscriber> updated = awardSubscribers == null ? ConcurrentHashMap.newKeySet() : awardSubscribers;
+            updated.add(subscriber);
+            return updated;
+        });
+        subscriber.enqueue(() -> SseEmitter.event().name("leaderboard").data(LeaderboardResponse.builder()
+                .awardId(awardId)
+                .entries(top(awardId, awardLeaderboard.size()))
+                .build()));
+        return emitter;
+    }
+
+    @EventListener
+    public void onLeaderboardChanged(LeaderboardChangedEvent event) {
+        Set<Subscriber> awardSubscribers = subscribers.get(event.awardId());
+        if (awardSubscribers == null) {
+            return;
+        }
+        // Built per send, as an SseEventBuilder appends to itself when it is written and cannot be shared.
+        for (Subscriber subscriber : awardSubscribers) {
+            subscriber.enqueue(() -> SseEmitter.event().name("rank-change").data(event.changes()));
+        }
+    }
+
+    // Drops the award's set with its last subscriber, so awards nobody watches any more leave nothing behind.
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.awardId, (key, awardSubscribers) -> {
+            awardSubscribers.remove(subscriber);
+            return awardSubscribers.isEmpty() ? null : awardSubscribers;
+        });
+    }
+
+    private void drop(Subscriber subscriber, Exception cause) {
+        unsubscribe(subscriber);
+        subscriber.emitter.completeWithError(cause);
+    }
+
+    /**
+     * One SSE stream and the events waiting for it. The draining flag keeps a single drain task per subscriber
+     * on the pool, which is what keeps its events in order.
+     */
+    private final class Subscriber {
+        private final String awardId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Supplier<SseEmitter.SseEventBuilder>> pending;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(String awardId, SseEmitter emitter) {
+            this.awardId = awardId;
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(subscriberQueueCapacity);
+        }
+
+        void enqueue(Supplier<SseEmitter.SseEventBuilder> event) {
+            if (!pending.offer(event)) {
+                log.warn("Dropped a leaderboard subscriber of award {}, it fell {} events behind", awardId, subscriberQueueCapacity);
+                drop(this, new IllegalStateException("Leaderboard subscriber fell behind"));
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                leaderboardStreamTaskExecutor.execute(this::drain);
+            } catch (TaskRejectedException e) {
+                log.warn("Dropped a leaderboard subscriber of award {}, the stream pool is full", awardId);
+                pending.clear();
+                drop(this, e);
+            }
+        }
+
+        private void drain() {
+            Supplier<SseEmitter.SseEventBuilder> event;
+            while ((event = pending.poll()) != null) {
+                try {
+                    emitter.send(event.get());
+                } catch (IOException | IllegalStateException e) {
+                    pending.clear();
+                    drop(this, e);
+                    return;
+                }
+            }
+            draining.set(false);
+            // An event offered after the last poll but before the flag was cleared would otherwise wait for the next one.
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private List<LeaderboardEntry> top(String awardId, int size) {
+        if (awardLeaderboard.isReady()) {
+            return awardLeaderboard.top(awardId, size);
+        }
+
+        Query query = Query.query(Criteria.where("awardId").is(awardId))
+                .with(Sort.by(Sort.Direction.DESC, "votes"))
+                .limit(size);
+        query.fields().include("nomineeId", "nomineeName", "department", "votes");
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        for (Nominee nominee : mongoTemplate.find(query, Nominee.class)) {
+            entries.add(LeaderboardEntry.builder()
+                    .rank(entries.size() + 1)
+                    .nomineeId(nominee.getNomineeId())
+                    .nomineeName(nominee.getNomineeName())
+                    .department(nominee.getDepartment())
+                    .votes(nominee.getVotes())
+                    .build());
+        }
+        return entries;
+    }
+
+    private void requireAward(String awardId) {
+        if (!mongoTemplate.exists(Query.query(Criteria.where("_id").is(awardId)), Award.class)) {
+            throw new ResourceNotFoundException("Award " + awardId + " not found");
+        }
+    }
+}
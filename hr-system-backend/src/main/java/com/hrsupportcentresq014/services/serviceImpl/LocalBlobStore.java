@@ -0,0 +1,91 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import com.hrsupportcentresq014.exceptions.ResourceNotFoundException;
+import com.hrsupportcentresq014.services.BlobStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * The LocalBlobStore class keeps uploaded files on the local filesystem, sharded by the first bytes of their hash.
+ *
+ * Key Features:
+ * - Needs no external service, so it works offline and in tests.
+ * - Hands BlobController the file's real path, so Tomcat can send it with sendfile instead of copying it through the heap.
+ * - Can delay every put by application.blob-store.local.latency, standing in for a slow remote store when
+ *   exercising timeouts and bulkheads.
+ */
+
+@Service
+@ConditionalOnProperty(name = "application.blob-store.type", havingValue = "local")
+public class LocalBlobStore implements BlobStore {
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final String baseUrl;
+    private final Duration latency;
+
+    @Autowired
+    public LocalBlobStore(@Value("${application.blob-store.local.root}") String root,
+                          @Value("${application.blob-store.local.base-url}") String baseUrl,
+                          @Value("${application.blob-store.local.latency}") Duration latency) {
+        this.root = Path.of(root);
+        this.baseUrl = baseUrl;
+        this.latency = latency;
+    }
+
+    public LocalBlobStore(String root, String baseUrl) {
+        this(root, baseUrl, Duration.ZERO);
+    }
+
+    @Override
+    public String put(String key, Path file, String contentType) throws IOException {
+        delay();
+        Path target = resolve(key);
+        if (!Files.exists(target)) {
+            Files.createDirectories(target.getParent());
+            Path staging = Files.createTempFile(target.getParent(), key, ".part");
+            Files.copy(file, staging, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return baseUrl + "/" + key;
+    }
+
+    /**
+     * Returns the canonical path of a stored file, which is the form Tomcat accepts as a sendfile target.
+     */
+    public Path locate(String key) throws IOException {
+        Path path = resolve(key);
+        if (!Files.exists(path)) {
+            throw new ResourceNotFoundException("File " + key + " not found");
+        }
+        return path.toRealPath();
+    }
+
+    private void delay() throws IOException {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while storing", e);
+        }
+    }
+
+    private Path resolve(String key) {
+        if (!KEY_PATTERN.matcher(key).matches()) {
+            throw new ResourceNotFoundException("File " + key + " not found");
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+}
@@ -0,0 +1,58 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * The LocalMailSender class stands in for the SMTP server when application.mail.type is local.
+ *
+ * Key Features:
+ * - Logs the recipients and subject of every message instead of sending it, so no mail account is needed.
+ * - Waits application.mail.local.latency before each send, standing in for a slow SMTP server when
+ *   exercising timeouts and bulkheads.
+ * - Replaces the JavaMailSender Spring Boot would otherwise configure from spring.mail.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "application.mail.type", havingValue = "local")
+public class LocalMailSender extends JavaMailSenderImpl {
+    private final Duration latency;
+
+    public LocalMailSender(@Value("${application.mail.local.latency}") Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        for (MimeMessage message : mimeMessages) {
+            delay();
+            try {
+                log.info("Mail to {}: {}", Arrays.toString(message.getAllRecipients()), message.getSubject());
+            } catch (MessagingException e) {
+                throw new MailSendException("Could not read message", e);
+            }
+        }
+    }
+
+    private void delay() {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while sending", e);
+        }
+    }
+}
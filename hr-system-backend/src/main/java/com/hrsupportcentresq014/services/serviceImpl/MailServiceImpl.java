@@ -1,8 +1,10 @@
 package com.hrsupportcentresq014.services.serviceImpl;
 
+import com.hrsupportcentresq014.resilience.DependencyGuard;
 import com.hrsupportcentresq014.services.MailService;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
@@ -18,6 +20,7 @@ import java.nio.charset.StandardCharsets;
  * - Implements the MailService interface to define methods for sending different types of emails.
  * - Uses JavaMailSender to send MIME messages with text and HTML content.
  * - Utilizes properties from application.properties file for configuring sender email address.
+ * - Sends through the mail DependencyGuard, so a slow SMTP server is bounded by its own bulkhead, timeout and circuit breaker.
  *
  * If I were to solve this problem again:
  * - I would enhance error handling to provide more descriptive error messages or log errors appropriately.
@@ -30,11 +33,13 @@ import java.nio.charset.StandardCharsets;
 @Service
 public class MailServiceImpl implements MailService {
     private final JavaMailSender javaMailSender;
+    private final DependencyGuard mailGuard;
 
     @Value("${spring.mail.username}")
     private String email;
-    public MailServiceImpl(JavaMailSender javaMailSender) {
+    public MailServiceImpl(JavaMailSender javaMailSender, @Qualifier("mailGuard") DependencyGuard mailGuard) {
         this.javaMailSender = javaMailSender;
+        this.mailGuard = mailGuard;
     }
     @Override
     public void sendMailTest(String senderEmail, String messageSubject, String messageBody){
@@ -53,7 +58,7 @@ public class MailServiceImpl implements MailService {
             messageController.setSubject(messageSubject);
             messageController.setText(messageBody);
 
-            javaMailSender.send(message);
+            send(message);
         } catch (MessagingException e) {
             throw new RuntimeException(e);
         }
@@ -76,7 +81,7 @@ public class MailServiceImpl implements MailService {
             messageController.setText(activationUrl);
             messageController.setFrom(email);
 
-            javaMailSender.send(message);
+            send(message);
         } catch (MessagingException e) {
             throw new RuntimeException(e);
         }
@@ -99,9 +104,16 @@ public class MailServiceImpl implements MailService {
             messageController.setText(resetUrl, true);
             messageController.setFrom(email);
 
-            javaMailSender.send(message);
+            send(message);
         } catch (MessagingException e) {
             throw new RuntimeException(e);
         }
     }
+
+    private void send(MimeMessage message) {
+        mailGuard.call(() -> {
+            javaMailSender.send(message);
+            return null;
+        });
+    }
 }
@@ -4,11 +4,8 @@ package com.hrsupportcentresq014.services.serviceImpl;
 
 
 import com.hrsupportcentresq014.dtos.request.AdminRequest;
-import com.hrsupportcentresq014.dtos.request.JobPostingRequest;
 import com.hrsupportcentresq014.dtos.response.AdminResponse;
-import com.hrsupportcentresq014.dtos.response.JobPostingResponse;
 import com.hrsupportcentresq014.entities.Employee;
-import com.hrsupportcentresq014.entities.Job;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
@@ -20,9 +17,9 @@ import java.time.LocalDate;
  *
  * Key Features:
  * - Maps AdminRequest DTO to Employee entity and vice versa.
- * - Maps JobPostingRequest DTO to Job entity and vice versa.
- * - Provides mapping from entities to response DTOs for Admin and JobPosting.
+ * - Provides mapping from the Employee entity to the AdminResponse DTO.
  * - Utilizes PasswordEncoder to encode passwords securely.
+ * - Other entities are mapped by the MapStruct mappers in the mappers package.
  *
  * If I were to solve this problem again:
  * - I would consider using more sophisticated mapping libraries like MapStruct to reduce manual mapping code.
@@ -67,29 +64,4 @@ public class Mapper {
                 .position(employee.getPosition())
                 .build();
     }
-
-
-    public JobPostingResponse jobToResponse(Job job){
-        return JobPostingResponse.builder()
-                .title(job.getTitle())
-                .description(job.getDescription())
-                .requirements(job.getRequirements())
-                .closingDate(job.getClosingDate())
-                .departmentName(job.getDepartmentName())
-                .isActive(job.getIsActive())
-                .build();
-    }
-
-
-    public Job requestToJob(JobPostingRequest request){
-        return Job.builder()
-                .title(request.getTitle())
-                .description(request.getDescription())
-                .departmentName(request.getDepartmentName())
-                .requirements(request.getRequirements())
-                .closingDate(request.getClosingDate())
-                .build();
-    }
 }
-
-
@@ -0,0 +1,234 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import com.hrsupportcentresq014.cache.EntityTagCache;
+import com.hrsupportcentresq014.cache.OrgGraph;
+import com.hrsupportcentresq014.dtos.response.OrgNodeResponse;
+import com.hrsupportcentresq014.dtos.response.SpanOfControlResponse;
+import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.exceptions.ResourceNotFoundException;
+import com.hrsupportcentresq014.mappers.EmployeeMapper;
+import com.hrsupportcentresq014.services.OrgTreeService;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.GraphLookupOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The OrgTreeServiceImpl class answers reporting-line questions: who reports to an employee, who they
+ * report to, and how large their span of control is.
+ *
+ * Key Features:
+ * - Walks the in-memory OrgGraph, then loads only the employees on the requested page in one query.
+ * - Falls back to $graphLookup over Employee.managerId while the graph is loading or does not know the employee yet.
+ * - Refuses manager assignments that would put an employee under one of their own reports.
+ */
+
+@Service
+@RequiredArgsConstructor
+public class OrgTreeServiceImpl implements OrgTreeService {
+    private static final String[] NODE_FIELDS =
+            {"firstName", "lastName", "email", "position", "imageUrl", "imageThumbnailUrl", "managerId"};
+
+    private final OrgGraph orgGraph;
+    private final MongoTemplate mongoTemplate;
+    private final EmployeeMapper employeeMapper;
+    private final EntityTagCache entityTagCache;
+
+    @Override
+    public Page<OrgNodeResponse> getReports(String employeeId, boolean indirect, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        if (useGraph(employeeId)) {
+            Map<String, Integer> reports = orgGraph.reports(employeeId, indirect ? Integer.MAX_VALUE : 1);
+            List<Map.Entry<String, Integer>> slice = reports.entrySet().stream()
+                    .skip(pageable.getOffset())
+                    .limit(pageable.getPageSize())
+                    .toList();
+            return new PageImpl<>(loadNodes(slice), pageable, reports.size());
+        }
+
+        requireEmployee(employeeId);
+        GraphLookupOperation lookup = reportsLookup(indirect);
+        List<OrgNodeResponse> content = aggregate(List.of(
+                matchId(employeeId),
+                lookup,
+                Aggregation.unwind("reports"),
+                Aggregation.replaceRoot("reports"),
+                nodeProjection(),
+                Aggregation.sort(Sort.by("depth", "_id")),
+                Aggregation.skip(pageable.getOffset()),
+                Aggregation.limit(pageable.getPageSize())), OrgNodeResponse.class);
+        Document count = aggregate(List.of(
+                matchId(employeeId),
+                lookup,
+                project(new Document("total", new Document("$size", "$reports")))), Document.class).get(0);
+        return new PageImpl<>(content, pageable, count.get("total", Number.class).longValue());
+    }
+
+    @Override
+    public List<OrgNodeResponse> getReportingChain(String employeeId) {
+        if (useGraph(employeeId)) {
+            List<String> chain = orgGraph.chain(employeeId);
+            List<Map.Entry<String, Integer>> levels = new ArrayList<>();
+            for (int i = 0; i < chain.size(); i++) {
+                levels.add(Map.entry(chain.get(i), i + 1));
+            }
+            return loadNodes(levels);
+        }
+
+        requireEmployee(employeeId);
+        return aggregate(List.of(
+                matchId(employeeId),
+                chainLookup(),
+                Aggregation.unwind("chain"),
+                Aggregation.replaceRoot("chain"),
+                nodeProjection(),
+                Aggregation.sort(Sort.by("depth"))), OrgNodeResponse.class);
+    }
+
+    @Override
+    public SpanOfControlResponse getSpanOfControl(String employeeId) {
+        if (useGraph(employeeId)) {
+            Map<String, Integer> reports = orgGraph.reports(employeeId, Integer.MAX_VALUE);
+            return SpanOfControlResponse.builder()
+                    .employeeId(employeeId)
+                    .directReports((int) reports.values().stream().filter(depth -> depth == 1).count())
+                    .totalReports(reports.size())
+                    .levels(reports.values().stream().mapToInt(Integer::intValue).max().orElse(0))
+                    .build();
+        }
+
+        requireEmployee(employeeId);
+        Document directOnly = new Document("$filter", new Document("input", "$reports")
+                .append("cond", new Document("$eq", List.of("$$this.depth", 0))));
+        Document span = aggregate(List.of(
+                matchId(employeeId),
+                reportsLookup(true),
+                project(new Document("directReports", new Document("$size", directOnly))
+                        .append("totalReports", new Document("$size", "$reports"))
+                        .append("levels", new Document("$ifNull",
+                                List.of(new Document("$add", List.of(new Document("$max", "$reports.depth"), 1)), 0))))),
+                Document.class).get(0);
+        return SpanOfControlResponse.builder()
+                .employeeId(employeeId)
+                .directReports(span.get("directReports", Number.class).intValue())
+                .totalReports(span.get("totalReports", Number.class).intValue())
+                .levels(span.get("levels", Number.class).intValue())
+                .build();
+    }
+
+    @Override
+    public void assignManager(String employeeId, String managerId) {
+        if (employeeId.equals(managerId)) {
+            throw new IllegalArgumentException("An employee cannot report to themselves");
+        }
+        if (managerId != null) {
+            requireEmployee(managerId);
+            boolean wouldLoop = useGraph(managerId)
+                    ? orgGraph.chain(managerId).contains(employeeId)
+                    : getReportingChain(managerId).stream().anyMatch(node -> employeeId.equals(node.getId()));
+            if (wouldLoop) {
+                throw new IllegalArgumentException("Employee " + managerId + " reports to " + employeeId + " and cannot be their manager");
+            }
+        }
+
+        Update update = managerId == null ? new Update().unset("managerId") : new Update().set("managerId", managerId);
+        update.set("updatedOn", LocalDateTime.now()).inc("version", 1);
+        Employee updated = mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(employeeId)), update,
+                FindAndModifyOptions.options().returnNew(true), Employee.class);
+        if (updated == null) {
+            throw new ResourceNotFoundException("Employee " + employeeId + " not found");
+        }
+        orgGraph.setManager(employeeId, managerId);
+        entityTagCache.rememberEmployee(updated);
+    }
+
+    private boolean useGraph(String employeeId) {
+        return orgGraph.isReady() && orgGraph.contains(employeeId);
+    }
+
+    private List<OrgNodeResponse> loadNodes(List<Map.Entry<String, Integer>> idsWithDepth) {
+        if (idsWithDepth.isEmpty()) {
+            return List.of();
+        }
+        Query query = Query.query(Criteria.where("_id").in(idsWithDepth.stream().map(Map.Entry::getKey).toList()));
+        query.fields().include(NODE_FIELDS);
+        Map<String, Employee> employees = mongoTemplate.find(query, Employee.class).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        return idsWithDepth.stream()
+                .filter(entry -> employees.containsKey(entry.getKey()))
+                .map(entry -> employeeMapper.toOrgNode(employees.get(entry.getKey()), entry.getValue()))
+                .toList();
+    }
+
+    private void requireEmployee(String employeeId) {
+        if (!mongoTemplate.exists(Query.query(Criteria.where("_id").is(employeeId)), Employee.class)) {
+            throw new ResourceNotFoundException("Employee " + employeeId + " not found");
+        }
+    }
+
+    private GraphLookupOperation reportsLookup(boolean indirect) {
+        var lookup = Aggregation.graphLookup(mongoTemplate.getCollectionName(Employee.class))
+                .startWith("_id")
+                .connectFrom("_id")
+                .connectTo("managerId")
+                .depthField("depth");
+        if (!indirect) {
+            lookup.maxDepth(0);
+        }
+        return lookup.as("reports");
+    }
+
+    private GraphLookupOperation chainLookup() {
+        return Aggregation.graphLookup(mongoTemplate.getCollectionName(Employee.class))
+                .startWith("managerId")
+                .connectFrom("managerId")
+                .connectTo("_id")
+                .depthField("depth")
+                .as("chain");
+    }
+
+    // $graphLookup counts depth from 0, the responses count a direct report or manager as 1.
+    private AggregationOperation nodeProjection() {
+        return project(new Document("firstName", 1)
+                .append("lastName", 1)
+                .append("email", 1)
+                .append("position", 1)
+                .append("managerId", 1)
+                .append("imageUrl", new Document("$ifNull", List.of("$imageThumbnailUrl", "$imageUrl")))
+                .append("depth", new Document("$add", List.of("$depth", 1))));
+    }
+
+    private AggregationOperation matchId(String id) {
+        Object key = ObjectId.isValid(id) ? new ObjectId(id) : id;
+        return context -> new Document("$match", new Document("_id", key));
+    }
+
+    private AggregationOperation project(Document fields) {
+        return context -> new Document("$project", fields);
+    }
+
+    private <T> List<T> aggregate(List<AggregationOperation> stages, Class<T> type) {
+        return mongoTemplate.aggregate(Aggregation.newAggregation(stages),
+                mongoTemplate.getCollectionName(Employee.class), type).getMappedResults();
+    }
+}
@@ -3,26 +3,45 @@ package com.hrsupportcentresq014.services.serviceImpl;
 
 import com.hrsupportcentresq014.entities.Employee;
 import com.hrsupportcentresq014.entities.PasswordResetRequest;
+import com.hrsupportcentresq014.exceptions.DependencyUnavailableException;
+import com.hrsupportcentresq014.exceptions.ResourceNotFoundException;
 import com.hrsupportcentresq014.repositories.EmployeeRepository;
-import com.hrsupportcentresq014.repositories.PasswordResetRequestRepository;
 import com.hrsupportcentresq014.services.MailService;
 import com.hrsupportcentresq014.services.PasswordResetRequestService;
-import jakarta.mail.MessagingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.Base64;
+import java.util.HexFormat;
 
 
 /**
  * The PasswordResetRequestServiceImpl class implements the PasswordResetRequestService interface to handle password reset requests in the HR Support Centre system.
  *
  * Key Features:
- * - Generates a unique reset token and sets an expiration date for password reset requests.
+ * - Generates a random reset token and sets an expiration date for password reset requests.
  * - Sends an email to the user with a password reset link containing the reset token.
  * - Completes the password reset process by updating the user's password based on the reset token.
+ * - Stores only a hash of the token, keeps one request per employee and consumes it atomically on use.
+ * - Looks the address up, stores the token and sends the mail on the passwordResetTaskExecutor, so the response
+ *   takes as long for an unknown address as for an employee's and does not tell them apart.
  *
  * If I were to solve this problem again:
  * - I would enhance security measures by implementing token validation mechanisms to prevent misuse of reset tokens.
@@ -35,46 +54,95 @@ import java.util.UUID;
 
 
 @Service
+@Slf4j
 public class PasswordResetRequestServiceImpl implements PasswordResetRequestService {
-    private final PasswordResetRequestRepository resetRequestRepo;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Duration BUSY_RETRY_AFTER = Duration.ofSeconds(5);
+
+    private final MongoTemplate mongoTemplate;
     private final EmployeeRepository employeeRepo;
     private final MailService mailService;
     private final PasswordEncoder passwordEncoder;
+    private final Duration tokenTtl;
+    private final ThreadPoolTaskExecutor passwordResetTaskExecutor;
 
-    public PasswordResetRequestServiceImpl(PasswordResetRequestRepository resetRequestRepo, EmployeeRepository employeeRepo, MailService mailService, PasswordEncoder passwordEncoder) {
-        this.resetRequestRepo = resetRequestRepo;
+    public PasswordResetRequestServiceImpl(MongoTemplate mongoTemplate, EmployeeRepository employeeRepo, MailService mailService, PasswordEncoder passwordEncoder,
+                                           @Value("${application.password-reset.token-ttl}") Duration tokenTtl,
+                                           @Qualifier("passwordResetTaskExecutor") ThreadPoolTaskExecutor passwordResetTaskExecutor) {
+        this.mongoTemplate = mongoTemplate;
         this.employeeRepo = employeeRepo;
         this.mailService = mailService;
         this.passwordEncoder = passwordEncoder;
+        this.tokenTtl = tokenTtl;
+        this.passwordResetTaskExecutor = passwordResetTaskExecutor;
     }
 
     @Override
-    public ResponseEntity<String> resetPassword(String email) throws MessagingException {
-        String resetToken;
-        resetToken = UUID.randomUUID().toString();
-        LocalDateTime expirationDate = LocalDateTime.now().plusMinutes(10);
-        PasswordResetRequest resetRequest = new PasswordResetRequest();
-        resetRequest.setEmail(email);
-        resetRequest.setResetToken(resetToken);
-        resetRequest.setExpirationDate(expirationDate);
-        resetRequestRepo.save(resetRequest);
+    public ResponseEntity<String> resetPassword(String email) {
+        if (email != null) {
+            try {
+                passwordResetTaskExecutor.execute(() -> sendResetLink(email));
+            } catch (TaskRejectedException e) {
+                throw new DependencyUnavailableException("Too many password reset requests, please try again shortly", BUSY_RETRY_AFTER, e);
+            }
+        }
+        return ResponseEntity.ok("Please check your email!");
+    }
+
+    void sendResetLink(String email) {
+        // Unknown addresses leave nothing behind, so guessing emails does not fill the collection.
+        if (!mongoTemplate.exists(Query.query(Criteria.where("email").is(email)), Employee.class)) {
+            return;
+        }
+        byte[] tokenBytes = new byte[32];
+        RANDOM.nextBytes(tokenBytes);
+        String resetToken = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+
+        // A new request replaces the previous one, so an employee never has more than one live token. The unique
+        // email index turns the insert of a concurrent first request into a duplicate key, which then updates instead.
+        Query byEmail = Query.query(Criteria.where("email").is(email));
+        Update update = new Update().set("tokenHash", hash(resetToken))
+                .set("expirationDate", LocalDateTime.now().plus(tokenTtl));
+        try {
+            mongoTemplate.upsert(byEmail, update, PasswordResetRequest.class);
+        } catch (DuplicateKeyException e) {
+            mongoTemplate.upsert(byEmail, update, PasswordResetRequest.class);
+        }
         String resetEmailUrl = "Click the following link to reset your password: http://your_website.com/reset-password?token=" + resetToken;
 
-        mailService.passwordReset(resetEmailUrl, email);
-        return ResponseEntity.ok("Please check your email!");
+        try {
+            mailService.passwordReset(resetEmailUrl, email);
+        } catch (RuntimeException e) {
+            log.error("Could not send the password reset link to {}", email, e);
+        }
     }
 
     @Override
     public ResponseEntity<String> completePasswordReset(String resetToken, String newPassword) {
-        PasswordResetRequest resetRequest = resetRequestRepo.findPasswordResetRequestByResetToken(resetToken);
-        if((resetRequest == null) || resetRequest.getExpirationDate().isBefore(LocalDateTime.now())){
-            throw new RuntimeException("Invalid or expired token");
+        if (resetToken == null || resetToken.isBlank()) {
+            throw new IllegalArgumentException("Invalid or expired token");
         }
-        else {
-            Employee employeeToResetPassword = employeeRepo.findByEmail(resetRequest.getEmail()).orElseThrow(() -> new RuntimeException("Employee not found"));
-            employeeToResetPassword.setPassword(passwordEncoder.encode(newPassword));
-            employeeRepo.save(employeeToResetPassword);
+        // Removing the request in the same command that finds it makes the token single-use, even when
+        // two resets race. The expiry is checked here too as the TTL monitor only runs once a minute.
+        PasswordResetRequest resetRequest = mongoTemplate.findAndRemove(Query.query(Criteria.where("tokenHash").is(hash(resetToken))
+                .and("expirationDate").gt(LocalDateTime.now())), PasswordResetRequest.class);
+        if (resetRequest == null) {
+            throw new IllegalArgumentException("Invalid or expired token");
         }
+        Employee employeeToResetPassword = employeeRepo.findByEmail(resetRequest.getEmail())
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
+        employeeToResetPassword.setPassword(passwordEncoder.encode(newPassword));
+        employeeRepo.save(employeeToResetPassword);
         return ResponseEntity.ok("Password reset successful");
     }
-}
\ No newline at end of file
+
+    // The tokens are 256 random bits, so a plain digest is enough and, unlike a salted hash, can be looked up.
+    static String hash(String resetToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(resetToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import com.hrsupportcentresq014.dtos.response.ResumeSearchResponse;
+import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.entities.ResumeText;
+import com.hrsupportcentresq014.repositories.ResumeTextRepository;
+import com.hrsupportcentresq014.services.ResumeIndexService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The ResumeIndexServiceImpl class makes uploaded resumes searchable.
+ *
+ * Key Features:
+ * - Extracts the text of PDF and DOCX resumes on the bounded resume pool, away from the request thread.
+ * - Keeps one resume_texts document per employee, covered by a weighted MongoDB text index.
+ * - Writes the text only while the resume is still the employee's current one and no later upload has been
+ *   indexed, so an extraction that finishes late cannot bring back a replaced resume.
+ * - Answers searches from the index alone, ranked by text score, without fetching any files.
+ */
+
+@Service
+@Slf4j
+public class ResumeIndexServiceImpl implements ResumeIndexService {
+    private final ResumeTextExtractor extractor;
+    private final ResumeTextRepository resumeTextRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ThreadPoolTaskExecutor resumeTaskExecutor;
+
+    public ResumeIndexServiceImpl(ResumeTextExtractor extractor,
+                                  ResumeTextRepository resumeTextRepository,
+                                  MongoTemplate mongoTemplate,
+                                  @Qualifier("resumeTaskExecutor") ThreadPoolTaskExecutor resumeTaskExecutor) {
+        this.extractor = extractor;
+        this.resumeTextRepository = resumeTextRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.resumeTaskExecutor = resumeTaskExecutor;
+    }
+
+    @Override
+    public void scheduleIndexing(Employee employee, String resumeUrl, Path resume, String contentType) {
+        if (!extractor.supports(contentType)) {
+            log.info("Resume for {} is {}, which cannot be indexed", employee.getEmail(), contentType);
+            resumeTextRepository.deleteById(employee.getId());
+            return;
+        }
+        LocalDateTime uploadedOn = LocalDateTime.now();
+        Path copy;
+        try {
+            copy = Files.createTempFile("hr-resume-", ".tmp");
+            Files.copy(resume, copy, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Could not queue resume indexing for {}", employee.getEmail(), e);
+            return;
+        }
+        try {
+            resumeTaskExecutor.execute(() -> index(employee, resumeUrl, uploadedOn, copy, contentType));
+        } catch (TaskRejectedException e) {
+            log.warn("Resume pool is full, resume for {} was not indexed", employee.getEmail());
+            deleteQuietly(copy);
+        }
+    }
+
+    @Override
+    public Page<ResumeSearchResponse> search(String query, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        TextCriteria criteria = TextCriteria.forDefaultLanguage().matching(query);
+        TextQuery textQuery = TextQuery.queryText(criteria).sortByScore();
+        textQuery.with(pageable);
+        textQuery.fields().exclude("content");
+
+        List<ResumeSearchResponse> results = mongoTemplate.find(textQuery, ResumeText.class).stream()
+                .map(this::toResponse)
+                .toList();
+        return PageableExecutionUtils.getPage(results, pageable,
+                () -> mongoTemplate.count(TextQuery.queryText(criteria), ResumeText.class));
+    }
+
+    private void index(Employee employee, String resumeUrl, LocalDateTime uploadedOn, Path resume, String contentType) {
+        try {
+            String content = extractor.extract(resume, contentType).orElse("");
+            if (!isCurrentResume(employee, resumeUrl)) {
+                log.info("Resume for {} was replaced while it was being indexed", employee.getEmail());
+                return;
+            }
+            // Matches only an older upload's text, so against a newer one the upsert tries to insert a second
+            // document with the same id and fails instead of overwriting it.
+            Query olderUpload = Query.query(Criteria.where("_id").is(employee.getId())
+                    .orOperator(Criteria.where("uploadedOn").lt(uploadedOn), Criteria.where("uploadedOn").exists(false)));
+            Update update = new Update()
+                    .set("employeeEmail", employee.getEmail())
+                    .set("fullName", employee.getFirstName() + " " + employee.getLastName())
+                    .set("position", employee.getPosition())
+                    .set("resumeUrl", resumeUrl)
+                    .set("content", content)
+                    .set("indexedOn", LocalDateTime.now())
+                    .set("uploadedOn", uploadedOn);
+            mongoTemplate.upsert(olderUpload, update, ResumeText.class);
+            log.info("Indexed {} characters of resume text for {}", content.length(), employee.getEmail());
+        } catch (DuplicateKeyException e) {
+            log.info("Resume for {} was replaced while it was being indexed", employee.getEmail());
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not index resume for {}", employee.getEmail(), e);
+        } finally {
+            deleteQuietly(resume);
+        }
+    }
+
+    private boolean isCurrentResume(Employee employee, String resumeUrl) {
+        return mongoTemplate.exists(Query.query(Criteria.where("_id").is(employee.getId()).and("resumeUrl").is(resumeUrl)),
+                Employee.class);
+    }
+
+    private ResumeSearchResponse toResponse(ResumeText resumeText) {
+        return ResumeSearchResponse.builder()
+                .employeeId(resumeText.getId())
+                .fullName(resumeText.getFullName())
+                .email(resumeText.getEmployeeEmail())
+                .position(resumeText.getPosition())
+                .resumeUrl(resumeText.getResumeUrl())
+                .score(resumeText.getScore())
+                .build();
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary resume {}", file, e);
+        }
+    }
+}
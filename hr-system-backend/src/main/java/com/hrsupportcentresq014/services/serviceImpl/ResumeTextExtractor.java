@@ -0,0 +1,98 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The ResumeTextExtractor class pulls plain text out of PDF and DOCX resumes.
+ * DOCX files are read straight from their word/document.xml part, so only PDF needs a library.
+ */
+
+@Component
+public class ResumeTextExtractor {
+    public static final String PDF = "application/pdf";
+    public static final String DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+
+    private static final int MAX_CHARACTERS = 100_000;
+    private static final String WORD_NAMESPACE = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    private final XMLInputFactory xmlInputFactory;
+
+    public ResumeTextExtractor() {
+        xmlInputFactory = XMLInputFactory.newFactory();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    public boolean supports(String contentType) {
+        return PDF.equals(contentType) || DOCX.equals(contentType);
+    }
+
+    public Optional<String> extract(Path file, String contentType) throws IOException {
+        String text;
+        if (PDF.equals(contentType)) {
+            text = extractPdf(file);
+        } else if (DOCX.equals(contentType)) {
+            text = extractDocx(file);
+        } else {
+            return Optional.empty();
+        }
+        text = text.replaceAll("\\s+", " ").trim();
+        return Optional.of(text.length() > MAX_CHARACTERS ? text.substring(0, MAX_CHARACTERS) : text);
+    }
+
+    private String extractPdf(Path file) throws IOException {
+        try (PDDocument document = PDDocument.load(file.toFile())) {
+            return new PDFTextStripper().getText(document);
+        }
+    }
+
+    private String extractDocx(Path file) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            ZipEntry body = zip.getEntry("word/document.xml");
+            if (body == null) {
+                throw new IOException("Not a Word document");
+            }
+            try (InputStream in = zip.getInputStream(body)) {
+                return readWordText(in);
+            }
+        }
+    }
+
+    private String readWordText(InputStream in) throws IOException {
+        StringBuilder text = new StringBuilder();
+        try {
+            XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(in);
+            boolean inText = false;
+            while (reader.hasNext() && text.length() < MAX_CHARACTERS) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT && WORD_NAMESPACE.equals(reader.getNamespaceURI())) {
+                    inText = "t".equals(reader.getLocalName());
+                } else if (event == XMLStreamConstants.END_ELEMENT && WORD_NAMESPACE.equals(reader.getNamespaceURI())) {
+                    inText = false;
+                    if ("p".equals(reader.getLocalName())) {
+                        text.append('\n');
+                    }
+                } else if (event == XMLStreamConstants.CHARACTERS && inText) {
+                    text.append(reader.getText());
+                }
+            }
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not read Word document", e);
+        }
+        return text.toString();
+    }
+}
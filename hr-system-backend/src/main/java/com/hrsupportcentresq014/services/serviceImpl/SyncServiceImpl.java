@@ -0,0 +1,127 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import com.hrsupportcentresq014.dtos.response.AwardResponseDTO;
+import com.hrsupportcentresq014.dtos.response.JobPostingResponse;
+import com.hrsupportcentresq014.dtos.response.SyncResponse;
+import com.hrsupportcentresq014.dtos.response.ViewStaffResponseDTO;
+import com.hrsupportcentresq014.entities.Award;
+import com.hrsupportcentresq014.entities.BaseEntity;
+import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.entities.Job;
+import com.hrsupportcentresq014.entities.Tombstone;
+import com.hrsupportcentresq014.exceptions.SyncExpiredException;
+import com.hrsupportcentresq014.mappers.AwardMapper;
+import com.hrsupportcentresq014.mappers.EmployeeMapper;
+import com.hrsupportcentresq014.mappers.JobMapper;
+import com.hrsupportcentresq014.services.SyncService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The SyncServiceImpl class returns what changed in the staff, job and award lists since a client last synced.
+ *
+ * Key Features:
+ * - Reads changed records through the (updatedOn, _id) index in batches, oldest first, and deleted ones from tombstones.
+ *   Auditing sets updatedOn on every save and targeted updates set it themselves; a record without it is not synced.
+ * - Sets the next watermark a little before the time of the read, so a write that was in flight during the read
+ *   is sent again on the next call instead of being missed. Clients apply records by id, so a repeat is harmless.
+ * - Answers 410 Gone once a watermark is older than the tombstones are kept, and the client must sync in full.
+ */
+
+@Service
+public class SyncServiceImpl implements SyncService {
+    private final MongoTemplate mongoTemplate;
+    private final EmployeeMapper employeeMapper;
+    private final JobMapper jobMapper;
+    private final AwardMapper awardMapper;
+    private final Duration overlap;
+    private final int maxBatch;
+
+    public SyncServiceImpl(MongoTemplate mongoTemplate, EmployeeMapper employeeMapper, JobMapper jobMapper,
+                           AwardMapper awardMapper,
+                           @Value("${application.sync.overlap}") Duration overlap,
+                           @Value("${application.sync.max-batch}") int maxBatch) {
+        this.mongoTemplate = mongoTemplate;
+        this.employeeMapper = employeeMapper;
+        this.jobMapper = jobMapper;
+        this.awardMapper = awardMapper;
+        this.overlap = overlap;
+        this.maxBatch = maxBatch;
+    }
+
+    @Override
+    public SyncResponse<ViewStaffResponseDTO> staffChanges(LocalDateTime since, String after, int limit) {
+        return changes(Employee.class, since, after, limit, employeeMapper::toStaffRow);
+    }
+
+    @Override
+    public SyncResponse<JobPostingResponse> jobChanges(LocalDateTime since, String after, int limit) {
+        return changes(Job.class, since, after, limit, jobMapper::toResponse);
+    }
+
+    @Override
+    public SyncResponse<AwardResponseDTO> awardChanges(LocalDateTime since, String after, int limit) {
+        return changes(Award.class, since, after, limit, awardMapper::toResponse);
+    }
+
+    private <E extends BaseEntity, T> SyncResponse<T> changes(Class<E> type, LocalDateTime since, String after, int limit,
+                                                              Function<E, T> mapper) {
+        LocalDateTime readAt = LocalDateTime.now();
+        if (since != null && since.isBefore(readAt.minus(Tombstone.RETENTION))) {
+            throw new SyncExpiredException("Changes since " + since + " are no longer kept, sync again without since");
+        }
+        int batch = Math.max(1, Math.min(limit, maxBatch));
+
+        Criteria criteria;
+        if (since == null) {
+            criteria = Criteria.where("updatedOn").ne(null);
+        } else if (after == null) {
+            criteria = Criteria.where("updatedOn").gte(since);
+        } else {
+            criteria = new Criteria().orOperator(
+                    Criteria.where("updatedOn").gt(since),
+                    Criteria.where("updatedOn").is(since).and("_id").gt(after));
+        }
+        Query query = Query.query(criteria);
+        query.with(Sort.by("updatedOn", "_id")).limit(batch + 1);
+        List<E> changed = mongoTemplate.find(query, type);
+        boolean hasMore = changed.size() > batch;
+        if (hasMore) {
+            changed = changed.subList(0, batch);
+        }
+
+        List<String> deleted = List.of();
+        if (since != null) {
+            Query tombstones = Query.query(Criteria.where("collection").is(mongoTemplate.getCollectionName(type))
+                    .and("deletedOn").gte(since));
+            tombstones.fields().include("entityId");
+            deleted = mongoTemplate.find(tombstones, Tombstone.class).stream()
+                    .map(Tombstone::getEntityId)
+                    .distinct()
+                    .toList();
+        }
+
+        // A full batch continues right after its last record, the rest starts again a little before the read.
+        E last = hasMore ? changed.get(changed.size() - 1) : null;
+        LocalDateTime watermark = last != null ? last.getUpdatedOn() : readAt.minus(overlap);
+        if (since != null && watermark.isBefore(since)) {
+            watermark = since;
+        }
+        return SyncResponse.<T>builder()
+                .changed(changed.stream().map(mapper).toList())
+                .deleted(deleted)
+                .watermark(watermark)
+                .hasMore(hasMore)
+                .cursor(last == null ? null : last.getId())
+                .build();
+    }
+}
@@ -5,6 +5,7 @@ import com.hrsupportcentresq014.dtos.response.AuthenticationResponse;
 import com.hrsupportcentresq014.entities.Employee;
 import com.hrsupportcentresq014.entities.Token;
 import com.hrsupportcentresq014.exceptions.EmailNotFoundException;
+import com.hrsupportcentresq014.mappers.EmployeeMapper;
 import com.hrsupportcentresq014.repositories.EmployeeRepository;
 import com.hrsupportcentresq014.repositories.TokenRepository;
 import com.hrsupportcentresq014.security_config.utils.JwtUtils;
@@ -22,6 +23,7 @@ import org.springframework.stereotype.Component;
  * - Generates JWT tokens upon successful authentication.
  * - Saves generated tokens and updates user login status.
  * - Revokes existing tokens when a user logs in, preventing multiple active sessions.
+ * - Returns a compact employee summary with the token, and the full profile only when asked for.
  *
  * If I were to solve this problem again:
  * - I would consider implementing additional security measures such as rate limiting to prevent brute force attacks.
@@ -41,8 +43,9 @@ public class TokenServiceImpl implements TokenService {
     private final JwtUtils jwtUtils;
     private final AuthenticationManager authenticationManager;
     private final TokenRepository tokenRepository;
+    private final EmployeeMapper employeeMapper;
     @Override
-    public AuthenticationResponse authenticateUser(AuthenticationRequest request) {
+    public AuthenticationResponse authenticateUser(AuthenticationRequest request, boolean includeProfile) {
         var user = employeeRepository.findByEmail(request.getEmail())
                 .orElseThrow(()->
                         new EmailNotFoundException("User with email: " +request.getEmail() +" not found"));
@@ -64,7 +67,8 @@ public class TokenServiceImpl implements TokenService {
                 .token(jwtToken)
                 .issuedAt(jwtUtils.getIssuedAt(jwtToken))
                 .expiredAt(jwtUtils.getExpiration(jwtToken))
-                .employee(user)
+                .employee(employeeMapper.toAuthenticatedEmployee(user))
+                .profile(includeProfile ? employeeMapper.toViewProfileResponse(user) : null)
                 .build();
     }
 
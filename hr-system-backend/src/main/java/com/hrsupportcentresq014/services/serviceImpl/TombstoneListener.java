@@ -0,0 +1,59 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import com.hrsupportcentresq014.entities.Award;
+import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.entities.Job;
+import com.hrsupportcentresq014.entities.Tombstone;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeDeleteEvent;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Leaves a tombstone for every deleted employee, job and award, which the delta sync endpoints report as deletions.
+ * Deletes only carry a filter, so the ids it matches are read before the delete and recorded after it.
+ */
+@Component
+@RequiredArgsConstructor
+public class TombstoneListener extends AbstractMongoEventListener<Object> {
+    private static final Set<Class<?>> SYNCED = Set.of(Employee.class, Job.class, Award.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ThreadLocal<List<String>> idsBeingDeleted = new ThreadLocal<>();
+
+    @Override
+    public void onBeforeDelete(BeforeDeleteEvent<Object> event) {
+        if (!SYNCED.contains(event.getType())) {
+            return;
+        }
+        Query query = new BasicQuery(event.getSource());
+        query.fields().include("_id");
+        idsBeingDeleted.set(mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(event.getType()))
+                .stream()
+                .map(document -> document.get("_id").toString())
+                .toList());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        List<String> ids = idsBeingDeleted.get();
+        idsBeingDeleted.remove();
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        String collection = mongoTemplate.getCollectionName(event.getType());
+        LocalDateTime now = LocalDateTime.now();
+        mongoTemplate.insertAll(ids.stream()
+                .map(id -> Tombstone.builder().collection(collection).entityId(id).deletedOn(now).build())
+                .toList());
+    }
+}
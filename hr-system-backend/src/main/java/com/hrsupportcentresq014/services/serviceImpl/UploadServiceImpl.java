@@ -0,0 +1,227 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import com.hrsupportcentresq014.dtos.response.UploadStatusResponse;
+import com.hrsupportcentresq014.entities.StoredBlob;
+import com.hrsupportcentresq014.enums.UploadStatus;
+import com.hrsupportcentresq014.exceptions.ResourceNotFoundException;
+import com.hrsupportcentresq014.exceptions.UploadFailedException;
+import com.hrsupportcentresq014.repositories.StoredBlobRepository;
+import com.hrsupportcentresq014.resilience.DependencyGuard;
+import com.hrsupportcentresq014.services.BlobStore;
+import com.hrsupportcentresq014.services.UploadService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * The UploadServiceImpl class forwards uploaded documents to the configured BlobStore without holding them on the heap.
+ *
+ * Key Features:
+ * - Spools each multipart upload to a temporary file and hands the store the file, which is streamed from disk.
+ * - Keys every file by its SHA-256 hash, so a file that was stored before is not uploaded again.
+ * - Rejects files bigger than the configured application.upload.max-file-size.
+ * - Supports an asynchronous mode that returns an upload id straight away and runs the upload on a bounded pool.
+ * - Keeps the status of asynchronous uploads in memory so the uploader can poll it, for an hour after the upload
+ *   finished or, if it never did, after it was submitted.
+ * - Calls the store through the blob-store DependencyGuard, so a slow or failing store answers with 503 instead of holding request threads.
+ */
+
+@Service
+@Slf4j
+public class UploadServiceImpl implements UploadService {
+    private static final long STATUS_RETENTION_HOURS = 1;
+    private static final Duration BUSY_RETRY_AFTER = Duration.ofSeconds(5);
+
+    private final BlobStore blobStore;
+    private final StoredBlobRepository storedBlobRepository;
+    private final ThreadPoolTaskExecutor uploadTaskExecutor;
+    private final DependencyGuard blobStoreGuard;
+    private final Map<String, UploadStatusResponse> uploads = new ConcurrentHashMap<>();
+
+    @Value("${application.upload.max-file-size}")
+    private DataSize maxFileSize;
+
+    public UploadServiceImpl(BlobStore blobStore,
+                             StoredBlobRepository storedBlobRepository,
+                             @Qualifier("uploadTaskExecutor") ThreadPoolTaskExecutor uploadTaskExecutor,
+                             @Qualifier("blobStoreGuard") DependencyGuard blobStoreGuard) {
+        this.blobStore = blobStore;
+        this.storedBlobRepository = storedBlobRepository;
+        this.uploadTaskExecutor = uploadTaskExecutor;
+        this.blobStoreGuard = blobStoreGuard;
+    }
+
+    @Override
+    public String upload(MultipartFile multipartFile) {
+        return upload(multipartFile, (url, file) -> {
+        });
+    }
+
+    @Override
+    public String upload(MultipartFile multipartFile, BiConsumer<String, Path> onStored) {
+        Path spooled = spool(multipartFile);
+        try {
+            String url = store(spooled, multipartFile.getContentType());
+            onStored.accept(url, spooled);
+            return url;
+        } finally {
+            deleteQuietly(spooled);
+        }
+    }
+
+    @Override
+    public UploadStatusResponse uploadAsync(MultipartFile multipartFile, String owner, BiConsumer<String, Path> onComplete) {
+        evictExpiredStatuses();
+        Path spooled = spool(multipartFile);
+        String contentType = multipartFile.getContentType();
+        UploadStatusResponse status = UploadStatusResponse.builder()
+                .uploadId(UUID.randomUUID().toString())
+                .status(UploadStatus.PENDING)
+                .owner(owner)
+                .submittedOn(LocalDateTime.now())
+                .build();
+        uploads.put(status.getUploadId(), status);
+        try {
+            uploadTaskExecutor.execute(() -> runUpload(spooled, contentType, status, onComplete));
+        } catch (TaskRejectedException e) {
+            uploads.remove(status.getUploadId());
+            deleteQuietly(spooled);
+            throw new UploadFailedException("Too many uploads in progress, try again later", BUSY_RETRY_AFTER, e);
+        }
+        return copyOf(status);
+    }
+
+    @Override
+    public UploadStatusResponse getStatus(String uploadId, String owner) {
+        UploadStatusResponse status = uploads.get(uploadId);
+        if (status == null || !status.getOwner().equals(owner)) {
+            throw new ResourceNotFoundException("Upload " + uploadId + " not found");
+        }
+        synchronized (status) {
+            return copyOf(status);
+        }
+    }
+
+    private void runUpload(Path spooled, String contentType, UploadStatusResponse status, BiConsumer<String, Path> onComplete) {
+        try {
+            String url = store(spooled, contentType);
+            onComplete.accept(url, spooled);
+            synchronized (status) {
+                status.setUrl(url);
+                status.setStatus(UploadStatus.COMPLETED);
+                status.setCompletedOn(LocalDateTime.now());
+            }
+        } catch (RuntimeException e) {
+            log.error("Upload {} failed", status.getUploadId(), e);
+            synchronized (status) {
+                status.setStatus(UploadStatus.FAILED);
+                status.setMessage(e.getMessage());
+                status.setCompletedOn(LocalDateTime.now());
+            }
+        } finally {
+            deleteQuietly(spooled);
+        }
+    }
+
+    @Override
+    public String store(Path file, String contentType) {
+        try {
+            String hash = sha256(file);
+            StoredBlob existing = storedBlobRepository.findById(hash).orElse(null);
+            if (existing != null) {
+                log.info("File {} already stored, skipping upload", hash);
+                return existing.getUrl();
+            }
+            String url = blobStoreGuard.call(() -> blobStore.put(hash, file, contentType));
+            storedBlobRepository.save(StoredBlob.builder()
+                    .hash(hash)
+                    .url(url)
+                    .contentType(contentType)
+                    .size(Files.size(file))
+                    .storedOn(LocalDateTime.now())
+                    .build());
+            return url;
+        } catch (IOException e) {
+            throw new UploadFailedException("Upload to storage failed", e);
+        }
+    }
+
+    private String sha256(Path file) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The multipart part already lives on disk, so transferTo moves it without reading it into memory.
+    private Path spool(MultipartFile multipartFile) {
+        if (multipartFile.getSize() > maxFileSize.toBytes()) {
+            throw new IllegalArgumentException("File size cannot be more than " + maxFileSize.toKilobytes() + "KB");
+        }
+        try {
+            Path spooled = Files.createTempFile("hr-upload-", ".tmp");
+            multipartFile.transferTo(spooled);
+            return spooled;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read uploaded file", e);
+        }
+    }
+
+    // Statuses are dropped an hour after the upload finished, or an hour after it was submitted if it never did,
+    // so an upload whose worker died does not stay PENDING in memory for good.
+    void evictExpiredStatuses() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(STATUS_RETENTION_HOURS);
+        uploads.values().removeIf(status -> {
+            synchronized (status) {
+                LocalDateTime since = status.getCompletedOn() != null ? status.getCompletedOn() : status.getSubmittedOn();
+                return since.isBefore(cutoff);
+            }
+        });
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary upload {}", file, e);
+        }
+    }
+
+    private UploadStatusResponse copyOf(UploadStatusResponse status) {
+        return UploadStatusResponse.builder()
+                .uploadId(status.getUploadId())
+                .status(status.getStatus())
+                .url(status.getUrl())
+                .message(status.getMessage())
+                .owner(status.getOwner())
+                .submittedOn(status.getSubmittedOn())
+                .completedOn(status.getCompletedOn())
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.hrsupportcentresq014.utils;
+
+import com.hrsupportcentresq014.exceptions.StaleVersionException;
+
+public class ETags {
+    private ETags() {
+    }
+
+    /**
+     * Builds the strong tag of one employee's profile. The id keeps two profiles that happen to share a
+     * version from ever matching each other's tag.
+     */
+    public static String fromVersion(String employeeId, long version) {
+        return "\"" + employeeId + "-" + version + "\"";
+    }
+
+    /**
+     * Builds a weak tag for a representation derived from a collection stamp, such as a filtered page.
+     */
+    public static String fromStamp(String stamp, String discriminator) {
+        String key = discriminator == null ? "" : discriminator;
+        return "W/\"" + stamp + "-" + Integer.toHexString(key.hashCode()) + "\"";
+    }
+
+    /**
+     * Weak comparison of an If-None-Match header against the current tag, as used for conditional GETs.
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        String current = opaque(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || opaque(value).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    /**
+     * Reads the version out of an If-Match value produced by fromVersion, or returns null when there is none.
+     * The version is the part after the last dash; a bare version from a tag issued before ids were added is also read.
+     * If-Match uses strong comparison, so a weak tag never matches and fails the precondition.
+     */
+    public static Long parseVersion(String header) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return null;
+        }
+        String value = header.trim();
+        if (value.startsWith("W/")) {
+            throw new StaleVersionException("If-Match needs a strong entity tag, " + value + " is weak");
+        }
+        value = value.replace("\"", "");
+        value = value.substring(value.lastIndexOf('-') + 1);
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid If-Match header: " + header);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.hrsupportcentresq014.benchmarks;
+
+import com.hrsupportcentresq014.dtos.response.EmployeeViewProfileResponse;
+import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.entities.NextOfKin;
+import com.hrsupportcentresq014.mappers.EmployeeMapper;
+import com.hrsupportcentresq014.mappers.EmployeeMapperImpl;
+import com.hrsupportcentresq014.utils.Social;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.BeanUtils;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the generated EmployeeMapper with the reflective BeanUtils and ModelMapper conversions it replaced,
+ * on the profile view mapping. Run the main method from the test classpath after mvn test-compile.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeMappingBenchmark {
+    private final EmployeeMapper employeeMapper = new EmployeeMapperImpl();
+    private final ModelMapper modelMapper = new ModelMapper();
+    private Employee employee;
+
+    @Setup
+    public void setUp() {
+        employee = Employee.builder()
+                .firstName("Ada")
+                .lastName("Obi")
+                .nickName("Ade")
+                .email("ada.obi@example.com")
+                .phoneNo("08012345678")
+                .position("Engineer")
+                .department("Technology")
+                .workLocation("Lagos")
+                .contractType("Full time")
+                .startDate(LocalDate.of(2021, 3, 1))
+                .birthday(LocalDate.of(1994, 7, 12))
+                .address("12 Marina Road")
+                .nationality("Nigerian")
+                .maritalStatus("Single")
+                .imageUrl("/api/v1/blobs/original")
+                .imageMediumUrl("/api/v1/blobs/medium")
+                .social(new Social())
+                .nextOfKin(new NextOfKin())
+                .version(3L)
+                .build();
+        modelMapper.map(employee, EmployeeViewProfileResponse.class);
+    }
+
+    @Benchmark
+    public EmployeeViewProfileResponse generatedMapper() {
+        return employeeMapper.toViewProfileResponse(employee);
+    }
+
+    @Benchmark
+    public EmployeeViewProfileResponse beanUtils() {
+        EmployeeViewProfileResponse response = new EmployeeViewProfileResponse();
+        BeanUtils.copyProperties(employee, response);
+        response.setOriginalImageUrl(employee.getImageUrl());
+        response.setImageUrl(employee.getImageMediumUrl());
+        return response;
+    }
+
+    @Benchmark
+    public EmployeeViewProfileResponse modelMapper() {
+        return modelMapper.map(employee, EmployeeViewProfileResponse.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmployeeMappingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,68 @@
+package com.hrsupportcentresq014.cache;
+
+import com.hrsupportcentresq014.dtos.response.AwardResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class AwardCacheTest {
+    private AwardCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AwardCache(mock(MongoTemplate.class), Duration.ofMinutes(10), 2);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void pagesAreLoadedOnceUntilEvicted() {
+        cache.yearPage(2024, 0, 10, this::load);
+        cache.yearPage(2024, 0, 10, this::load);
+        assertEquals(1, loads.get());
+
+        cache.evictAll();
+        cache.yearPage(2024, 0, 10, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void loadOverlappingAnEvictionIsNotKept() {
+        cache.yearPage(2024, 0, 10, () -> {
+            cache.evictAll();
+            return load();
+        });
+        cache.yearPage(2024, 0, 10, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void leastRecentlyUsedPageMakesRoom() {
+        cache.yearPage(2022, 0, 10, this::load);
+        cache.yearPage(2023, 0, 10, this::load);
+        cache.yearPage(2022, 0, 10, this::load);
+        cache.yearPage(2024, 0, 10, this::load);
+        assertEquals(3, loads.get());
+
+        cache.yearPage(2022, 0, 10, this::load);
+        cache.yearPage(2024, 0, 10, this::load);
+        assertEquals(3, loads.get());
+        cache.yearPage(2023, 0, 10, this::load);
+        assertEquals(4, loads.get());
+    }
+
+    private Page<AwardResponseDTO> load() {
+        loads.incrementAndGet();
+        return new PageImpl<>(List.of(AwardResponseDTO.builder().title("Star").year(2024).build()));
+    }
+}
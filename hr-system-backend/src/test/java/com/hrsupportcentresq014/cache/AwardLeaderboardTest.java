@@ -0,0 +1,114 @@
+package com.hrsupportcentresq014.cache;
+
+import com.hrsupportcentresq014.dtos.response.LeaderboardEntry;
+import com.hrsupportcentresq014.dtos.response.RankChange;
+import com.hrsupportcentresq014.entities.Nominee;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AwardLeaderboardTest {
+    private AwardLeaderboard leaderboard;
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getCollectionName(Nominee.class)).thenReturn("nominee");
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("nominee"))).thenAnswer(invocation -> Stream.of(
+                standing("n1", "award", "ada", 5),
+                standing("n2", "award", "bayo", 3),
+                standing("n3", "award", "chi", 1),
+                standing("n4", "other", "dami", 9)));
+        ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+        eventPublisher = mock(ApplicationEventPublisher.class);
+
+        leaderboard = new AwardLeaderboard(mongoTemplate, Duration.ofMinutes(10), 2, executor, eventPublisher);
+        leaderboard.load();
+    }
+
+    @Test
+    void topIsOrderedByVotesPerAward() {
+        assertTrue(leaderboard.isReady());
+        assertEquals(List.of("ada", "bayo", "chi"), nomineeIds(leaderboard.top("award", 10)));
+        assertEquals(List.of("dami"), nomineeIds(leaderboard.top("other", 10)));
+        assertEquals(List.of(), leaderboard.top("unknown", 10));
+    }
+
+    @Test
+    void overtakingPublishesTheRankChanges() {
+        leaderboard.put(nominee("n3", "award", "chi", 4));
+
+        ArgumentCaptor<LeaderboardChangedEvent> captor = ArgumentCaptor.forClass(LeaderboardChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals("award", captor.getValue().awardId());
+        List<RankChange> changes = captor.getValue().changes();
+        assertEquals(2, changes.size());
+        assertEquals("chi", changes.get(0).getNomineeId());
+        assertNull(changes.get(0).getPreviousRank());
+        assertEquals(2, changes.get(0).getRank());
+        assertEquals("bayo", changes.get(1).getNomineeId());
+        assertEquals(2, changes.get(1).getPreviousRank());
+        assertNull(changes.get(1).getRank());
+        assertEquals(List.of("ada", "chi", "bayo"), nomineeIds(leaderboard.top("award", 10)));
+    }
+
+    @Test
+    void repeatedAndStaleCountsChangeNothing() {
+        leaderboard.put(nominee("n2", "award", "bayo", 3));
+        leaderboard.put(nominee("n2", "award", "bayo", 2));
+        leaderboard.put(nominee("n3", "award", "chi", 2));
+
+        verify(eventPublisher, never()).publishEvent(any());
+        assertEquals(2, leaderboard.top("award", 10).get(2).getVotes());
+    }
+
+    @Test
+    void removalPromotesTheNextNominee() {
+        leaderboard.remove("n1");
+
+        assertEquals(List.of("bayo", "chi"), nomineeIds(leaderboard.top("award", 10)));
+        verify(eventPublisher).publishEvent(any(LeaderboardChangedEvent.class));
+    }
+
+    private static List<String> nomineeIds(List<LeaderboardEntry> entries) {
+        return entries.stream().map(LeaderboardEntry::getNomineeId).toList();
+    }
+
+    private static Document standing(String id, String awardId, String nomineeId, long votes) {
+        return new Document("_id", id)
+                .append("awardId", awardId)
+                .append("nomineeId", nomineeId)
+                .append("nomineeName", nomineeId)
+                .append("votes", votes);
+    }
+
+    private static Nominee nominee(String id, String awardId, String nomineeId, long votes) {
+        Nominee nominee = Nominee.builder()
+                .awardId(awardId)
+                .nomineeId(nomineeId)
+                .nomineeName(nomineeId)
+                .votes(votes)
+                .build();
+        nominee.setId(id);
+        return nominee;
+    }
+}
@@ -0,0 +1,89 @@
+package com.hrsupportcentresq014.cache;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class InvalidationBusTest {
+
+    @Test
+    void eventsReachOnlyTheSubscribersOfTheirCollection() {
+        RecordingSubscriber employees = new RecordingSubscriber(Set.of("employee"));
+        RecordingSubscriber jobs = new RecordingSubscriber(Set.of("job", "awards"));
+        InvalidationBus bus = bus(List.of(employees, jobs));
+
+        bus.publish(new InvalidationEvent("job", "j1", InvalidationEvent.Type.DELETED, null));
+        bus.publish(InvalidationEvent.reset("awards"));
+
+        assertTrue(employees.received.isEmpty());
+        assertEquals(List.of("j1", "awards-RESET"), jobs.received);
+    }
+
+    @Test
+    void aFailingSubscriberDoesNotStopTheOthers() {
+        InvalidationSubscriber failing = new RecordingSubscriber(Set.of("employee")) {
+            @Override
+            public void invalidate(InvalidationEvent event) {
+                throw new IllegalStateException("boom");
+            }
+        };
+        RecordingSubscriber healthy = new RecordingSubscriber(Set.of("employee"));
+        InvalidationBus bus = bus(List.of(failing, healthy));
+
+        bus.publish(new InvalidationEvent("employee", "e1", InvalidationEvent.Type.CHANGED, new Document("_id", "e1")));
+
+        assertEquals(List.of("e1"), healthy.received);
+    }
+
+    @Test
+    void disabledBusStartsNoStreams() {
+        ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+        new InvalidationBus(mock(MongoTemplate.class), List.of(), executor, false, "test",
+                List.of("employee"), Duration.ofMinutes(1)).start();
+
+        verifyNoInteractions(executor);
+    }
+
+    @Test
+    void collectionsWithoutSubscribersAreNotWatched() {
+        ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+        new InvalidationBus(mock(MongoTemplate.class), List.of(new RecordingSubscriber(Set.of("employee"))), executor, true,
+                "test", List.of("employee", "role", "token"), Duration.ofSeconds(10)).start();
+
+        verify(executor, times(1)).execute(any(Runnable.class));
+    }
+
+    private static InvalidationBus bus(List<InvalidationSubscriber> subscribers) {
+        return new InvalidationBus(mock(MongoTemplate.class), subscribers, mock(ThreadPoolTaskExecutor.class), false,
+                "test", List.of("employee", "job", "awards"), Duration.ofMinutes(1));
+    }
+
+    private static class RecordingSubscriber implements InvalidationSubscriber {
+        private final Set<String> collections;
+        final List<String> received = new ArrayList<>();
+
+        RecordingSubscriber(Set<String> collections) {
+            this.collections = collections;
+        }
+
+        @Override
+        public Set<String> collections() {
+            return collections;
+        }
+
+        @Override
+        public void invalidate(InvalidationEvent event) {
+            received.add(event.documentId() != null ? event.documentId() : event.collection() + "-" + event.type());
+        }
+    }
+}
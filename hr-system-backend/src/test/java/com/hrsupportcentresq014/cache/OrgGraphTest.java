@@ -0,0 +1,69 @@
+package com.hrsupportcentresq014.cache;
+
+import com.hrsupportcentresq014.entities.Employee;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OrgGraphTest {
+    private OrgGraph orgGraph;
+
+    @BeforeEach
+    void setUp() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getCollectionName(Employee.class)).thenReturn("employee");
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("employee"))).thenAnswer(invocation -> Stream.of(
+                new Document("_id", "ceo"),
+                new Document("_id", "cto").append("managerId", "ceo"),
+                new Document("_id", "dev1").append("managerId", "cto"),
+                new Document("_id", "dev2").append("managerId", "cto"),
+                new Document("_id", "cfo").append("managerId", "ceo")));
+        ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        orgGraph = new OrgGraph(mongoTemplate, Duration.ofMinutes(10), executor);
+        orgGraph.load();
+    }
+
+    @Test
+    void reportsAreListedLevelByLevel() {
+        assertTrue(orgGraph.isReady());
+        assertEquals(Map.of("cto", 1, "cfo", 1), orgGraph.reports("ceo", 1));
+
+        Map<String, Integer> all = orgGraph.reports("ceo", Integer.MAX_VALUE);
+        assertEquals(4, all.size());
+        assertEquals(2, all.get("dev1"));
+        assertEquals(List.of(1, 1, 2, 2), List.copyOf(all.values()));
+    }
+
+    @Test
+    void chainFollowsManagersToTheTop() {
+        assertEquals(List.of("cto", "ceo"), orgGraph.chain("dev1"));
+        assertEquals(List.of(), orgGraph.chain("ceo"));
+    }
+
+    @Test
+    void movingAnEmployeeUpdatesBothManagers() {
+        orgGraph.setManager("dev2", "cfo");
+
+        assertEquals(Map.of("dev1", 1), orgGraph.reports("cto", Integer.MAX_VALUE));
+        assertEquals(Map.of("dev2", 1), orgGraph.reports("cfo", Integer.MAX_VALUE));
+        assertEquals(List.of("cfo", "ceo"), orgGraph.chain("dev2"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.hrsupportcentresq014.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SnapshotIndexTest {
+
+    @Test
+    void editsMadeDuringAReloadReachTheNewSnapshot() {
+        ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+        NameIndex index = new NameIndex(executor, Duration.ofHours(1), List.of("ada", "bob"));
+
+        index.load();
+
+        assertTrue(index.isReady());
+        // "cy" was added while the snapshot loaded, after the database had been read.
+        assertEquals(Set.of("ada", "bob", "cy"), index.names());
+    }
+
+    @Test
+    void reloadIsOnlyQueuedOnce() {
+        ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+        NameIndex index = new NameIndex(executor, Duration.ZERO, List.of("ada"));
+
+        assertFalse(index.isReady());
+        assertFalse(index.isReady());
+
+        // A reload is already queued, so asking again does not queue another.
+        verify(executor, times(1)).execute(any(Runnable.class));
+    }
+
+    private static final class NameIndex extends SnapshotIndex<Set<String>, String> {
+        private final List<String> stored;
+        private boolean editDuringLoad = true;
+
+        NameIndex(ThreadPoolTaskExecutor executor, Duration maxAge, List<String> stored) {
+            super("name index", maxAge, executor);
+            this.stored = stored;
+        }
+
+        Set<String> names() {
+            return snapshot();
+        }
+
+        @Override
+        protected Set<String> loadSnapshot() {
+            Set<String> names = ConcurrentHashMap.newKeySet();
+            names.addAll(stored);
+            if (editDuringLoad) {
+                editDuringLoad = false;
+                edit("cy");
+            }
+            return names;
+        }
+
+        @Override
+        protected void apply(Set<String> snapshot, String name) {
+            snapshot.add(name);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.hrsupportcentresq014.cache;
+
+import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.entities.Role;
+import com.hrsupportcentresq014.enums.StaffAttribute;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StaffFilterIndexTest {
+    private MongoTemplate mongoTemplate;
+    private StaffFilterIndex index;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.stream(any(Query.class), eq(Employee.class))).thenAnswer(invocation -> Stream.of(
+                employee("ada", "Technology", "Full time", "Lagos", "staff"),
+                employee("bayo", "Technology", "Contract", "Abuja", "staff"),
+                employee("chi", "Finance", "Full time", "Lagos", "staff"),
+                employee("dami", "Finance", "Full time", "Abuja", "HR")));
+        ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        index = new StaffFilterIndex(mongoTemplate, Duration.ofMinutes(10), executor);
+        index.load();
+    }
+
+    @Test
+    void valuesOfOneAttributeAreOredAndAttributesAreAnded() {
+        assertTrue(index.isReady());
+        assertEquals(4, index.count(Map.of()));
+        assertEquals(3, index.count(Map.of(StaffAttribute.CONTRACT_TYPE, List.of("full time"))));
+        assertEquals(2, index.count(Map.of(
+                StaffAttribute.CONTRACT_TYPE, List.of("Full time"),
+                StaffAttribute.WORK_LOCATION, List.of("Lagos", "Ibadan"))));
+        assertEquals(0, index.count(Map.of(StaffAttribute.DEPARTMENT, List.of("Legal"))));
+    }
+
+    @Test
+    void pagesFollowLoadOrder() {
+        StaffFilterIndex.Matches matches = index.page(Map.of(StaffAttribute.ROLE, List.of("staff")), 1, 1);
+
+        assertEquals(List.of("bayo"), matches.ids());
+        assertEquals(3, matches.total());
+        verify(mongoTemplate).stream(argThat(query -> query.getSortObject().equals(new Document("_id", 1))), eq(Employee.class));
+    }
+
+    @Test
+    void savesAndDeletesMoveEmployeesBetweenBitmaps() {
+        index.put(employee("bayo", "Finance", "Full time", "Lagos", "staff"));
+        index.remove("ada");
+
+        assertEquals(0, index.count(Map.of(StaffAttribute.DEPARTMENT, List.of("Technology"))));
+        assertEquals(List.of("bayo", "chi"), index.page(Map.of(
+                StaffAttribute.DEPARTMENT, List.of("Finance"),
+                StaffAttribute.WORK_LOCATION, List.of("Lagos")), 0, 10).ids());
+    }
+
+    private static Employee employee(String id, String department, String contractType, String workLocation, String role) {
+        Employee employee = Employee.builder()
+                .department(department)
+                .contractType(contractType)
+                .workLocation(workLocation)
+                .position("Engineer")
+                .role(Role.builder().id(role).name(role).build())
+                .build();
+        employee.setId(id);
+        return employee;
+    }
+}
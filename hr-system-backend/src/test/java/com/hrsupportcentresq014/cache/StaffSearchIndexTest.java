@@ -0,0 +1,97 @@
+package com.hrsupportcentresq014.cache;
+
+import com.hrsupportcentresq014.dtos.response.StaffSuggestion;
+import com.hrsupportcentresq014.entities.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StaffSearchIndexTest {
+    private StaffSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = load(List.of(
+                employee("1", "Ada", "Obi", "ada.obi@example.com", "Software Engineer"),
+                employee("2", "Adaeze", "Okafor", "adaeze.okafor@example.com", "Accountant"),
+                employee("3", "John", "Bello", "john.bello@example.com", "Software Engineer")));
+    }
+
+    @Test
+    void exactWordsRankAbovePrefixes() {
+        assertTrue(index.isReady());
+        assertEquals(List.of("1", "2"), ids(index.search("ada", 10)));
+        assertEquals(List.of("3", "1"), ids(index.search("soft eng", 10)));
+        assertEquals(List.of("3"), ids(index.search("john.be@exam", 10)));
+    }
+
+    @Test
+    void typosAreMatchedFuzzily() {
+        assertEquals(List.of("3"), ids(index.search("jonh", 10)));
+        assertEquals(List.of("2"), ids(index.search("okafro", 10)));
+        assertEquals(List.of(), ids(index.search("xyz", 10)));
+    }
+
+    @Test
+    void savesAndDeletesAreSearchableImmediately() {
+        index.put(employee("3", "John", "Adamu", "john.adamu@example.com", "Designer"));
+        index.remove("2");
+
+        assertEquals(List.of("1", "3"), ids(index.search("ada", 10)));
+        assertEquals(List.of(), ids(index.search("bello", 10)));
+    }
+
+    @Test
+    void everyWordIsAPrefixAndCommonWordsDoNotHideRareOnes() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            employees.add(employee("s" + i, "Ada" + i, "Staff", "ada" + i + ".staff@example.com", "Clerk"));
+        }
+        employees.add(employee("z", "Adaora", "Zubair", "adaora.zubair@example.com", "Clerk"));
+        StaffSearchIndex large = load(employees);
+
+        assertEquals(List.of("z"), ids(large.search("ad zub", 10)));
+        assertEquals(List.of("z"), ids(large.search("zubair adaora", 10)));
+        assertEquals(List.of("z"), ids(large.search("zubiar clerk", 10)));
+    }
+
+    private static StaffSearchIndex load(List<Employee> employees) {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.stream(any(Query.class), eq(Employee.class))).thenAnswer(invocation -> employees.stream());
+        ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        StaffSearchIndex index = new StaffSearchIndex(mongoTemplate, Duration.ofMinutes(10), executor);
+        index.load();
+        return index;
+    }
+
+    private static List<String> ids(List<StaffSuggestion> suggestions) {
+        return suggestions.stream().map(StaffSuggestion::getId).toList();
+    }
+
+    private static Employee employee(String id, String firstName, String lastName, String email, String position) {
+        Employee employee = Employee.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .position(position)
+                .build();
+        employee.setId(id);
+        return employee;
+    }
+}
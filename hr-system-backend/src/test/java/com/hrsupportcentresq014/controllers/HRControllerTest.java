@@ -5,10 +5,13 @@ import com.hrsupportcentresq014.dtos.request.JobPostingRequest;
 import com.hrsupportcentresq014.dtos.response.JobPostingResponse;
 import com.hrsupportcentresq014.entities.Job;
 import com.hrsupportcentresq014.exceptions.EmployeeNotFoundException;
+import com.hrsupportcentresq014.load_shedding.AdaptiveConcurrencyLimiter;
 import com.hrsupportcentresq014.repositories.EmployeeRepository;
 import com.hrsupportcentresq014.repositories.TokenRepository;
 import com.hrsupportcentresq014.security_config.utils.JwtUtils;
 import com.hrsupportcentresq014.services.HrService;
+import com.hrsupportcentresq014.services.ResumeIndexService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -24,6 +27,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletResponse;
@@ -48,6 +52,16 @@ public class HRControllerTest {
     private JwtUtils jwtUtils;
     @MockBean
     private TokenRepository tokenRepository;
+    @MockBean
+    private ResumeIndexService resumeIndexService;
+    // Dependencies of the servlet filters the slice registers, even though addFilters = false keeps them out of MockMvc.
+    @MockBean
+    private AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+    @MockBean
+    private MeterRegistry meterRegistry;
+    // Wanted by the auditing that @EnableMongoAuditing on the application class switches on in every slice.
+    @MockBean(name = "mongoMappingContext")
+    private MongoMappingContext mongoMappingContext;
 
     @InjectMocks
     private HRController hrController;
@@ -0,0 +1,59 @@
+package com.hrsupportcentresq014.load_shedding;
+
+import com.hrsupportcentresq014.enums.RoutePriority;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    void bulkRequestsAreShedBeforeCriticalOnes() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 5, 100, 1.5);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(RoutePriority.BULK));
+        }
+
+        assertFalse(limiter.tryAcquire(RoutePriority.BULK));
+        assertTrue(limiter.tryAcquire(RoutePriority.NORMAL));
+        assertTrue(limiter.tryAcquire(RoutePriority.CRITICAL));
+        assertEquals(1, limiter.getRejected(RoutePriority.BULK));
+        assertEquals(7, limiter.getInFlight());
+    }
+
+    @Test
+    void limitGrowsWhileLatencyHoldsAndShrinksWhenItRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 5, 100, 1.5);
+        saturateAndRelease(limiter, 200, 10 * MILLI);
+        int grown = limiter.getLimit();
+        assertTrue(grown > 20, "limit was " + grown);
+
+        saturateAndRelease(limiter, 50, 100 * MILLI);
+        assertTrue(limiter.getLimit() < grown / 2, "limit was " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 5);
+    }
+
+    @Test
+    void idleCapacityDoesNotRaiseTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 5, 100, 1.5);
+        for (int i = 0; i < 200; i++) {
+            limiter.tryAcquire(RoutePriority.NORMAL);
+            limiter.release(10 * MILLI);
+        }
+        assertEquals(20, limiter.getLimit());
+    }
+
+    // Keeps the limiter full so every release happens under load.
+    private static void saturateAndRelease(AdaptiveConcurrencyLimiter limiter, int rounds, long rttNanos) {
+        for (int i = 0; i < rounds; i++) {
+            while (limiter.tryAcquire(RoutePriority.CRITICAL)) {
+                // fill up to the current limit
+            }
+            limiter.release(rttNanos);
+        }
+        while (limiter.getInFlight() > 0) {
+            limiter.release(-1);
+        }
+    }
+}
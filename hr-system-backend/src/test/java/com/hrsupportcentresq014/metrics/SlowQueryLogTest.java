@@ -0,0 +1,127 @@
+package com.hrsupportcentresq014.metrics;
+
+import com.hrsupportcentresq014.dtos.response.SlowQueryResponse;
+import com.mongodb.client.MongoDatabase;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SlowQueryLogTest {
+    private MongoDatabase database;
+    private SlowQueryLog slowQueryLog;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        database = mock(MongoDatabase.class);
+        MongoDatabaseFactory databaseFactory = mock(MongoDatabaseFactory.class);
+        when(databaseFactory.getMongoDatabase("hrmanagement")).thenReturn(database);
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getMongoDatabaseFactory()).thenReturn(databaseFactory);
+        ObjectProvider<MongoTemplate> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(mongoTemplate);
+        ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        slowQueryLog = new SlowQueryLog(provider, executor, Duration.ofHours(1), 2);
+    }
+
+    @Test
+    void queriesAreGroupedByShapeAndExplainedOnce() {
+        when(database.runCommand(any(Bson.class))).thenReturn(Document.parse("""
+                {queryPlanner: {winningPlan: {stage: "FETCH", inputStage: {stage: "IXSCAN", indexName: "email_1"}}},
+                 executionStats: {nReturned: 1, totalKeysExamined: 1, totalDocsExamined: 1}, ok: 1}"""));
+
+        slowQueryLog.record("hrmanagement", "employee", "find", find("{email: 'ada@example.com'}"), millis(120));
+        slowQueryLog.record("hrmanagement", "employee", "find", find("{email: 'bob@example.com'}"), millis(300));
+
+        List<SlowQueryResponse> queries = slowQueryLog.list();
+        assertEquals(1, queries.size());
+        SlowQueryResponse query = queries.get(0);
+        assertEquals("{\"email\": \"?\"}", query.getShape());
+        assertFalse(query.toString().contains("@example.com"));
+        assertEquals(2, query.getCount());
+        assertEquals(420, query.getTotalMillis(), 0.001);
+        assertEquals(300, query.getMaxMillis(), 0.001);
+        assertEquals("FETCH <- IXSCAN(email_1)", query.getPlan());
+        assertFalse(query.getCollectionScan());
+        assertEquals(1L, query.getDocsExamined());
+        assertNotNull(query.getExplainedOn());
+        verify(database, times(1)).runCommand(any(Bson.class));
+    }
+
+    @Test
+    void aggregationStatsAreFoundInsideTheFirstStage() {
+        when(database.runCommand(any(Bson.class))).thenReturn(Document.parse("""
+                {stages: [{$cursor: {queryPlanner: {winningPlan: {queryPlan: {stage: "COLLSCAN"}}},
+                                     executionStats: {nReturned: 40, totalKeysExamined: 0, totalDocsExamined: 5000}}},
+                          {$group: {_id: "$department"}}], ok: 1}"""));
+
+        slowQueryLog.record("hrmanagement", "employee", "aggregate",
+                BsonDocument.parse("{aggregate: 'employee', pipeline: [{$match: {active: true}}, {$group: {_id: '$department'}}]}"),
+                millis(800));
+
+        SlowQueryResponse query = slowQueryLog.list().get(0);
+        assertEquals("[{\"$match\": {\"active\": \"?\"}}, {\"$group\": {\"_id\": \"?\"}}]", query.getShape());
+        assertEquals("COLLSCAN", query.getPlan());
+        assertTrue(query.getCollectionScan());
+        assertEquals(5000L, query.getDocsExamined());
+        assertEquals(40L, query.getReturned());
+    }
+
+    @Test
+    void leastRecentlySeenShapeIsDroppedAndFailedExplainIsReported() {
+        when(database.runCommand(any(Bson.class))).thenThrow(new IllegalStateException("not authorized"));
+
+        slowQueryLog.record("hrmanagement", "employee", "find", find("{email: 'a'}"), millis(200));
+        slowQueryLog.record("hrmanagement", "employee", "find", find("{role: 'HR'}"), millis(100));
+        slowQueryLog.record("hrmanagement", "employee", "find", find("{email: 'b'}"), millis(200));
+        slowQueryLog.record("hrmanagement", "employee", "find", find("{managerId: 'c'}"), millis(150));
+
+        List<SlowQueryResponse> queries = slowQueryLog.list();
+        assertEquals(List.of("{\"email\": \"?\"}", "{\"managerId\": \"?\"}"),
+                queries.stream().map(SlowQueryResponse::getShape).toList());
+        assertEquals("IllegalStateException", queries.get(0).getExplainError());
+        assertNull(queries.get(0).getPlan());
+
+        slowQueryLog.clear();
+        assertTrue(slowQueryLog.list().isEmpty());
+    }
+
+    @Test
+    void onlyTheExplainablePartsOfACommandAreKept() {
+        BsonDocument update = MongoCommandMonitor.explainable("update", BsonDocument.parse("""
+                {update: 'employee', ordered: true, lsid: {id: 1}, $db: 'hrmanagement',
+                 updates: [{q: {_id: 1}, u: {$set: {active: false}}}, {q: {_id: 2}, u: {$set: {active: false}}}]}"""));
+
+        assertEquals(BsonDocument.parse("{update: 'employee', updates: [{q: {_id: 1}, u: {$set: {active: false}}}]}"), update);
+        assertNull(MongoCommandMonitor.explainable("aggregate",
+                BsonDocument.parse("{aggregate: 'employee', pipeline: [{$changeStream: {}}], cursor: {}}")));
+        assertNull(MongoCommandMonitor.explainable("getMore", BsonDocument.parse("{getMore: 1, collection: 'employee'}")));
+    }
+
+    private static BsonDocument find(String filter) {
+        return BsonDocument.parse("{find: 'employee', filter: " + filter + "}");
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,95 @@
+package com.hrsupportcentresq014.resilience;
+
+import com.hrsupportcentresq014.enums.CircuitState;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(10, 4, 0.5, Duration.ofSeconds(30), 2, now::get);
+
+    @Test
+    void opensOnceEnoughCallsFail() {
+        call(false);
+        call(true);
+        call(true);
+        assertEquals(CircuitState.CLOSED, breaker.getState(), "too few calls to judge");
+
+        call(false);
+        assertEquals(CircuitState.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(Duration.ofSeconds(30), breaker.getRemainingOpen());
+    }
+
+    @Test
+    void closesAfterSuccessfulProbes() {
+        openBreaker();
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire(), "only two probes at a time");
+        assertEquals(CircuitState.HALF_OPEN, breaker.getState());
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getFailureRate());
+    }
+
+    @Test
+    void failedProbeOpensAgain() {
+        openBreaker();
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+
+        assertEquals(CircuitState.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void releasedProbeFreesItsSlot() {
+        openBreaker();
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+
+        breaker.release();
+
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void oldOutcomesLeaveTheWindow() {
+        CircuitBreaker healthy = new CircuitBreaker(4, 4, 0.5, Duration.ofSeconds(30), 2, now::get);
+        healthy.tryAcquire();
+        healthy.onFailure();
+        for (int i = 0; i < 4; i++) {
+            healthy.tryAcquire();
+            healthy.onSuccess();
+        }
+        assertEquals(0, healthy.getFailureRate());
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+        assertEquals(CircuitState.OPEN, breaker.getState());
+    }
+
+    private void call(boolean fails) {
+        assertTrue(breaker.tryAcquire());
+        if (fails) {
+            breaker.onFailure();
+        } else {
+            breaker.onSuccess();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.hrsupportcentresq014.resilience;
+
+import com.hrsupportcentresq014.dtos.response.DependencyStatus;
+import com.hrsupportcentresq014.enums.CircuitState;
+import com.hrsupportcentresq014.exceptions.DependencyUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DependencyGuardTest {
+    private final ThreadPoolTaskExecutor executor = bulkhead(1);
+    private final DependencyGuard guard = new DependencyGuard("slow-service", executor, Duration.ofMillis(100),
+            new CircuitBreaker(10, 3, 0.5, Duration.ofMinutes(1), 1), new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void returnsResultAndPassesRuntimeExceptionsThrough() {
+        assertEquals("ok", guard.call(() -> "ok"));
+        assertThrows(IllegalStateException.class, () -> guard.call(() -> {
+            throw new IllegalStateException("bad request");
+        }));
+        DependencyUnavailableException wrapped = assertThrows(DependencyUnavailableException.class,
+                () -> guard.call(() -> {
+                    throw new IOException("connection reset");
+                }));
+        assertInstanceOf(IOException.class, wrapped.getCause());
+
+        DependencyStatus status = guard.status();
+        assertEquals(3, status.getCalls());
+        assertEquals(1, status.getSuccesses());
+        assertEquals(2, status.getFailures());
+    }
+
+    @Test
+    void slowCallTimesOutAndHoldsTheBulkheadUntilItReturns() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        assertThrows(DependencyUnavailableException.class, () -> guard.call(() -> {
+            // Ignores interrupts, like an HTTP client blocked on a socket.
+            boolean released = false;
+            while (!released) {
+                try {
+                    released = release.await(1, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) {
+                    // keep waiting
+                }
+            }
+            return "late";
+        }));
+        assertThrows(DependencyUnavailableException.class, () -> guard.call(() -> "ok"));
+
+        DependencyStatus status = guard.status();
+        assertEquals(1, status.getTimeouts());
+        assertEquals(1, status.getRejected());
+        release.countDown();
+    }
+
+    @Test
+    void callThatTimesOutInTheQueueReturnsItsPermit() {
+        ThreadPoolTaskExecutor stalled = mock(ThreadPoolTaskExecutor.class);
+        when(stalled.getMaxPoolSize()).thenReturn(1);
+        List<Runnable> queued = new ArrayList<>();
+        doAnswer(invocation -> queued.add(invocation.getArgument(0))).when(stalled).execute(any(Runnable.class));
+        DependencyGuard queuedGuard = new DependencyGuard("stalled-service", stalled, Duration.ofMillis(20),
+                new CircuitBreaker(10, 5, 0.5, Duration.ofMinutes(1), 1), new SimpleMeterRegistry());
+
+        for (int i = 0; i < 2; i++) {
+            DependencyUnavailableException e = assertThrows(DependencyUnavailableException.class,
+                    () -> queuedGuard.call(() -> fail("should not run after the caller gave up")));
+            assertInstanceOf(TimeoutException.class, e.getCause());
+        }
+        queued.forEach(Runnable::run);
+
+        assertEquals(2, queuedGuard.status().getTimeouts());
+        assertEquals(0, queuedGuard.status().getRejected());
+    }
+
+    @Test
+    void openCircuitFailsFastWithoutCallingTheDependency() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalStateException.class, () -> guard.call(() -> {
+                throw new IllegalStateException("down");
+            }));
+        }
+        assertEquals(CircuitState.OPEN, guard.status().getState());
+
+        DependencyUnavailableException e = assertThrows(DependencyUnavailableException.class,
+                () -> guard.call(() -> fail("should not be called")));
+        assertTrue(e.getRetryAfter().compareTo(Duration.ZERO) > 0);
+        assertEquals(1, guard.status().getShortCircuited());
+        assertEquals(3, guard.status().getCalls());
+    }
+
+    private static ThreadPoolTaskExecutor bulkhead(int size) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(size);
+        executor.initialize();
+        return executor;
+    }
+}
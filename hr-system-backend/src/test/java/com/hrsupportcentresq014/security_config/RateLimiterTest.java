@@ -0,0 +1,60 @@
+package com.hrsupportcentresq014.security_config;
+
+import com.hrsupportcentresq014.exceptions.RateLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+    private final AtomicLong now = new AtomicLong();
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        Duration minute = Duration.ofMinutes(1);
+        rateLimiter = new RateLimiter(
+                new RateLimiter.Rule("login-address", 3, minute),
+                new RateLimiter.Rule("login-email", 2, minute),
+                new RateLimiter.Rule("reset-address", 1, minute),
+                new RateLimiter.Rule("reset-email", 1, minute),
+                Duration.ofMinutes(5), 4, now::get);
+    }
+
+    @Test
+    void emailBucketLimitsAttemptsFromManyAddresses() {
+        rateLimiter.checkLogin("10.0.0.1", "ada@example.com");
+        rateLimiter.checkLogin("10.0.0.2", "ADA@example.com ");
+
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.checkLogin("10.0.0.3", "ada@example.com"));
+        assertEquals(Duration.ofSeconds(30), exception.getRetryAfter());
+        rateLimiter.checkLogin("10.0.0.3", "bayo@example.com");
+    }
+
+    @Test
+    void bucketsRefillOverTheWindow() {
+        rateLimiter.checkPasswordReset("10.0.0.1", "ada@example.com");
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.checkPasswordReset("10.0.0.1", null));
+
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+        rateLimiter.checkPasswordReset("10.0.0.1", null);
+    }
+
+    @Test
+    void keysBeyondTheLimitShareAnOverflowBucket() {
+        for (int i = 0; i < 4; i++) {
+            rateLimiter.checkPasswordReset("10.0.0." + i, null);
+        }
+        rateLimiter.checkPasswordReset("10.0.1.1", null);
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.checkPasswordReset("10.0.1.2", null));
+
+        // Once refilled the buckets are swept and new addresses get their own again.
+        now.addAndGet(Duration.ofMinutes(5).toNanos());
+        rateLimiter.checkPasswordReset("10.0.1.2", null);
+        rateLimiter.checkPasswordReset("10.0.1.3", null);
+    }
+}
@@ -1,22 +1,48 @@
 package com.hrsupportcentresq014.services.serviceImpl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrsupportcentresq014.cache.AwardLeaderboard;
+import com.hrsupportcentresq014.cache.EntityTagCache;
+import com.hrsupportcentresq014.cache.StaffSearchIndex;
+import com.hrsupportcentresq014.dtos.request.NominationApprovalRequest;
+import com.hrsupportcentresq014.dtos.request.NominationRequest;
 import com.hrsupportcentresq014.dtos.response.CreateHrResponseDTO;
+import com.hrsupportcentresq014.entities.Award;
 import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.entities.Nominee;
 import com.hrsupportcentresq014.entities.Role;
+import com.hrsupportcentresq014.exceptions.DuplicateProcessException;
+import com.hrsupportcentresq014.exceptions.ResourceNotFoundException;
+import com.hrsupportcentresq014.mappers.EmployeeMapper;
+import com.hrsupportcentresq014.repositories.AwardRepository;
 import com.hrsupportcentresq014.repositories.EmployeeRepository;
 import com.hrsupportcentresq014.repositories.RoleRepository;
+import com.hrsupportcentresq014.security_config.utils.SecurityUtils;
 import com.hrsupportcentresq014.services.MailService;
+import com.mongodb.client.result.UpdateResult;
 import jakarta.mail.MessagingException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.security.core.userdetails.User;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class EmployeeServiceImplTest {
@@ -27,6 +53,22 @@ class EmployeeServiceImplTest {
     private EmployeeRepository employeeRepository;
     @Mock
     private MailService mailService;
+    @Mock
+    private SecurityUtils securityUtils;
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @Mock
+    private EmployeeMapper employeeMapper;
+    @Mock
+    private EntityTagCache entityTagCache;
+    @Mock
+    private StaffSearchIndex staffSearchIndex;
+    @Mock
+    private AwardRepository awardRepository;
+    @Mock
+    private AwardLeaderboard awardLeaderboard;
 
     @InjectMocks
     private EmployeeServiceImpl employeeService;
@@ -34,6 +76,7 @@ class EmployeeServiceImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(securityUtils.getCurrentUserDetails()).thenReturn(User.withUsername("ada@example.com").password("x").roles("STAFF").build());
     }
 
     @Test
@@ -58,4 +101,114 @@ class EmployeeServiceImplTest {
         verify(mailService, never()).sendAccountActivation(any(), any()); // Verify that mailService.sendAccountActivation was not called
         verify(employeeRepository, never()).save(any(Employee.class)); // Verify that employeeRepository.save was not called
     }
-}
\ No newline at end of file
+
+    @Test
+    void patchCannotRemoveOrBlankRequiredFields() {
+        Map<String, Object> removeName = new HashMap<>();
+        removeName.put("firstName", null);
+
+        assertThrows(IllegalArgumentException.class, () -> employeeService.patchEmployeeProfile(removeName, null));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.patchEmployeeProfile(Map.of("lastName", "  "), null));
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(Employee.class));
+    }
+
+    @Test
+    void patchMayRemoveOptionalFields() {
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("nickName", null);
+        Employee updated = new Employee();
+        updated.setVersion(4L);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(Employee.class)))
+                .thenReturn(updated);
+
+        employeeService.patchEmployeeProfile(changes, 3L);
+
+        ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(Employee.class));
+        assertTrue(update.getValue().getUpdateObject().get("$unset", org.bson.Document.class).containsKey("nickName"));
+    }
+
+    @Test
+    void firstVoteCreatesTheNomination() throws DuplicateProcessException {
+        givenNomination();
+        Nominee recorded = Nominee.builder().awardId("award").nomineeId("bob").votes(1).build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(Nominee.class)))
+                .thenReturn(recorded);
+
+        employeeService.nominate(nomination());
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(query.capture(), any(UpdateDefinition.class), options.capture(), eq(Nominee.class));
+        assertEquals(new org.bson.Document("$ne", "ada"), query.getValue().getQueryObject().get("nominatorIds"));
+        assertTrue(options.getValue().isUpsert());
+        verify(awardLeaderboard).put(recorded);
+        verify(entityTagCache).evictCollection(Nominee.class);
+    }
+
+    @Test
+    void repeatVoteIsAConflict() {
+        givenNomination();
+        // The upsert collides with the existing nomination, and the retry finds no nomination this nominator has not voted on.
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(Nominee.class)))
+                .thenThrow(new DuplicateKeyException("E11000 awardId_1_nomineeId_1"))
+                .thenReturn(null);
+
+        assertThrows(DuplicateProcessException.class, () -> employeeService.nominate(nomination()));
+        verify(awardLeaderboard, never()).put(any());
+    }
+
+    @Test
+    void concurrentFirstVoteIsRetriedAsAVote() throws DuplicateProcessException {
+        givenNomination();
+        Nominee recorded = Nominee.builder().awardId("award").nomineeId("bob").votes(2).build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(Nominee.class)))
+                .thenThrow(new DuplicateKeyException("E11000 awardId_1_nomineeId_1"))
+                .thenReturn(recorded);
+
+        employeeService.nominate(nomination());
+
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate, times(2)).findAndModify(any(Query.class), any(UpdateDefinition.class), options.capture(), eq(Nominee.class));
+        assertFalse(options.getAllValues().get(1).isUpsert());
+        verify(awardLeaderboard).put(recorded);
+    }
+
+    @Test
+    void secondApprovalIsAConflict() {
+        givenNomination();
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(Nominee.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        when(mongoTemplate.exists(any(Query.class), eq(Nominee.class))).thenReturn(true);
+        NominationApprovalRequest approval = NominationApprovalRequest.builder()
+                .awardTitle("Employee of the Year")
+                .nomineeEmail("bob@example.com")
+                .build();
+
+        assertThrows(DuplicateProcessException.class, () -> employeeService.approveNomination(approval));
+
+        when(mongoTemplate.exists(any(Query.class), eq(Nominee.class))).thenReturn(false);
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.approveNomination(approval));
+        verify(entityTagCache, never()).evictCollection(Nominee.class);
+    }
+
+    private void givenNomination() {
+        when(mongoTemplate.findOne(any(Query.class), eq(Employee.class))).thenAnswer(invocation -> {
+            String email = invocation.<Query>getArgument(0).getQueryObject().getString("email");
+            Employee employee = Employee.builder().email(email).firstName(email.substring(0, 3)).lastName("Test").build();
+            employee.setId(email.substring(0, email.indexOf('@')));
+            return employee;
+        });
+        Award award = Award.builder().title("Employee of the Year").build();
+        award.setId("award");
+        when(awardRepository.findAwardByTitleAndYear(eq("Employee of the Year"), anyInt())).thenReturn(Optional.of(award));
+    }
+
+    private static NominationRequest nomination() {
+        return NominationRequest.builder()
+                .nomineeEmail("bob@example.com")
+                .awardTitle("Employee of the Year")
+                .reason("Shipped the payroll migration")
+                .build();
+    }
+}
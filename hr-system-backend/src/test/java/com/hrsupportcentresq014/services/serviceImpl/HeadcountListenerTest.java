@@ -0,0 +1,35 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.entities.HeadcountBucket;
+import com.hrsupportcentresq014.services.HeadcountService;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+
+import static org.mockito.Mockito.*;
+
+class HeadcountListenerTest {
+
+    @Test
+    void retriedSaveStillMovesTheEmployeeOutOfTheLoadedBucket() {
+        HeadcountService headcountService = mock(HeadcountService.class);
+        HeadcountListener listener = new HeadcountListener(headcountService, mock(MongoTemplate.class));
+        Employee employee = new Employee();
+        employee.setDepartment("Sales");
+        employee.setHeadcountKey(HeadcountBucket.keyOf(employee));
+        String loadedKey = employee.getHeadcountKey();
+        listener.onAfterConvert(new AfterConvertEvent<>(new Document(), employee, "employees"));
+
+        employee.setDepartment("Finance");
+        // The first save fails after the entity was converted, so no AfterSaveEvent follows it.
+        listener.onBeforeConvert(new BeforeConvertEvent<>(employee, "employees"));
+        listener.onBeforeConvert(new BeforeConvertEvent<>(employee, "employees"));
+        listener.onAfterSave(new AfterSaveEvent<>(employee, new Document(), "employees"));
+
+        verify(headcountService).recordSave(loadedKey, employee);
+    }
+}
@@ -0,0 +1,104 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import com.hrsupportcentresq014.dtos.response.HeadcountResponse;
+import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.entities.HeadcountBucket;
+import com.hrsupportcentresq014.entities.HeadcountSnapshot;
+import com.hrsupportcentresq014.repositories.HeadcountBucketRepository;
+import com.hrsupportcentresq014.repositories.HeadcountSnapshotRepository;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class HeadcountServiceImplTest {
+    private HeadcountBucketRepository bucketRepository;
+    private HeadcountSnapshotRepository snapshotRepository;
+    private MongoTemplate mongoTemplate;
+    private HeadcountServiceImpl headcountService;
+
+    @BeforeEach
+    void setUp() {
+        bucketRepository = mock(HeadcountBucketRepository.class);
+        snapshotRepository = mock(HeadcountSnapshotRepository.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        when(snapshotRepository.existsById(any())).thenReturn(true);
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(HeadcountBucket.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        headcountService = new HeadcountServiceImpl(bucketRepository, snapshotRepository, mongoTemplate);
+    }
+
+    @Test
+    void reconcileCorrectsDriftedBucketsFromTheEmployeeCollection() {
+        String engineers = HeadcountBucket.keyOf("Technology", "FULL_TIME", "Lagos", "Engineer");
+        String accountants = HeadcountBucket.keyOf("Finance", "FULL_TIME", "Lagos", "Accountant");
+        String designers = HeadcountBucket.keyOf("Design", "CONTRACT", "Remote", "Designer");
+        when(bucketRepository.findAll()).thenReturn(List.of(
+                HeadcountBucket.builder().key(engineers).count(5).build(),
+                HeadcountBucket.builder().key(accountants).count(2).build()));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Employee.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(
+                        group("Technology", "FULL_TIME", "Lagos", "Engineer", 4),
+                        group("Design", "CONTRACT", "Remote", "Designer", 1)), new Document()));
+
+        headcountService.reconcile();
+
+        verify(mongoTemplate).updateFirst(argThat(query -> isBucket(query, engineers, 5)),
+                argThat(update -> update.getUpdateObject().get("$set", Document.class).get("count").equals(4L)),
+                eq(HeadcountBucket.class));
+        verify(mongoTemplate).updateFirst(argThat(query -> isBucket(query, accountants, 2)),
+                argThat(update -> update.getUpdateObject().get("$set", Document.class).get("count").equals(0L)),
+                eq(HeadcountBucket.class));
+        verify(mongoTemplate).insert(argThat((HeadcountBucket bucket) -> bucket.getKey().equals(designers) && bucket.getCount() == 1));
+    }
+
+    @Test
+    void trendCarriesTheLastSnapshotOverDaysWithoutOne() {
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(4);
+        when(snapshotRepository.findFirstByDateLessThanOrderByDateDesc(from))
+                .thenReturn(Optional.of(snapshot(from.minusDays(3), 10)));
+        when(snapshotRepository.findFromTo(from, today)).thenReturn(List.of(snapshot(from.plusDays(2), 12)));
+
+        List<HeadcountResponse> trend = headcountService.getTrend(from, today.plusDays(3), Set.of(), Map.of());
+
+        assertEquals(List.of(from, from.plusDays(1), from.plusDays(2), from.plusDays(3), today),
+                trend.stream().map(HeadcountResponse::getDate).toList());
+        assertEquals(List.of(10L, 10L, 12L, 12L, 12L), trend.stream().map(HeadcountResponse::getTotal).toList());
+    }
+
+    private static boolean isBucket(Query query, String key, long count) {
+        return key.equals(query.getQueryObject().get("_id")) && Long.valueOf(count).equals(query.getQueryObject().get("count"));
+    }
+
+    private static Document group(String department, String contractType, String workLocation, String position, int count) {
+        return new Document("_id", new Document("department", department).append("contractType", contractType)
+                .append("workLocation", workLocation).append("position", position))
+                .append("count", count);
+    }
+
+    private static HeadcountSnapshot snapshot(LocalDate date, long count) {
+        return HeadcountSnapshot.builder()
+                .date(date)
+                .total(count)
+                .buckets(List.of(HeadcountBucket.builder().key("k").department("Technology").count(count).build()))
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import com.hrsupportcentresq014.cache.EntityTagCache;
+import com.hrsupportcentresq014.services.UploadService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ImageVariantServiceImplTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void imagesOverThePixelLimitAreNotDecoded() throws Exception {
+        Path png = dir.resolve("picture.png");
+        ImageIO.write(new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB), "png", png.toFile());
+
+        assertNull(service(19_999).decode(png, "ada@example.com"));
+        BufferedImage decoded = service(20_000).decode(png, "ada@example.com");
+        assertEquals(200, decoded.getWidth());
+        assertEquals(100, decoded.getHeight());
+    }
+
+    @Test
+    void filesThatAreNotImagesAreSkipped() throws Exception {
+        Path text = Files.writeString(dir.resolve("cv.txt"), "not an image");
+
+        assertNull(service(20_000).decode(text, "ada@example.com"));
+    }
+
+    private ImageVariantServiceImpl service(long maxPixels) {
+        return new ImageVariantServiceImpl(mock(UploadService.class), mock(MongoTemplate.class),
+                mock(ThreadPoolTaskExecutor.class), mock(EntityTagCache.class), maxPixels);
+    }
+}
@@ -0,0 +1,85 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import com.hrsupportcentresq014.cache.AwardLeaderboard;
+import com.hrsupportcentresq014.cache.LeaderboardChangedEvent;
+import com.hrsupportcentresq014.entities.Award;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LeaderboardServiceImplTest {
+    private final List<Runnable> queued = new ArrayList<>();
+    private AwardLeaderboard awardLeaderboard;
+    private ThreadPoolTaskExecutor executor;
+    private LeaderboardServiceImpl leaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        awardLeaderboard = mock(AwardLeaderboard.class);
+        when(awardLeaderboard.isReady()).thenReturn(true);
+        when(awardLeaderboard.size()).thenReturn(10);
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.exists(any(Query.class), eq(Award.class))).thenReturn(true);
+        executor = mock(ThreadPoolTaskExecutor.class);
+        doAnswer(invocation -> queued.add(invocation.getArgument(0))).when(executor).execute(any(Runnable.class));
+
+        leaderboardService = new LeaderboardServiceImpl(awardLeaderboard, mongoTemplate, executor, Duration.ofMinutes(30), 2);
+    }
+
+    @Test
+    void subscriberIsRegisteredBeforeTheStandingsAreRead() {
+        leaderboardService.streamRankChanges("award");
+
+        verify(awardLeaderboard, never()).top(any(), anyInt());
+        leaderboardService.onLeaderboardChanged(new LeaderboardChangedEvent("award", List.of()));
+        verify(executor, times(1)).execute(any(Runnable.class));
+
+        runQueued();
+        verify(awardLeaderboard).top("award", 10);
+    }
+
+    @Test
+    void awardIsForgottenWithItsLastSubscriber() {
+        SseEmitter emitter = leaderboardService.streamRankChanges("award");
+        runQueued();
+        emitter.complete();
+
+        leaderboardService.onLeaderboardChanged(new LeaderboardChangedEvent("award", List.of()));
+        runQueued();
+        leaderboardService.onLeaderboardChanged(new LeaderboardChangedEvent("award", List.of()));
+
+        verify(executor, times(2)).execute(any(Runnable.class));
+    }
+
+    @Test
+    void subscriberThatFallsBehindIsDropped() {
+        SseEmitter stalled = leaderboardService.streamRankChanges("award");
+        leaderboardService.onLeaderboardChanged(new LeaderboardChangedEvent("award", List.of()));
+        leaderboardService.onLeaderboardChanged(new LeaderboardChangedEvent("award", List.of()));
+
+        assertThrows(IllegalStateException.class, () -> stalled.send("late"));
+        queued.clear();
+        leaderboardService.onLeaderboardChanged(new LeaderboardChangedEvent("award", List.of()));
+        assertTrue(queued.isEmpty());
+    }
+
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+    }
+}
@@ -0,0 +1,119 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import com.hrsupportcentresq014.entities.Employee;
+import com.hrsupportcentresq014.entities.PasswordResetRequest;
+import com.hrsupportcentresq014.repositories.EmployeeRepository;
+import com.hrsupportcentresq014.services.MailService;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PasswordResetRequestServiceImplTest {
+    private final List<Runnable> queued = new ArrayList<>();
+    private MongoTemplate mongoTemplate;
+    private EmployeeRepository employeeRepository;
+    private MailService mailService;
+    private PasswordEncoder passwordEncoder;
+    private PasswordResetRequestServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        employeeRepository = mock(EmployeeRepository.class);
+        mailService = mock(MailService.class);
+        passwordEncoder = mock(PasswordEncoder.class);
+        ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+        doAnswer(invocation -> queued.add(invocation.getArgument(0))).when(executor).execute(any(Runnable.class));
+
+        service = new PasswordResetRequestServiceImpl(mongoTemplate, employeeRepository, mailService, passwordEncoder,
+                Duration.ofMinutes(10), executor);
+    }
+
+    @Test
+    void knownAndUnknownAddressesAnswerAlikeAndOnlyKnownOnesGetAToken() {
+        when(mongoTemplate.exists(any(Query.class), eq(Employee.class)))
+                .thenAnswer(invocation -> "ada@example.com".equals(invocation.<Query>getArgument(0).getQueryObject().get("email")));
+
+        assertEquals(service.resetPassword("ada@example.com"), service.resetPassword("nobody@example.com"));
+        verifyNoInteractions(mailService);
+        verify(mongoTemplate, never()).exists(any(Query.class), eq(Employee.class));
+
+        queued.forEach(Runnable::run);
+        verify(mongoTemplate, times(1)).upsert(any(Query.class), any(UpdateDefinition.class), eq(PasswordResetRequest.class));
+        verify(mailService, times(1)).passwordReset(anyString(), eq("ada@example.com"));
+    }
+
+    @Test
+    void onlyTheHashOfTheTokenIsStoredAndANewRequestReplacesTheOld() {
+        when(mongoTemplate.exists(any(Query.class), eq(Employee.class))).thenReturn(true);
+
+        service.sendResetLink("ada@example.com");
+        service.sendResetLink("ada@example.com");
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(mongoTemplate, times(2)).upsert(query.capture(), update.capture(), eq(PasswordResetRequest.class));
+        ArgumentCaptor<String> link = ArgumentCaptor.forClass(String.class);
+        verify(mailService, times(2)).passwordReset(link.capture(), eq("ada@example.com"));
+
+        assertEquals(new Document("email", "ada@example.com"), query.getAllValues().get(0).getQueryObject());
+        String token = link.getAllValues().get(1).substring(link.getAllValues().get(1).indexOf("token=") + "token=".length());
+        String stored = update.getAllValues().get(1).getUpdateObject().get("$set", Document.class).getString("tokenHash");
+        assertEquals(PasswordResetRequestServiceImpl.hash(token), stored);
+        assertNotEquals(token, stored);
+        assertNotEquals(update.getAllValues().get(0).getUpdateObject(), update.getAllValues().get(1).getUpdateObject());
+    }
+
+    @Test
+    void aConcurrentFirstRequestUpdatesTheRequestItLostTheInsertTo() {
+        when(mongoTemplate.exists(any(Query.class), eq(Employee.class))).thenReturn(true);
+        when(mongoTemplate.upsert(any(Query.class), any(UpdateDefinition.class), eq(PasswordResetRequest.class)))
+                .thenThrow(new DuplicateKeyException("email"))
+                .thenReturn(null);
+
+        service.sendResetLink("ada@example.com");
+
+        verify(mongoTemplate, times(2)).upsert(any(Query.class), any(UpdateDefinition.class), eq(PasswordResetRequest.class));
+        verify(mailService).passwordReset(anyString(), eq("ada@example.com"));
+    }
+
+    @Test
+    void aTokenCanBeUsedOnce() {
+        Employee employee = new Employee();
+        employee.setEmail("ada@example.com");
+        when(employeeRepository.findByEmail("ada@example.com")).thenReturn(Optional.of(employee));
+        when(passwordEncoder.encode("n3w-Password")).thenReturn("encoded");
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(PasswordResetRequest.class)))
+                .thenReturn(PasswordResetRequest.builder().email("ada@example.com").tokenHash(PasswordResetRequestServiceImpl.hash("token"))
+                        .expirationDate(LocalDateTime.now().plusMinutes(5)).build())
+                .thenReturn(null);
+
+        service.completePasswordReset("token", "n3w-Password");
+        assertThrows(IllegalArgumentException.class, () -> service.completePasswordReset("token", "n3w-Password"));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).findAndRemove(query.capture(), eq(PasswordResetRequest.class));
+        assertEquals(PasswordResetRequestServiceImpl.hash("token"), query.getValue().getQueryObject().getString("tokenHash"));
+        assertEquals("encoded", employee.getPassword());
+        verify(employeeRepository, times(1)).save(employee);
+    }
+}
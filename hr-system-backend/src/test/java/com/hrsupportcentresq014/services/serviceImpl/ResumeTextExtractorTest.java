@@ -0,0 +1,43 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResumeTextExtractorTest {
+    @TempDir
+    Path tempDir;
+
+    private final ResumeTextExtractor extractor = new ResumeTextExtractor();
+
+    @Test
+    void extractsParagraphTextFromDocx() throws Exception {
+        Path docx = tempDir.resolve("resume.docx");
+        try (OutputStream out = Files.newOutputStream(docx); ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            zip.write(("<w:document xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\"><w:body>"
+                    + "<w:p><w:r><w:t>Platform engineer</w:t></w:r></w:p>"
+                    + "<w:p><w:r><w:t>Kuber</w:t></w:r><w:r><w:t>netes and Java</w:t></w:r></w:p>"
+                    + "</w:body></w:document>").getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        String text = extractor.extract(docx, ResumeTextExtractor.DOCX).orElseThrow();
+
+        assertEquals("Platform engineer Kubernetes and Java", text);
+    }
+
+    @Test
+    void unsupportedTypesAreSkipped() throws Exception {
+        assertFalse(extractor.supports("application/msword"));
+        assertTrue(extractor.extract(tempDir, "application/msword").isEmpty());
+    }
+}
@@ -0,0 +1,82 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import com.hrsupportcentresq014.dtos.response.JobPostingResponse;
+import com.hrsupportcentresq014.dtos.response.SyncResponse;
+import com.hrsupportcentresq014.entities.Job;
+import com.hrsupportcentresq014.entities.Tombstone;
+import com.hrsupportcentresq014.exceptions.SyncExpiredException;
+import com.hrsupportcentresq014.mappers.AwardMapperImpl;
+import com.hrsupportcentresq014.mappers.EmployeeMapperImpl;
+import com.hrsupportcentresq014.mappers.JobMapperImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SyncServiceImplTest {
+    private MongoTemplate mongoTemplate;
+    private SyncServiceImpl syncService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getCollectionName(Job.class)).thenReturn("job");
+        syncService = new SyncServiceImpl(mongoTemplate, new EmployeeMapperImpl(), new JobMapperImpl(),
+                new AwardMapperImpl(), Duration.ofSeconds(5), 2);
+    }
+
+    @Test
+    void fullBatchContinuesFromItsLastRecord() {
+        LocalDateTime since = LocalDateTime.now().minusHours(1);
+        when(mongoTemplate.find(any(Query.class), eq(Job.class))).thenReturn(List.of(
+                job("a", since.plusMinutes(1)), job("b", since.plusMinutes(2)), job("c", since.plusMinutes(2))));
+        when(mongoTemplate.find(any(Query.class), eq(Tombstone.class))).thenReturn(List.of(
+                Tombstone.builder().entityId("gone").build()));
+
+        SyncResponse<JobPostingResponse> response = syncService.jobChanges(since, null, 10);
+
+        assertTrue(response.isHasMore());
+        assertEquals(List.of("a", "b"), response.getChanged().stream().map(JobPostingResponse::getId).toList());
+        assertEquals(List.of("gone"), response.getDeleted());
+        assertEquals(since.plusMinutes(2), response.getWatermark());
+        assertEquals("b", response.getCursor());
+    }
+
+    @Test
+    void lastBatchStartsTheNextSyncJustBeforeTheRead() {
+        LocalDateTime since = LocalDateTime.now().minusHours(1);
+        when(mongoTemplate.find(any(Query.class), eq(Job.class))).thenReturn(List.of(job("a", since.plusMinutes(1))));
+        when(mongoTemplate.find(any(Query.class), eq(Tombstone.class))).thenReturn(List.of());
+
+        SyncResponse<JobPostingResponse> response = syncService.jobChanges(since, null, 10);
+
+        assertFalse(response.isHasMore());
+        assertNull(response.getCursor());
+        assertTrue(response.getWatermark().isAfter(LocalDateTime.now().minusSeconds(10)));
+        assertTrue(response.getWatermark().isBefore(LocalDateTime.now().minusSeconds(4)));
+    }
+
+    @Test
+    void watermarkOlderThanTheTombstonesIsRejected() {
+        LocalDateTime since = LocalDateTime.now().minus(Tombstone.RETENTION).minusDays(1);
+
+        assertThrows(SyncExpiredException.class, () -> syncService.jobChanges(since, null, 10));
+        verifyNoMoreInteractions(mongoTemplate);
+    }
+
+    private static Job job(String id, LocalDateTime updatedOn) {
+        Job job = Job.builder().title(id).build();
+        job.setId(id);
+        job.setUpdatedOn(updatedOn);
+        return job;
+    }
+}
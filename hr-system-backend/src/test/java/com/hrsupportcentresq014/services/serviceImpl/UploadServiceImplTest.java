@@ -0,0 +1,120 @@
+package com.hrsupportcentresq014.services.serviceImpl;
+
+import com.hrsupportcentresq014.dtos.response.UploadStatusResponse;
+import com.hrsupportcentresq014.entities.StoredBlob;
+import com.hrsupportcentresq014.enums.UploadStatus;
+import com.hrsupportcentresq014.exceptions.ResourceNotFoundException;
+import com.hrsupportcentresq014.exceptions.UploadFailedException;
+import com.hrsupportcentresq014.repositories.StoredBlobRepository;
+import com.hrsupportcentresq014.resilience.CircuitBreaker;
+import com.hrsupportcentresq014.resilience.DependencyGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class UploadServiceImplTest {
+    @TempDir
+    Path storeRoot;
+
+    private LocalBlobStore blobStore;
+    private StoredBlobRepository storedBlobRepository;
+    private ThreadPoolTaskExecutor uploadTaskExecutor;
+    private UploadServiceImpl uploadService;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = spy(new LocalBlobStore(storeRoot.toString(), "/api/v1/blobs"));
+        storedBlobRepository = mock(StoredBlobRepository.class);
+        Map<String, StoredBlob> saved = new HashMap<>();
+        when(storedBlobRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(saved.get(invocation.<String>getArgument(0))));
+        when(storedBlobRepository.save(any(StoredBlob.class))).thenAnswer(invocation -> {
+            StoredBlob blob = invocation.getArgument(0);
+            saved.put(blob.getHash(), blob);
+            return blob;
+        });
+        ThreadPoolTaskExecutor blobStoreExecutor = new ThreadPoolTaskExecutor();
+        blobStoreExecutor.setQueueCapacity(0);
+        blobStoreExecutor.initialize();
+        DependencyGuard blobStoreGuard = new DependencyGuard("blob-store", blobStoreExecutor, Duration.ofSeconds(5),
+                new CircuitBreaker(20, 10, 0.5, Duration.ofSeconds(30), 3), new SimpleMeterRegistry());
+        uploadTaskExecutor = mock(ThreadPoolTaskExecutor.class);
+        uploadService = new UploadServiceImpl(blobStore, storedBlobRepository, uploadTaskExecutor, blobStoreGuard);
+        ReflectionTestUtils.setField(uploadService, "maxFileSize", DataSize.ofKilobytes(1));
+    }
+
+    @Test
+    void uploadStoresFileUnderContentHash() throws Exception {
+        byte[] content = "resume body".getBytes(StandardCharsets.UTF_8);
+
+        String url = uploadService.upload(new MockMultipartFile("resume", "cv.pdf", "application/pdf", content));
+
+        String key = url.substring(url.lastIndexOf('/') + 1);
+        assertEquals(64, key.length());
+        assertArrayEquals(content, Files.readAllBytes(blobStore.locate(key)));
+    }
+
+    @Test
+    void identicalFilesAreStoredOnce() throws Exception {
+        byte[] content = "same picture".getBytes(StandardCharsets.UTF_8);
+
+        String first = uploadService.upload(new MockMultipartFile("image", "a.png", "image/png", content));
+        String second = uploadService.upload(new MockMultipartFile("image", "b.png", "image/png", content));
+
+        assertEquals(first, second);
+        verify(blobStore, times(1)).put(anyString(), any(Path.class), anyString());
+    }
+
+    @Test
+    void uploadRejectsFilesOverConfiguredLimit() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("resume", new byte[2048]);
+
+        assertThrows(IllegalArgumentException.class, () -> uploadService.upload(file));
+        verify(blobStore, never()).put(anyString(), any(Path.class), any());
+    }
+
+    @Test
+    void uploadTurnedAwayByFullPoolCarriesRetryAfter() {
+        doThrow(new TaskRejectedException("full")).when(uploadTaskExecutor).execute(any(Runnable.class));
+        MockMultipartFile file = new MockMultipartFile("resume", "cv.pdf", "application/pdf", new byte[16]);
+
+        UploadFailedException e = assertThrows(UploadFailedException.class, () -> uploadService.uploadAsync(file, "ada", (url, path) -> {
+        }));
+        assertNotNull(e.getRetryAfter());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void uploadThatNeverFinishedIsForgottenAfterRetention() {
+        MockMultipartFile file = new MockMultipartFile("resume", "cv.pdf", "application/pdf", new byte[16]);
+        String uploadId = uploadService.uploadAsync(file, "ada", (url, path) -> {
+        }).getUploadId();
+        assertEquals(UploadStatus.PENDING, uploadService.getStatus(uploadId, "ada").getStatus());
+
+        Map<String, UploadStatusResponse> uploads = (Map<String, UploadStatusResponse>) ReflectionTestUtils.getField(uploadService, "uploads");
+        uploads.get(uploadId).setSubmittedOn(LocalDateTime.now().minusHours(2));
+        uploadService.evictExpiredStatuses();
+
+        assertThrows(ResourceNotFoundException.class, () -> uploadService.getStatus(uploadId, "ada"));
+    }
+}
@@ -0,0 +1,26 @@
+package com.hrsupportcentresq014.utils;
+
+import com.hrsupportcentresq014.exceptions.StaleVersionException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagsTest {
+
+    @Test
+    void ifNoneMatchComparesWeakly() {
+        assertTrue(ETags.matches("W/\"a1-7\"", ETags.fromVersion("a1", 7)));
+        assertTrue(ETags.matches("\"a1-6\", \"a1-7\"", ETags.fromVersion("a1", 7)));
+        assertFalse(ETags.matches("\"a1-6\"", ETags.fromVersion("a1", 7)));
+        assertFalse(ETags.matches("\"b2-7\"", ETags.fromVersion("a1", 7)));
+    }
+
+    @Test
+    void ifMatchComparesStrongly() {
+        assertEquals(7L, ETags.parseVersion(ETags.fromVersion("a1", 7)));
+        assertEquals(7L, ETags.parseVersion("\"7\""));
+        assertNull(ETags.parseVersion("*"));
+        assertThrows(StaleVersionException.class, () -> ETags.parseVersion("W/\"7\""));
+        assertThrows(IllegalArgumentException.class, () -> ETags.parseVersion("\"seven\""));
+    }
+}